@@ -0,0 +1,45 @@
+/**
+ * Benchmarks the original time stepped schedulers (FCFS, RR, SRT and FB) used with --engine=classic.
+ * Their cost grows with the square of the number of jobs, so they are only run up to 10 thousand jobs here,
+ * and at 100 thousand jobs, with fewer iterations, by ClassicEngineLargeBenchmark.
+ */
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassicEngineBenchmark {
+    @Param({"FCFS", "RR", "SRT", "FB"})
+    public String policy;
+
+    @Param({"10", "1000", "10000"})
+    public int jobs;
+
+    @Param({"zero", "staggered", "bursty"})
+    public String arrivals;
+
+    private ArrayList<Object> processes;//Process objects holding the workload
+    private Object sink;//DiscardSink, so dispatches cost nothing
+
+    @Setup(Level.Trial)
+    public void setup() {
+        processes = Simulator.processList(Workloads.generate(arrivals, jobs));
+        sink = Simulator.discardSink();
+    }
+
+    @Benchmark
+    public Object run(Counters.Jobs jobCounter, Counters.Allocation allocation) throws Throwable {
+        long before = Counters.allocatedBytes();
+        Object result = Simulator.runClassic(policy, processes, sink);
+        allocation.record(Counters.allocatedBytes() - before, jobs);
+        jobCounter.jobs += jobs;
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Benchmarks the original time stepped schedulers (FCFS, RR, SRT and FB) at 100 thousand jobs, the size EngineBenchmark runs that is
+ * nearest to the largest ClassicEngineBenchmark size, so the two engines can be compared beyond 10 thousand jobs.
+ * A run takes seconds, so each iteration is about one operation and there are fewer of them. The results are in the same units
+ * as EngineBenchmark, operations and jobs per second.
+ */
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ClassicEngineLargeBenchmark {
+    @Param({"FCFS", "RR", "SRT", "FB"})
+    public String policy;
+
+    @Param({"100000"})
+    public int jobs;
+
+    @Param({"zero", "staggered", "bursty"})
+    public String arrivals;
+
+    private ArrayList<Object> processes;//Process objects holding the workload
+    private Object sink;//DiscardSink, so dispatches cost nothing
+
+    @Setup(Level.Trial)
+    public void setup() {
+        processes = Simulator.processList(Workloads.generate(arrivals, jobs));
+        sink = Simulator.discardSink();
+    }
+
+    @Benchmark
+    public Object run(Counters.Jobs jobCounter, Counters.Allocation allocation) throws Throwable {
+        long before = Counters.allocatedBytes();
+        Object result = Simulator.runClassic(policy, processes, sink);
+        allocation.record(Counters.allocatedBytes() - before, jobs);
+        jobCounter.jobs += jobs;
+        return result;
+    }
+}
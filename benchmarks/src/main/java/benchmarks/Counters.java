@@ -0,0 +1,64 @@
+/**
+ * JMH auxiliary counters shared by the benchmarks, so that every benchmark reports jobs per second and bytes allocated per job
+ * next to its primary result.
+ */
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+public final class Counters {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Counters() {
+    }
+
+    /*
+     * Return: the number of bytes the current thread has allocated so far
+     */
+    static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /*
+     * Reported as a rate, so it is jobs per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Jobs {
+        public long jobs;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            jobs = 0;
+        }
+    }
+
+    /*
+     * Reported as a value for the iteration: the bytes allocated by the benchmark method divided by the jobs it ran.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Allocation {
+        public double bytesPerJob;
+        private long bytes;
+        private long jobs;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerJob = 0;
+            bytes = 0;
+            jobs = 0;
+        }
+
+        void record(long allocated, int jobCount) {
+            bytes += allocated;
+            jobs += jobCount;
+            bytesPerJob = (double) bytes / jobs;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Benchmarks the event driven schedulers (EventFCFS, EventRR, EventSRT, EventFB, and SPN, HRRN, Lottery, Stride and MLFQ on the Kernel), which Main uses by default,
+ * from 10 to 10 million jobs for each arrival pattern.
+ * Each operation is a whole run of one policy over the workload on a new run of the JobTable.
+ */
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class EngineBenchmark {
+    @Param({"FCFS", "RR", "SRT", "FB", "SPN", "HRRN", "Lottery", "Stride", "MLFQ"})
+    public String policy;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int jobs;
+
+    @Param({"zero", "staggered", "bursty"})
+    public String arrivals;
+
+    private Object table;//JobTable holding the workload
+    private Object sink;//DiscardSink, so dispatches cost nothing
+
+    @Setup(Level.Trial)
+    public void setup() {
+        table = Simulator.jobTable(Workloads.generate(arrivals, jobs));
+        sink = Simulator.discardSink();
+    }
+
+    @Benchmark
+    public Object run(Counters.Jobs jobCounter, Counters.Allocation allocation) throws Throwable {
+        long before = Counters.allocatedBytes();
+        Object result = Simulator.runEvent(policy, table, sink);
+        allocation.record(Counters.allocatedBytes() - before, jobs);
+        jobCounter.jobs += jobs;
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Benchmarks MultiCore, every policy on 1 to 256 cores with per-core and global run queues, up to 10 million jobs.
+ * Jobs arrive as many times faster as there are cores, so every core count is about as busy.
+ * Each operation is a whole run of one policy over the workload on a new run of the JobTable.
+ */
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MultiCoreBenchmark {
+    @Param({"FCFS", "RR", "SRT", "FB", "SPN", "HRRN", "Lottery", "Stride", "MLFQ"})
+    public String policy;
+
+    @Param({"100000", "10000000"})
+    public int jobs;
+
+    @Param({"1", "16", "256"})
+    public int cores;
+
+    @Param({"per-core", "global"})
+    public String queues;
+
+    private Object table;//JobTable holding the workload
+    private Object sink;//DiscardSink, so dispatches cost nothing
+
+    @Setup(Level.Trial)
+    public void setup() {
+        table = Simulator.jobTable(Workloads.generate("staggered", jobs, cores));
+        sink = Simulator.discardSink();
+    }
+
+    @Benchmark
+    public Object run(Counters.Jobs jobCounter, Counters.Allocation allocation) throws Throwable {
+        long before = Counters.allocatedBytes();
+        Object result = Simulator.runMultiCore(policy, table, cores, queues.equals("global"), sink);
+        allocation.record(Counters.allocatedBytes() - before, jobs);
+        jobCounter.jobs += jobs;
+        return result;
+    }
+}
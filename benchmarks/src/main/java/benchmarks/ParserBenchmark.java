@@ -0,0 +1,69 @@
+/**
+ * Benchmarks reading a workload the way Main does, on its own: DataFileParser for text datafiles and BinaryWorkload for binary workload files.
+ * The files are written to a temporary directory before the benchmark starts.
+ */
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ParserBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    public int jobs;
+
+    @Param({"text", "binary"})
+    public String format;
+
+    private File file;//the workload file to read
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        Workloads.Workload workload = Workloads.generate("staggered", jobs);
+        if(format.equals("text")) {
+            file = File.createTempFile("workload", ".txt");
+            writeDataFile(workload, file);
+        }
+        else {
+            file = File.createTempFile("workload", ".bin");
+            Simulator.writeBinaryWorkload(Simulator.processList(workload), file);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Object parse(Counters.Jobs jobCounter, Counters.Allocation allocation) throws Throwable {
+        long before = Counters.allocatedBytes();
+        Object list = format.equals("text") ? Simulator.readDataFile(file) : Simulator.readBinaryWorkload(file);
+        allocation.record(Counters.allocatedBytes() - before, jobs);
+        jobCounter.jobs += jobs;
+        return list;
+    }
+
+    private static void writeDataFile(Workloads.Workload workload, File file) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(file), 1 << 16);
+        try {
+            writer.write("BEGIN\n\n");
+            for(int i = 0; i < workload.size(); i++) {
+                writer.write("ID: p" + (i + 1) + "\nArrive: " + workload.arrivalTimes[i] + "\nExecSize: " + workload.execSizes[i] + "\nEND\n\n");
+            }
+            writer.write("EOF\n");
+        }
+        finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Gives the benchmarks access to the simulator classes.
+ * The simulator is in the default package, which cannot be imported from a named package and JMH needs benchmarks to be in a named package,
+ * so every simulator constructor and method used by the benchmarks is looked up once here as a MethodHandle.
+ */
+package benchmarks;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+
+final class Simulator {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private static final Class<?> PROCESS = type("Process");
+    private static final Class<?> JOB_TABLE = type("JobTable");
+    private static final Class<?> DISPATCH_SINK = type("DispatchSink");
+
+    private static final MethodHandle NEW_PROCESS = constructor(PROCESS, String.class, int.class, int.class);
+    private static final MethodHandle NEW_JOB_TABLE = constructor(JOB_TABLE, int.class);
+    private static final MethodHandle JOB_TABLE_ADD = method(JOB_TABLE, "add", int.class, String.class, int.class, int.class);
+    private static final MethodHandle JOB_TABLE_NEW_RUN = method(JOB_TABLE, "newRun", JOB_TABLE);
+
+    private static final MethodHandle EVENT_FCFS = constructor(type("EventFCFS"), JOB_TABLE, DISPATCH_SINK);
+    private static final MethodHandle EVENT_RR = constructor(type("EventRR"), JOB_TABLE, DISPATCH_SINK);
+    private static final MethodHandle EVENT_SRT = constructor(type("EventSRT"), JOB_TABLE, DISPATCH_SINK);
+    private static final MethodHandle EVENT_FB = constructor(type("EventFB"), JOB_TABLE, int.class, DISPATCH_SINK);
+    private static final MethodHandle EVENT_FCFS_START = method(type("EventFCFS"), "start", JOB_TABLE);
+    private static final MethodHandle EVENT_RR_START = method(type("EventRR"), "start", JOB_TABLE);
+    private static final MethodHandle EVENT_SRT_START = method(type("EventSRT"), "start", JOB_TABLE);
+    private static final MethodHandle EVENT_FB_START = method(type("EventFB"), "start", JOB_TABLE);
+    private static final MethodHandle RUN_QUEUE_CREATE = staticMethod(type("RunQueue"), "create", type("RunQueue"), String.class, JOB_TABLE, int.class, int.class);
+    private static final MethodHandle KERNEL = constructor(type("Kernel"), JOB_TABLE, type("RunQueue"), DISPATCH_SINK);
+    private static final MethodHandle KERNEL_START = method(type("Kernel"), "start", JOB_TABLE);
+
+    private static final MethodHandle FCFS = constructor(type("FCFS"), ArrayList.class);
+    private static final MethodHandle RR = constructor(type("RR"), ArrayList.class, DISPATCH_SINK);
+    private static final MethodHandle SRT = constructor(type("SRT"), ArrayList.class, DISPATCH_SINK);
+    private static final MethodHandle FB = constructor(type("FB"), ArrayList.class, DISPATCH_SINK);
+    private static final MethodHandle FCFS_START = method(type("FCFS"), "start", ArrayList.class);
+    private static final MethodHandle RR_START = method(type("RR"), "start", ArrayList.class);
+    private static final MethodHandle SRT_START = method(type("SRT"), "start", ArrayList.class);
+    private static final MethodHandle FB_START = method(type("FB"), "start", ArrayList.class);
+
+    private static final MethodHandle MULTI_CORE = constructor(type("MultiCore"), JOB_TABLE, String.class, int.class, boolean.class, int.class, int.class, DISPATCH_SINK);
+    private static final MethodHandle MULTI_CORE_START = method(type("MultiCore"), "start", JOB_TABLE);
+
+    private static final MethodHandle TEXT_SINK = constructor(type("TextSink"), OutputStream.class);
+    private static final MethodHandle BINARY_SINK = constructor(type("BinarySink"), OutputStream.class);
+    private static final MethodHandle FLIGHT_RECORDER = constructor(type("FlightRecorder"), int.class);
+
+    private static final MethodHandle PARSER_READ_ALL = staticMethod(type("DataFileParser"), "readAll", ArrayList.class, File.class);
+    private static final MethodHandle BINARY_READ_ALL = staticMethod(type("BinaryWorkload"), "readAll", ArrayList.class, File.class);
+    private static final MethodHandle BINARY_WRITE = staticMethod(type("BinaryWorkload"), "write", void.class, ArrayList.class, File.class);
+
+    private Simulator() {
+    }
+
+    /*
+     * Return: the shared DiscardSink, so the benchmarks do not pay for the dispatch trace
+     */
+    static Object discardSink() {
+        try {
+            return type("DiscardSink").getField("INSTANCE").get(null);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * Makes a DispatchSink that writes to a stream that throws everything away, so only the cost of the sink itself is measured.
+     * Input: kind of sink: off, text, binary or recorder
+     * Return: the DispatchSink
+     */
+    static Object sink(String kind) throws Throwable {
+        switch(kind) {
+            case "off":
+                return discardSink();
+            case "text":
+                return TEXT_SINK.invoke(OutputStream.nullOutputStream());
+            case "binary":
+                return BINARY_SINK.invoke(OutputStream.nullOutputStream());
+            case "recorder":
+                return FLIGHT_RECORDER.invoke(4096);
+            default:
+                throw new IllegalArgumentException("Unknown sink " + kind);
+        }
+    }
+
+    /*
+     * Return: a JobTable holding the workload, in arrival order
+     */
+    static Object jobTable(Workloads.Workload workload) {
+        try {
+            Object table = NEW_JOB_TABLE.invoke(workload.size());
+            for(int i = 0; i < workload.size(); i++) {
+                JOB_TABLE_ADD.invoke(table, "p" + (i + 1), workload.arrivalTimes[i], workload.execSizes[i]);
+            }
+            return table;
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Return: an ArrayList of Process objects holding the workload, in arrival order
+     */
+    static ArrayList<Object> processList(Workloads.Workload workload) {
+        try {
+            ArrayList<Object> list = new ArrayList<Object>(workload.size());
+            for(int i = 0; i < workload.size(); i++) {
+                list.add(NEW_PROCESS.invoke("p" + (i + 1), workload.arrivalTimes[i], workload.execSizes[i]));
+            }
+            return list;
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Runs an event driven scheduler on a new run of a JobTable, reporting dispatches to a DispatchSink.
+     * Return: the JobTable with the results
+     */
+    static Object runEvent(String policy, Object table, Object sink) throws Throwable {
+        Object run = JOB_TABLE_NEW_RUN.invoke(table);
+        switch(policy) {
+            case "FCFS":
+                return EVENT_FCFS_START.invoke(EVENT_FCFS.invoke(run, sink));
+            case "RR":
+                return EVENT_RR_START.invoke(EVENT_RR.invoke(run, sink));
+            case "SRT":
+                return EVENT_SRT_START.invoke(EVENT_SRT.invoke(run, sink));
+            case "FB":
+                return EVENT_FB_START.invoke(EVENT_FB.invoke(run, 6, sink));
+            case "SPN":
+            case "HRRN":
+            case "Lottery":
+            case "Stride":
+            case "MLFQ":
+                return KERNEL_START.invoke(KERNEL.invoke(run, RUN_QUEUE_CREATE.invoke(policy, run, 6, 4), sink));
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+    }
+
+    /*
+     * Runs MultiCore on a new run of a JobTable with 6 FB levels and the default time quantum, reporting dispatches to a DispatchSink.
+     * Return: the JobTable with the results
+     */
+    static Object runMultiCore(String policy, Object table, int cores, boolean global, Object sink) throws Throwable {
+        Object run = JOB_TABLE_NEW_RUN.invoke(table);
+        return MULTI_CORE_START.invoke(MULTI_CORE.invoke(run, policy, cores, global, 6, 4, sink));
+    }
+
+    /*
+     * Runs one of the original time stepped schedulers, which makes its own copy of the list.
+     * Return: the list of completed processes
+     */
+    static Object runClassic(String policy, ArrayList<Object> list, Object sink) throws Throwable {
+        switch(policy) {
+            case "FCFS":
+                return FCFS_START.invoke(FCFS.invoke(list));
+            case "RR":
+                return RR_START.invoke(RR.invoke(list, sink));
+            case "SRT":
+                return SRT_START.invoke(SRT.invoke(list, sink));
+            case "FB":
+                return FB_START.invoke(FB.invoke(list, sink));
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+    }
+
+    static Object readDataFile(File file) throws Throwable {
+        return PARSER_READ_ALL.invoke(file);
+    }
+
+    static Object readBinaryWorkload(File file) throws Throwable {
+        return BINARY_READ_ALL.invoke(file);
+    }
+
+    static void writeBinaryWorkload(ArrayList<Object> list, File file) throws Throwable {
+        BINARY_WRITE.invoke(list, file);
+    }
+
+    private static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        }
+        catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> type, Class<?>... parameters) {
+        try {
+            return LOOKUP.findConstructor(type, MethodType.methodType(void.class, parameters));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle method(Class<?> type, String name, Class<?> returnType, Class<?>... parameters) {
+        try {
+            return LOOKUP.findVirtual(type, name, MethodType.methodType(returnType, parameters));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle staticMethod(Class<?> type, String name, Class<?> returnType, Class<?>... parameters) {
+        try {
+            return LOOKUP.findStatic(type, name, MethodType.methodType(returnType, parameters));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Benchmarks the cost of the dispatch trace: each event driven scheduler runs a staggered workload with each kind of DispatchSink.
+ * The text and binary sinks write to a stream that throws everything away, so only building the trace is measured.
+ */
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraceBenchmark {
+    @Param({"RR", "SRT", "FB"})
+    public String policy;
+
+    @Param({"100000"})
+    public int jobs;
+
+    @Param({"off", "text", "binary", "recorder"})
+    public String sink;
+
+    private Object table;//JobTable holding the workload
+    private Object dispatchSink;//the sink being measured
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        table = Simulator.jobTable(Workloads.generate("staggered", jobs));
+        dispatchSink = Simulator.sink(sink);
+    }
+
+    @Benchmark
+    public Object run(Counters.Jobs jobCounter, Counters.Allocation allocation) throws Throwable {
+        long before = Counters.allocatedBytes();
+        Object result = Simulator.runEvent(policy, table, dispatchSink);
+        allocation.record(Counters.allocatedBytes() - before, jobs);
+        jobCounter.jobs += jobs;
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Generates the benchmark workloads. Every workload is made from a fixed seed so each run of a benchmark uses the same jobs.
+ *
+ * Arrival patterns:
+ *   zero      every job arrives at time 0, as in datafile1.txt
+ *   staggered jobs arrive one after another with gaps about as long as a job, as in datafile2.txt
+ *   bursty    jobs arrive in bursts of up to 1000 at the same time, with idle gaps between bursts
+ * Exec sizes are between 1 and 10, as in the datafiles.
+ */
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+final class Workloads {
+    static final long SEED = 20161025L;
+
+    private Workloads() {
+    }
+
+    /*
+     * Holds the arrival time and exec size of each job, in arrival order.
+     */
+    static final class Workload {
+        final int[] arrivalTimes;
+        final int[] execSizes;
+
+        Workload(int[] arrivalTimes, int[] execSizes) {
+            this.arrivalTimes = arrivalTimes;
+            this.execSizes = execSizes;
+        }
+
+        int size() {
+            return arrivalTimes.length;
+        }
+    }
+
+    static Workload generate(String pattern, int jobs) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] arrivalTimes = new int[jobs];
+        int[] execSizes = new int[jobs];
+        int time = 0;
+        int burstLeft = 0;
+        for(int i = 0; i < jobs; i++) {
+            execSizes[i] = 1 + random.nextInt(10);
+            switch(pattern) {
+                case "zero":
+                    break;
+                case "staggered":
+                    time += random.nextInt(12);//mean gap 5.5, just under the mean exec size
+                    break;
+                case "bursty":
+                    if(burstLeft == 0) {
+                        burstLeft = 1 + random.nextInt(1000);
+                        time += burstLeft * 6;//idle for a while after each burst has been worked through
+                    }
+                    burstLeft--;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown arrival pattern " + pattern);
+            }
+            arrivalTimes[i] = time;
+        }
+        return new Workload(arrivalTimes, execSizes);
+    }
+
+    /*
+     * Makes a workload whose jobs arrive the given number of times faster, so that each of that many cores is as busy
+     * as one processor is with the unscaled workload.
+     */
+    static Workload generate(String pattern, int jobs, int cores) {
+        Workload workload = generate(pattern, jobs);
+        for(int i = 0; i < jobs; i++) {
+            workload.arrivalTimes[i] /= cores;
+        }
+        return workload;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Tests of CoreHeap under random adds and removals from anywhere in the heap, checking the top against a scan of every core in it.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class CoreHeapTest {
+    @Test
+    public void topMatchesScanAfterRemovals() {
+        for(int seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            boolean largestFirst = seed % 2 == 0;
+            int cores = 1 + random.nextInt(300);
+            CoreHeap heap = new CoreHeap(cores, largestFirst);
+            long[] keys = new long[cores];
+            boolean[] in = new boolean[cores];//cores in the heap
+            for(int step = 0; step < 5000; step++) {
+                int core = random.nextInt(cores);
+                if(!in[core] && random.nextInt(4) == 0) {//removing a core that is not in the heap does nothing
+                    heap.remove(core);
+                }
+                else if(!in[core]) {
+                    keys[core] = (long) random.nextInt(50) << 32 | core;//many keys share the time in the high half
+                    heap.add(core, keys[core]);
+                    in[core] = true;
+                }
+                else {
+                    heap.remove(core);
+                    in[core] = false;
+                }
+                int expected = top(keys, in, largestFirst);
+                assertEquals(expected < 0, heap.isEmpty(), "seed " + seed + " step " + step);
+                if(expected >= 0) {
+                    assertEquals(expected, heap.peek(), "seed " + seed + " step " + step);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void drainsInKeyOrder() {
+        Random random = new Random(3);
+        CoreHeap heap = new CoreHeap(1000, true);
+        long[] keys = new long[1000];
+        for(int core = 0; core < 1000; core++) {
+            keys[core] = random.nextLong();
+            heap.add(core, keys[core]);
+        }
+        long last = Long.MAX_VALUE;
+        for(int i = 0; i < 1000; i++) {
+            int core = heap.peek();
+            assertTrue(keys[core] <= last, "core " + core);
+            last = keys[core];
+            heap.remove(core);
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    /*
+     * Return: the core in the heap with the largest or smallest key (int), -1 if there is none
+     */
+    private static int top(long[] keys, boolean[] in, boolean largestFirst) {
+        int top = -1;
+        for(int core = 0; core < keys.length; core++) {
+            if(in[core] && (top < 0 || (largestFirst ? keys[core] > keys[top] : keys[core] < keys[top]))) {
+                top = core;
+            }
+        }
+        return top;
+    }
+}
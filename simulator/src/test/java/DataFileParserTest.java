@@ -0,0 +1,62 @@
+/**
+ * Tests that process IDs are read as UTF-8 by DataFileParser and DataStreamParser, and written back as UTF-8 by DataFileWriter.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DataFileParserTest {
+    private static final String[] IDS = {"p\u00e91", "\u8fdb\u7a0b2", "p3"};//IDs with characters of 2 and 3 bytes in UTF-8, and plain ASCII
+    private static final byte[] DATAFILE = ("BEGIN\n\nID: " + IDS[0] + "\nArrive: 0\nExecSize: 5\nEND\n\nID: " + IDS[1]
+        + "\nArrive: 1\nExecSize: 3\nEND\n\nID: " + IDS[2] + "\nArrive: 2\nExecSize: 4\nEND\n\nEOF\n").getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path temporary;//directory of the datafiles, deleted after each test
+
+    @Test
+    public void fileIdsAreUtf8() throws Exception {
+        File file = temporary.resolve("datafile.txt").toFile();
+        Files.write(file.toPath(), DATAFILE);
+        assertIds(file);
+    }
+
+    @Test
+    public void streamIdsAreUtf8() throws Exception {
+        DataStreamParser parser = new DataStreamParser(new ByteArrayInputStream(DATAFILE));
+        for(String id : IDS) {
+            assertEquals(id, parser.next().getProcessId());
+        }
+        assertNull(parser.next());
+        parser.close();
+    }
+
+    @Test
+    public void writtenIdsReadBack() throws Exception {
+        File file = temporary.resolve("datafile.txt").toFile();
+        Files.write(file.toPath(), DATAFILE);
+        File copy = temporary.resolve("copy.txt").toFile();
+        DataFileParser parser = new DataFileParser(file);
+        assertEquals(IDS.length, DataFileWriter.write(parser, copy));
+        parser.close();
+        assertIds(copy);
+    }
+
+    /*
+     * Checks that a datafile holds the processes of IDS in order.
+     */
+    private static void assertIds(File file) throws Exception {
+        ArrayList<Process> processes = DataFileParser.readAll(file);
+        assertEquals(IDS.length, processes.size());
+        for(int i = 0; i < IDS.length; i++) {
+            assertEquals(IDS[i], processes.get(i).getProcessId());
+        }
+    }
+}
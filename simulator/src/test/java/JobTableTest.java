@@ -0,0 +1,54 @@
+/**
+ * Tests of the order JobTable admits jobs arriving at the same time in, with groups from 1 job to far more than are insertion sorted,
+ * against a sort of every row by arrival time and then the tie order.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class JobTableTest {
+    @Test
+    public void groupsAreAdmittedInTieOrder() {
+        for(int seed = 0; seed < 30; seed++) {
+            Random random = new Random(seed);
+            final int tieOrder = seed % 2 == 0 ? JobTable.TIES_EXEC : JobTable.TIES_ID;
+            int count = 1 + random.nextInt(3000);
+            int times = 1 + random.nextInt(20);//few arrival times, so groups are long
+            final JobTable jobs = new JobTable(count);
+            for(int i = 0; i < count; i++) {
+                String id = random.nextBoolean() ? "p" + random.nextInt(count) : "x" + (char) ('a' + random.nextInt(6));
+                jobs.add(id, random.nextInt(times) * 10, 1 + random.nextInt(random.nextBoolean() ? 3 : 100));
+            }
+            jobs.setTieOrder(tieOrder);
+            ArrayList<Integer> expected = new ArrayList<Integer>();
+            for(int row = 0; row < count; row++) {
+                expected.add(row);
+            }
+            Collections.sort(expected, new Comparator<Integer>() {
+                public int compare(Integer a, Integer b) {
+                    if(jobs.getArrivalTime(a) != jobs.getArrivalTime(b)) {
+                        return Integer.compare(jobs.getArrivalTime(a), jobs.getArrivalTime(b));
+                    }
+                    if(tieOrder == JobTable.TIES_ID && jobs.compareIds(a, b) != 0) {
+                        return jobs.compareIds(a, b);
+                    }
+                    if(jobs.getExecSize(a) != jobs.getExecSize(b)) {
+                        return Integer.compare(jobs.getExecSize(a), jobs.getExecSize(b));
+                    }
+                    return Integer.compare(a, b);
+                }
+            });
+            for(int i = 0; i < count; i++) {
+                assertTrue(jobs.hasArrival());
+                assertEquals(expected.get(i).intValue(), jobs.admit(), "seed " + seed + " admission " + i);
+            }
+            assertFalse(jobs.hasArrival());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Tests of LatencyHistogram percentiles against the exact percentiles of the sorted times, which they may only be above by 1/64.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+    private static final double[] FRACTIONS = {0, 0.001, 0.1, 0.5, 0.9, 0.99, 0.999, 1};//percentiles checked
+
+    @Test
+    public void percentilesAreWithinOne64thOfExact() {
+        for(int seed = 0; seed < 30; seed++) {
+            Random random = new Random(seed);
+            int[] times = new int[1 + random.nextInt(20000)];
+            LatencyHistogram histogram = new LatencyHistogram();
+            for(int i = 0; i < times.length; i++) {
+                switch(seed % 3) {
+                    case 0://small times, each with its own bucket
+                        times[i] = random.nextInt(200);
+                        break;
+                    case 1://exponential
+                        times[i] = (int) (-1000 * Math.log(1 - random.nextDouble()));
+                        break;
+                    default://spread over every power of 2 up to the largest int
+                        times[i] = random.nextInt(Integer.MAX_VALUE) >>> random.nextInt(31);
+                }
+                histogram.record(times[i]);
+            }
+            Arrays.sort(times);
+            assertEquals(times.length, histogram.getCount());
+            assertEquals(times[times.length - 1], histogram.getMax());
+            for(double fraction : FRACTIONS) {
+                int exact = times[(int) Math.max(1, Math.ceil(fraction * times.length)) - 1];
+                int percentile = histogram.percentile(fraction);
+                assertTrue(percentile >= exact && (long) percentile * 64 <= (long) exact * 65,
+                    "seed " + seed + " fraction " + fraction + ": " + percentile + " for " + exact);
+                if(exact < 128) {
+                    assertEquals(exact, percentile);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void emptyAndNegativeTimes() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+        histogram.record(-5);
+        assertEquals(0, histogram.percentile(1));
+        histogram.record(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, histogram.percentile(1));
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Tests of the Fenwick tree draw of LotteryRunQueue against a scan of every waiting job's tickets, and of jobs leaving and joining the tree.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class LotteryRunQueueTest {
+    @Test
+    public void drawFindsHolderOfTicketLikeScan() {
+        //40 jobs make the tree grow from 16 to 64 slots. A job requeued straight after it is drawn goes back into the slot it left,
+        //so the slots stay in arrival order and ticket n is held by the job whose running total of tickets first passes n
+        Random random = new Random(7);
+        JobTable jobs = new JobTable(40);
+        LotteryRunQueue queue = new LotteryRunQueue(jobs, 1, 3);
+        long total = 0;
+        for(int i = 0; i < 40; i++) {
+            int row = jobs.add("p" + i, 0, 1000, 1 + random.nextInt(100));
+            queue.arrive(row);
+            total += jobs.getTickets(row);
+        }
+        SplitMixRandom tickets = new SplitMixRandom(3);//draws the same tickets as the queue
+        for(int draw = 0; draw < 1000; draw++) {
+            long ticket = tickets.nextLong(total);
+            int expected = 0;
+            while(ticket >= jobs.getTickets(expected)) {
+                ticket -= jobs.getTickets(expected);
+                expected++;
+            }
+            int row = queue.next();
+            assertEquals(expected, row, "draw " + draw);
+            queue.requeue(row);
+        }
+    }
+
+    @Test
+    public void everyWaitingJobIsDrawnOnce() {
+        Random random = new Random(11);
+        JobTable jobs = new JobTable(1000);
+        LotteryRunQueue queue = new LotteryRunQueue(jobs, 1, 5);
+        boolean[] drawn = new boolean[1000];
+        int arrived = 0;
+        while(arrived < 1000 || queue.size() > 0) {
+            if(arrived < 1000 && (queue.size() == 0 || random.nextBoolean())) {
+                queue.arrive(jobs.add("p" + arrived, 0, 1, 1 + random.nextInt(50)));
+                arrived++;
+            }
+            else {
+                int row = queue.next();
+                assertTrue(!drawn[row], "row " + row + " drawn twice");
+                drawn[row] = true;
+            }
+        }
+        for(int row = 0; row < 1000; row++) {
+            assertTrue(drawn[row], "row " + row + " never drawn");
+        }
+    }
+
+    @Test
+    public void jobsWinInProportionToTickets() {
+        JobTable jobs = new JobTable(4);
+        LotteryRunQueue queue = new LotteryRunQueue(jobs, 1, LotteryRunQueue.DEFAULT_SEED);
+        for(int i = 0; i < 4; i++) {
+            queue.arrive(jobs.add("p" + i, 0, 1000000, i + 1));
+        }
+        int[] wins = new int[4];
+        for(int draw = 0; draw < 100000; draw++) {
+            int row = queue.peek();
+            assertEquals(row, queue.next());
+            wins[row]++;
+            queue.requeue(row);
+        }
+        for(int row = 0; row < 4; row++) {
+            int expected = 10000 * (row + 1);//tickets are 1 to 4 of 10
+            assertTrue(Math.abs(wins[row] - expected) < expected / 20, "row " + row + " won " + wins[row]);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * Golden output tests of the simulator over datafile1.txt and datafile2.txt. The default output is checked against the output kept in
+ * src/test/resources, and every way of running the same processes that should give the same output is checked against the default run:
+ * the classic engine (without the event engine labels of the algorithms it has no time stepped scheduler for), --stream, a binary workload file, --cpus=1, a resumed checkpoint, --append and --batch.
+ * Options that cannot be used together are checked to be refused, whatever order they are given in.
+ * Main is run in its own JVM for each run, as it calls System.exit() when an option is wrong, with the directory of the datafiles
+ * as its working directory.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MainTest {
+    private static final String[] DATAFILES = {"datafile1.txt", "datafile2.txt"};//datafiles every test runs on
+
+    @TempDir
+    Path temporary;//directory for the files a test makes, deleted after each test
+
+    @Test
+    public void defaultOutputMatchesGolden() throws Exception {
+        for(String datafile : DATAFILES) {
+            assertEquals(golden(datafile), run(datafile), datafile);
+        }
+    }
+
+    @Test
+    public void classicEngineMatchesEventEngine() throws Exception {
+        for(String datafile : DATAFILES) {
+            String classic = run("--engine=classic", datafile);
+            assertTrue(classic.contains("\n\nSPN (event engine):\n") && classic.contains("\n\nMLFQ (event engine):\n"), datafile);
+            assertEquals(golden(datafile), classic.replace(" (event engine):", ":"), datafile);
+        }
+    }
+
+    @Test
+    public void classicEngineMatchesEventEngineWithSettings() throws Exception {
+        for(String datafile : DATAFILES) {
+            for(String quantum : new String[] {"--quantum=1", "--quantum=3"}) {
+                for(String levels : new String[] {"--fb-levels=1", "--fb-levels=2", "--fb-levels=9"}) {
+                    String classic = run("--engine=classic", quantum, levels, datafile).replace(" (event engine):", ":");
+                    assertEquals(run(quantum, levels, datafile), classic, datafile + " " + quantum + " " + levels);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void classicEngineMatchesEventEngineWithSharedIds() throws Exception {
+        for(int seed = 0; seed < 10; seed++) {
+            //processes that share a few IDs, many arriving together, so that IDs tie in the results and in SRT's queue
+            java.util.Random random = new java.util.Random(seed);
+            StringBuilder records = new StringBuilder("BEGIN\n");
+            int arrival = 0;
+            for(int i = 0; i < 40; i++) {
+                arrival += random.nextInt(3) == 0 ? random.nextInt(6) : 0;
+                records.append("ID: p" + (1 + random.nextInt(3)) + "\nArrive: " + arrival + "\nExecSize: " + (1 + random.nextInt(10)) + "\nEND\n");
+            }
+            File datafile = temporary.resolve("shared" + seed + ".txt").toFile();
+            Files.writeString(datafile.toPath(), records + "EOF\n");
+            assertEquals(run(datafile.toString()), run("--engine=classic", datafile.toString()).replace(" (event engine):", ":"), "seed " + seed);
+        }
+    }
+
+    @Test
+    public void streamMatchesFile() throws Exception {
+        for(String datafile : DATAFILES) {
+            assertEquals(golden(datafile), run("--stream", datafile), datafile);
+        }
+    }
+
+    @Test
+    public void binaryMatchesText() throws Exception {
+        for(String datafile : DATAFILES) {
+            String binary = temporary.resolve(datafile + ".bin").toString();
+            run("convert", datafile, binary);
+            assertEquals(golden(datafile), run(binary), datafile);
+        }
+    }
+
+    @Test
+    public void oneCpuMatchesSingleProcessor() throws Exception {
+        for(String datafile : DATAFILES) {
+            String multiCore = run("--cpus=1", datafile).replaceAll("\n\nCores[\\s\\S]*?\n0 +100\\.00% *", "");//only MultiCore outputs its cores
+            assertEquals(golden(datafile), multiCore, datafile);
+        }
+    }
+
+    @Test
+    public void resumeMatchesUninterrupted() throws Exception {
+        for(String datafile : DATAFILES) {
+            String checkpoint = temporary.resolve(datafile).toString();
+            assertEquals(golden(datafile), run("--checkpoint=" + checkpoint, datafile), datafile);
+            assertEquals(golden(datafile), run("--checkpoint=" + checkpoint, "--resume", datafile), datafile);
+        }
+    }
+
+    @Test
+    public void appendMatchesOnline() throws Exception {
+        for(String datafile : DATAFILES) {
+            //the processes of the datafile, then the same processes again 1000 later, added once the first run has saved its state
+            String records = records(datafile);
+            File grown = temporary.resolve(datafile).toFile();
+            Files.writeString(grown.toPath(), records);
+            String state = temporary.resolve(datafile + ".state").toString();
+            run("--append=" + state, grown.toString());
+            Files.writeString(grown.toPath(), records + shift(records, 1000));
+            assertEquals(run("--online", grown.toString()), run("--append=" + state, grown.toString()), datafile);
+        }
+    }
+
+    @Test
+    public void onlineGenerateMatchesOnlineDatafile() throws Exception {
+        String datafile = temporary.resolve("generated.txt").toString();
+        run("generate", datafile, "--seed=3", "--jobs=500", "--arrivals=bursty");
+        String online = run("--online", datafile);
+        assertTrue(online.contains("Jobs                     500 "), online);
+        assertEquals(online, run("--online", "--generate", "--seed=3", "--jobs=500", "--arrivals=bursty"));
+    }
+
+    @Test
+    public void batchMatchesSingle() throws Exception {
+        String outputs = temporary.resolve("outputs").toString();
+        run("--batch=" + outputs, DATAFILES[0], DATAFILES[1]);
+        for(String datafile : DATAFILES) {
+            assertEquals(golden(datafile), Files.readString(temporary.resolve("outputs").resolve(datafile + ".out")), datafile);
+        }
+    }
+
+    @Test
+    public void batchWithoutJobsHasNoAverages() throws Exception {
+        File empty = temporary.resolve("empty.txt").toFile();
+        Files.writeString(empty.toPath(), "BEGIN\nEOF\n");
+        String summary = run("--batch=" + temporary.resolve("outputs"), empty.toString(), temporary.resolve("missing.txt").toString());
+        assertTrue(summary.contains("\nAll") && !summary.contains("NaN"), summary);
+    }
+
+    @Test
+    public void runWithoutJobsHasNoAverages() throws Exception {
+        File empty = temporary.resolve("empty.txt").toFile();
+        Files.writeString(empty.toPath(), "BEGIN\nEOF\n");
+        for(String mode : new String[] {"--trace=text", "--online", "--cpus=2", "--sweep-quanta=1-2"}) {
+            String output = run(mode, empty.toString());
+            assertTrue(!output.contains("NaN") && output.matches("(?s).*\\n(MLFQ|2         6) +- +- .*"), mode + "\n" + output);
+        }
+    }
+
+    @Test
+    public void cacheWithClassicEngineIsRejected() throws Exception {
+        String cache = "--cache=" + temporary.resolve("cache");
+        assertRejected(cache, "--engine=classic", DATAFILES[0]);
+        assertRejected("--engine=classic", cache, DATAFILES[0]);
+        assertRejected("--batch=" + temporary.resolve("outputs"), "--engine=classic", cache, DATAFILES[0]);
+    }
+
+    @Test
+    public void cpusWithClassicEngineIsRejected() throws Exception {
+        assertRejected("--cpus=2", "--engine=classic", DATAFILES[0]);
+        assertRejected("--engine=classic", "--cpus=2", DATAFILES[0]);
+    }
+
+    @Test
+    public void checkpointWithClassicEngineIsRejected() throws Exception {
+        String checkpoint = "--checkpoint=" + temporary.resolve("checkpoint");
+        assertRejected(checkpoint, "--engine=classic", DATAFILES[0]);
+        assertRejected("--engine=classic", checkpoint, DATAFILES[0]);
+    }
+
+    @Test
+    public void eventOnlyOptionsWithClassicEngineAreRejected() throws Exception {
+        String[] options = {"--stream", "--generate", "--online", "--append=" + temporary.resolve("state"), "--sweep-quanta=1-2"};
+        for(String option : options) {
+            assertRejected(option, "--engine=classic", DATAFILES[0]);
+            assertRejected("--engine=classic", option, DATAFILES[0]);
+        }
+    }
+
+    @Test
+    public void statsWithClassicEngineIsRejected() throws Exception {
+        assertRejected("--stats", "--engine=classic", DATAFILES[0]);
+        assertRejected("--engine=classic", "--stats", DATAFILES[0]);
+    }
+
+    @Test
+    public void unreadableRecordsAreRejected() throws Exception {
+        String[] records = {
+            "ID: p1\nArrive: 0\nEND\n",//no ExecSize
+            "ID: p1\nExecSize: 3\nEND\n",//no Arrive
+            "ID: p1\nArrive: 99999999999\nExecSize: 3\nEND\n",//too large
+            "ID: p1\nArrive: 0\nExecSize: 3\nTickets: 0\nEND\n",
+            "ID: " + "x".repeat(300) + "\nArrive: 0\nExecSize: 3\nEND\n"//ID too long
+        };
+        for(int i = 0; i < records.length; i++) {
+            String datafile = temporary.resolve("bad" + i + ".txt").toString();
+            Files.writeString(Path.of(datafile), "BEGIN\n\n" + records[i] + "\nEOF\n");
+            assertRejected(datafile);
+            assertRejected("--engine=classic", datafile);
+            assertRejected("--stream", datafile);
+            assertRejected("convert", datafile, datafile + ".bin");
+        }
+    }
+
+    /*
+     * Checks that Main refuses to run with the arguments, without outputting any results.
+     * Input: command line arguments (String[])
+     * Return: none
+     */
+    static void assertRejected(String... args) throws IOException, InterruptedException {
+        String output = run(args);
+        assertTrue(output.startsWith("Error occured.") && output.indexOf('\n') == output.length() - 1, String.join(" ", args) + ": " + output);
+    }
+
+    /*
+     * Return: the output (String) of Main run with the arguments in its own JVM, in the directory of the datafiles
+     */
+    static String run(String... args) throws IOException, InterruptedException {
+        ArrayList<String> command = new ArrayList<String>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").toString());
+        command.add("-cp");
+        command.add(new File(Main.class.getProtectionDomain().getCodeSource().getLocation().getPath()).toString());
+        command.add("Main");
+        command.addAll(Arrays.asList(args));
+        java.lang.Process process = new ProcessBuilder(command).directory(root()).redirectErrorStream(true).start();
+        process.getOutputStream().close();
+        byte[] output = process.getInputStream().readAllBytes();
+        process.waitFor();
+        return new String(output, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Return: the directory the datafiles are in (File), the working directory or one above it
+     */
+    static File root() {
+        File directory = new File("").getAbsoluteFile();
+        while(!new File(directory, DATAFILES[0]).isFile()) {
+            directory = directory.getParentFile();
+        }
+        return directory;
+    }
+
+    /*
+     * Return: the output (String) kept in src/test/resources for a datafile
+     */
+    private static String golden(String datafile) throws IOException {
+        InputStream in = MainTest.class.getResourceAsStream(datafile + ".out");
+        try {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /*
+     * Return: the ID/Arrive/ExecSize/END records of a datafile (String), without its BEGIN and EOF lines
+     */
+    private static String records(String datafile) throws IOException {
+        StringBuilder records = new StringBuilder();
+        for(String line : Files.readAllLines(new File(root(), datafile).toPath())) {
+            if(!line.startsWith("BEGIN") && !line.startsWith("EOF")) {
+                records.append(line).append('\n');
+            }
+        }
+        return records.toString();
+    }
+
+    /*
+     * Return: the records (String) with every arrival time moved later and every ID given an x in front, so that they are new processes
+     */
+    private static String shift(String records, int time) {
+        StringBuilder shifted = new StringBuilder();
+        for(String line : records.split("\n")) {
+            if(line.startsWith("Arrive:")) {
+                line = "Arrive: " + (Integer.parseInt(line.substring("Arrive:".length()).trim()) + time);
+            }
+            else if(line.startsWith("ID:")) {
+                line = "ID: x" + line.substring("ID:".length()).trim();
+            }
+            shifted.append(line).append('\n');
+        }
+        return shifted.toString();
+    }
+}
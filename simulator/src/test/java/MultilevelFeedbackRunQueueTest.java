@@ -0,0 +1,151 @@
+/**
+ * Tests of the boost of MultilevelFeedbackRunQueue, which joins the block chains of the lower levels onto level 0, against a model that
+ * keeps each level as a list and moves every waiting job up one at a time. Driven by hand in the order Kernel calls it.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class MultilevelFeedbackRunQueueTest {
+    @Test
+    public void boostMatchesModel() {
+        for(int seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            int[] quanta = new int[1 + random.nextInt(5)];
+            for(int level = 0; level < quanta.length; level++) {
+                quanta[level] = 1 << random.nextInt(4);
+            }
+            int boostPeriod = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(60);
+            int count = 1 + random.nextInt(300);//more than a block of 64 rows can wait in a level
+            JobTable jobs = new JobTable(count);
+            int arrival = 0;
+            for(int i = 0; i < count; i++) {
+                arrival += random.nextInt(3) == 0 ? random.nextInt(5) : 0;
+                jobs.add("p" + i, arrival, 1 + random.nextInt(30));
+            }
+            MultilevelFeedbackRunQueue queue = new MultilevelFeedbackRunQueue(jobs, quanta, boostPeriod);
+            Model model = new Model(quanta, boostPeriod);
+            int next = 0;//next row to arrive
+            int time = 0;
+            while(next < count || queue.size() > 0) {
+                if(queue.size() == 0 && jobs.getArrivalTime(next) > time) {
+                    time = jobs.getArrivalTime(next);
+                }
+                while(next < count && jobs.getArrivalTime(next) <= time) {
+                    queue.arrive(next);
+                    model.arrive(next, jobs.getArrivalTime(next));
+                    next++;
+                }
+                queue.setTime(time);
+                model.setTime(time);
+                int row = queue.next();
+                assertEquals(model.next(), row, "seed " + seed + " at " + time);
+                assertEquals(model.level, jobs.getLevel(row), "seed " + seed + " at " + time);
+                int slice = queue.timeSlice(row);
+                time = jobs.run(row, time, slice);
+                while(next < count && jobs.getArrivalTime(next) <= time) {//jobs that arrived while it ran go ahead of it
+                    queue.arrive(next);
+                    model.arrive(next, jobs.getArrivalTime(next));
+                    next++;
+                }
+                if(jobs.getRemaining(row) > 0) {//it used its whole slice
+                    queue.requeue(row);
+                    model.requeue(row, time - slice, time);
+                }
+                assertEquals(model.size(), queue.size());
+            }
+        }
+    }
+
+    @Test
+    public void jobsRunningAtBoostGoBackToLevelZero() {
+        //a runs from 0 to 4 at level 0 and b from 4 to 8, then a boost at 10 comes while a runs its level 1 slice from 8 to 16
+        JobTable jobs = new JobTable(2);
+        int a = jobs.add("a", 0, 100);
+        int b = jobs.add("b", 0, 100);
+        MultilevelFeedbackRunQueue queue = new MultilevelFeedbackRunQueue(jobs, new int[] {4, 8, 16}, 10);
+        queue.arrive(a);
+        queue.arrive(b);
+        int time = 0;
+        for(int i = 0; i < 3; i++) {
+            int row = queue.next();
+            time = jobs.run(row, time, queue.timeSlice(row));
+            queue.requeue(row);
+        }
+        assertEquals(16, time);
+        assertEquals(b, queue.next());//boosted to level 0 at 10, ahead of a
+        assertEquals(0, jobs.getLevel(b));
+        assertEquals(a, queue.next());
+        assertEquals(0, jobs.getLevel(a));
+        assertEquals(2, queue.getDemotions());//a and b moved down at 4 and 8, a at 16 was boosted instead
+    }
+
+    /*
+     * MLFQ kept as a list for each level, with every waiting job moved to level 0 one at a time at a boost.
+     */
+    private static class Model {
+        private ArrayDeque<Integer>[] levels;//waiting rows of each level in order
+        private int[] rowLevels = new int[1000];//level of each row
+        private int boostPeriod;//time between boosts, 0 for none
+        private int lastBoost;//number of boost periods up to the last time given
+        private int level;//level of the row last returned by next()
+
+        @SuppressWarnings("unchecked")
+        private Model(int[] quanta, int boostPeriod) {
+            this.boostPeriod = boostPeriod;
+            levels = new ArrayDeque[quanta.length];
+            for(int i = 0; i < quanta.length; i++) {
+                levels[i] = new ArrayDeque<Integer>();
+            }
+        }
+
+        private void setTime(int time) {
+            if(boostPeriod > 0 && time / boostPeriod > lastBoost) {
+                lastBoost = time / boostPeriod;
+                for(int i = 1; i < levels.length; i++) {
+                    while(!levels[i].isEmpty()) {
+                        levels[0].add(levels[i].poll());
+                    }
+                }
+            }
+        }
+
+        private void arrive(int row, int time) {
+            setTime(time);
+            rowLevels[row] = 0;
+            levels[0].add(row);
+        }
+
+        private void requeue(int row, int start, int finish) {
+            setTime(finish);
+            int level = rowLevels[row];
+            if(boostPeriod > 0 && finish / boostPeriod > start / boostPeriod) {
+                level = 0;
+            }
+            else if(level < levels.length - 1) {
+                level++;
+            }
+            rowLevels[row] = level;
+            levels[level].add(row);
+        }
+
+        private int next() {
+            for(level = 0; levels[level].isEmpty(); level++) {
+                //find the highest level with a job waiting
+            }
+            int row = levels[level].poll();
+            rowLevels[row] = level;
+            return row;
+        }
+
+        private int size() {
+            int size = 0;
+            for(ArrayDeque<Integer> waiting : levels) {
+                size += waiting.size();
+            }
+            return size;
+        }
+    }
+}
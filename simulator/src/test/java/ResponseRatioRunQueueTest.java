@@ -0,0 +1,70 @@
+/**
+ * Tests of ResponseRatioRunQueue against a scan of every waiting job's response ratio at each decision, driven by hand in the order
+ * Kernel calls it: jobs that have arrived arrive, the clock is set, then the job chosen runs.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ResponseRatioRunQueueTest {
+    @Test
+    public void choosesHighestRatioLikeScan() {
+        for(int seed = 0; seed < 50; seed++) {
+            Random random = new Random(seed);
+            int count = 1 + random.nextInt(200);
+            JobTable jobs = new JobTable(count);
+            int arrival = 0;
+            for(int i = 0; i < count; i++) {
+                arrival += random.nextInt(4) == 0 ? random.nextInt(10) : 0;//many arrive together so that ratios tie
+                jobs.add("p" + i, arrival, 1 + random.nextInt(random.nextBoolean() ? 4 : 40));
+            }
+            ResponseRatioRunQueue queue = new ResponseRatioRunQueue(jobs);
+            ArrayList<Integer> waiting = new ArrayList<Integer>();
+            int next = 0;//next row to arrive
+            int time = 0;
+            while(next < count || !waiting.isEmpty()) {
+                if(waiting.isEmpty() && jobs.getArrivalTime(next) > time) {
+                    time = jobs.getArrivalTime(next);
+                }
+                while(next < count && jobs.getArrivalTime(next) <= time) {
+                    queue.arrive(next);
+                    waiting.add(next++);
+                }
+                queue.setTime(time);
+                int expected = highestRatio(jobs, waiting, time);
+                assertEquals(expected, queue.next(), "seed " + seed + " at " + time);
+                waiting.remove(Integer.valueOf(expected));
+                if(random.nextInt(5) == 0 && jobs.getRemaining(expected) > 1) {//some jobs are requeued part way, as if preempted
+                    time = jobs.run(expected, time, 1 + random.nextInt(jobs.getRemaining(expected) - 1));
+                    queue.requeue(expected);
+                    waiting.add(expected);
+                }
+                else {
+                    time = jobs.run(expected, time, jobs.getRemaining(expected));
+                }
+            }
+            assertEquals(0, queue.size());
+        }
+    }
+
+    /*
+     * Return: the waiting row (int) with the highest (time waiting + remaining time) / remaining time, the first to arrive on ties
+     */
+    private static int highestRatio(JobTable jobs, ArrayList<Integer> waiting, int time) {
+        int best = -1;
+        for(int row : waiting) {
+            if(best < 0) {
+                best = row;
+                continue;
+            }
+            long ratio = (long) (time - jobs.getFinishTime(row) + jobs.getWaitTime(row) + jobs.getRemaining(row)) * jobs.getRemaining(best);
+            long bestRatio = (long) (time - jobs.getFinishTime(best) + jobs.getWaitTime(best) + jobs.getRemaining(best)) * jobs.getRemaining(row);
+            if(ratio > bestRatio || (ratio == bestRatio && jobs.getArrivalNumber(row) < jobs.getArrivalNumber(best))) {
+                best = row;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Tests of the least recently used eviction of ResultCache. The last modified times of the entries are set by hand, as they are what
+ * recently used means, so the test does not depend on how finely the file system keeps times.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+    private static final String[] KEYS = {"a", "b", "c", "d"};//keys of the entries, in the order they are put
+
+    @TempDir
+    Path temporary;//directory of the cache, deleted after each test
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws Exception {
+        JobTable input = workload();
+        File directory = temporary.toFile();
+        new ResultCache(directory, Long.MAX_VALUE).put(key("size"), new ResultCache.Entry(input.newRun(), null, null, null));
+        long entrySize = entries(directory)[0].length();
+        entries(directory)[0].delete();
+
+        //room for 3 entries and a half: a, b and c fit, then a is read, so putting d deletes b, the least recently used
+        ResultCache cache = new ResultCache(directory, entrySize * 7 / 2);
+        long now = System.currentTimeMillis();
+        for(int i = 0; i < 3; i++) {
+            cache.put(key(KEYS[i]), new ResultCache.Entry(input.newRun(), null, null, null));
+        }
+        setAges(directory, now);
+        assertNotNull(cache.get(key("a"), input));
+        cache.put(key("d"), new ResultCache.Entry(input.newRun(), null, null, null));
+
+        assertEquals(3, entries(directory).length);
+        assertNull(cache.get(key("b"), input));
+        assertNotNull(cache.get(key("a"), input));
+        assertNotNull(cache.get(key("c"), input));
+        assertNotNull(cache.get(key("d"), input));
+    }
+
+    @Test
+    public void entryKeepsResults() throws Exception {
+        JobTable input = workload();
+        JobTable jobs = input.newRun();
+        jobs.run(1, 0, 3);
+        ResultCache cache = new ResultCache(temporary.toFile(), ResultCache.DEFAULT_SIZE);
+        cache.put(key("a"), new ResultCache.Entry(jobs, null, null, null));
+        JobTable read = cache.get(key("a"), input).getJobs();
+        assertEquals("p2", read.getProcessId(1));
+        assertEquals(3, read.getFinishTime(1));
+        assertEquals(0, read.getRemaining(1));
+        assertNull(cache.get(key("z"), input));
+    }
+
+    /*
+     * Return: a JobTable (JobTable) of 3 jobs
+     */
+    private static JobTable workload() {
+        JobTable jobs = new JobTable(3);
+        jobs.add("p1", 0, 5);
+        jobs.add("p2", 0, 3);
+        jobs.add("p3", 2, 4);
+        return jobs;
+    }
+
+    /*
+     * Return: the key (String) of a made up run of FCFS
+     */
+    private static String key(String name) {
+        return ResultCache.key("workload", "FCFS", "run=" + name);
+    }
+
+    /*
+     * Sets the last modified time of the entries of a, b and c to a second apart, in that order, the last a second before the time given.
+     */
+    private static void setAges(File directory, long now) throws NoSuchAlgorithmException {
+        for(int i = 0; i < 3; i++) {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key(KEYS[i]).getBytes(StandardCharsets.UTF_8));
+            File entry = new File(directory, HexFormat.of().formatHex(digest) + ".result");//entries are named by the SHA-256 of their key
+            assertTrue(entry.setLastModified(now - 1000 * (3 - i)), entry.toString());
+        }
+    }
+
+    /*
+     * Return: the entry files of a cache (File[])
+     */
+    private static File[] entries(File directory) {
+        return directory.listFiles(new FileFilter() {
+            public boolean accept(File file) {
+                return file.getName().endsWith(".result");
+            }
+        });
+    }
+}
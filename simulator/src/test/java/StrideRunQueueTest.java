@@ -0,0 +1,52 @@
+/**
+ * Tests of StrideRunQueue, driven by hand in the order Kernel calls it: the job chosen runs, jobs that arrived while it ran arrive,
+ * then the job is requeued.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class StrideRunQueueTest {
+    @Test
+    public void jobsWithMoreTicketsRunMoreOften() {
+        JobTable jobs = new JobTable(2);
+        int one = jobs.add("one", 0, 100, 1);
+        int three = jobs.add("three", 0, 100, 3);
+        StrideRunQueue queue = new StrideRunQueue(jobs, 1);
+        queue.arrive(one);
+        queue.arrive(three);
+        int[] runs = new int[2];
+        int time = 0;
+        for(int i = 0; i < 40; i++) {
+            int row = queue.next();
+            time = jobs.run(row, time, 1);
+            runs[row]++;
+            queue.requeue(row);
+        }
+        assertEquals(10, runs[one]);
+        assertEquals(30, runs[three]);
+    }
+
+    @Test
+    public void newJobStartsAtPassOfLastJobChosen() {
+        //a and b have each run a quantum when c arrives, c starts at the pass b was chosen at, which is lower than a's,
+        //so c runs before a, where RR would run a first
+        JobTable jobs = new JobTable(3);
+        int a = jobs.add("a", 0, 10);
+        int b = jobs.add("b", 0, 10);
+        int c = jobs.add("c", 4, 10);
+        StrideRunQueue queue = new StrideRunQueue(jobs, 2);
+        queue.arrive(a);
+        queue.arrive(b);
+        assertEquals(a, queue.next());
+        int time = jobs.run(a, 0, queue.timeSlice(a));
+        queue.requeue(a);
+        assertEquals(b, queue.next());
+        time = jobs.run(b, time, queue.timeSlice(b));
+        queue.arrive(c);
+        queue.requeue(b);
+        assertEquals(c, queue.next());
+        assertEquals(a, queue.next());
+        assertEquals(b, queue.next());
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Tests of TimingWheel against a TreeSet of (time, ID) pairs under random schedules, cancels and polls, with events from the same time
+ * to a billion time units apart, so that every level of the wheel is used.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+public class TimingWheelTest {
+    @Test
+    public void pollsInTimeThenIdOrderLikeTreeSet() {
+        for(int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            int start = random.nextInt(1000) - 500;
+            TimingWheel wheel = new TimingWheel(16, start);
+            TreeSet<long[]> events = new TreeSet<long[]>(new Comparator<long[]>() {
+                public int compare(long[] a, long[] b) {
+                    return a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]);
+                }
+            });
+            long[] due = new long[500];//time each ID is due at, Long.MIN_VALUE if it is not in the wheel
+            Arrays.fill(due, Long.MIN_VALUE);
+            int now = start;
+            for(int step = 0; step < 20000; step++) {
+                int id = random.nextInt(due.length);
+                int choice = random.nextInt(10);
+                if(choice < 5 && due[id] == Long.MIN_VALUE) {
+                    int[] spans = {1, 64, 4096, 1 << 20, 1 << 30};
+                    int time = (int) Math.min((long) now + random.nextInt(spans[random.nextInt(spans.length)]), Integer.MAX_VALUE);
+                    wheel.schedule(id, time);
+                    events.add(new long[] {time, id});
+                    due[id] = time;
+                }
+                else if(choice < 7) {//cancelling an ID that is not in the wheel does nothing
+                    wheel.cancel(id);
+                    if(due[id] != Long.MIN_VALUE) {
+                        events.remove(new long[] {due[id], id});
+                        due[id] = Long.MIN_VALUE;
+                    }
+                }
+                else if(!events.isEmpty()) {
+                    long[] first = events.pollFirst();
+                    assertEquals(first[0], wheel.nextTime(), "seed " + seed + " step " + step);
+                    assertEquals(first[1], wheel.poll(), "seed " + seed + " step " + step);
+                    now = (int) first[0];
+                    due[(int) first[1]] = Long.MIN_VALUE;
+                }
+                assertEquals(events.size(), wheel.size());
+            }
+        }
+    }
+
+    @Test
+    public void sameTimeComesOutLowestIdFirst() {
+        TimingWheel wheel = new TimingWheel(16, 0);
+        int[] ids = {9, 3, 40, 0, 17};
+        for(int id : ids) {
+            wheel.schedule(id, 5000);//in a higher level, so the order must survive moving down
+        }
+        wheel.cancel(17);
+        int[] expected = {0, 3, 9, 40};
+        for(int id : expected) {
+            assertEquals(5000, wheel.nextTime());
+            assertEquals(id, wheel.poll());
+        }
+        assertEquals(true, wheel.isEmpty());
+    }
+
+    @Test
+    public void eventBeforeCurrentTimeIsRefused() {
+        final TimingWheel wheel = new TimingWheel(16, 0);
+        wheel.schedule(1, 100);
+        wheel.poll();
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            public void execute() {
+                wheel.schedule(2, 99);
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * ProcessSource that reads processes from another source which is already in arrival time order, such as a datafile,
+ * and sorts each group of processes with the same arrival time.
+ * This gives a scheduler the same order as sorting the whole list would, while only holding one arrival time worth of processes.
+ * An IllegalStateException is thrown if a process arrives before the process that was read before it.
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+
+public class ArrivalGroupSource implements ProcessSource {
+    private ProcessSource source;//where the processes are read from
+    private Comparator<Process> order;//order of processes with the same arrival time, null keeps the source order
+    private ArrayList<Process> group;//processes with the same arrival time that have been read but not given out yet
+    private int next;//index of the next process in group to give out
+    private Process lookahead;//the first process of the next group
+    private boolean started;//true once the first process has been read from source
+
+    /*
+     * Input: source of processes in arrival time order (ProcessSource) and the order of processes with the same arrival time (Comparator<Process>)
+     */
+    public ArrivalGroupSource(ProcessSource source, Comparator<Process> order) {
+        this.source = source;
+        this.order = order;
+        group = new ArrayList<Process>();
+        next = 0;
+        started = false;
+    }
+
+    /*
+     * Return: the next process (Process), or null when source has no more processes
+     */
+    public Process next() {
+        if(next == group.size()) {
+            readGroup();
+            if(group.size() == 0) {
+                return null;
+            }
+        }
+        return group.get(next++);
+    }
+
+    /*
+     * Read every process with the next arrival time from source into group and sort them.
+     */
+    private void readGroup() {
+        if(!started) {
+            lookahead = source.next();
+            started = true;
+        }
+        group.clear();
+        next = 0;
+        if(lookahead == null) {
+            return;
+        }
+        int arrivalTime = lookahead.getArrivalTime();
+        while(lookahead != null && lookahead.getArrivalTime() == arrivalTime) {
+            group.add(lookahead);
+            lookahead = source.next();
+        }
+        if(lookahead != null && lookahead.getArrivalTime() < arrivalTime) {
+            throw new IllegalStateException("Processes are not in arrival time order at process " + lookahead.getProcessId());
+        }
+        if(order != null && group.size() > 1) {
+            Collections.sort(group, order);//stable, so equal processes keep the source order
+        }
+    }
+}
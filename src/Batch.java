@@ -0,0 +1,219 @@
+/**
+ * Runs the data files of --batch: finds the data files named on the command line, runs each with a BatchFile and outputs a summary of
+ * the average times of every one of them.
+ */
+import java.io.*;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class Batch {
+    /*
+     * Runs every schedule algorithm on each of many data files as a pipeline in one JVM, then outputs a summary of them all.
+     * A BatchFile reads each data file, runs every algorithm on it and writes its output to <directory>/<name>.out, the same output as a run on
+     * the data file on its own. The BatchFiles run on a pool of batchFiles threads, so no more than that many data files are held at once:
+     * once they all are, the next data file is only read when one has been written. The algorithms of every data file share one pool with
+     * a thread for each core, which stays busy while other data files are read and written. A data file that cannot be read or run only
+     * gets its error in the summary, and the rest carry on.
+     * Input: names given on the command line (ArrayList of String), each a directory, a glob or a data file, the output directory (String),
+     *        the most data files to hold at once (int), true for the event driven schedulers, PolicySettings of the schedule algorithms,
+     *        number of cores (int), 0 for one processor, true for a global run queue, trace option (String),
+     *        result cache directory (String) or null for no cache and the bytes the cache can take up (long)
+     * Return: none
+     */
+    public static void run(ArrayList<String> names, String directory, int batchFiles, boolean eventEngine, PolicySettings settings,
+        int cpus, boolean globalQueue, String trace, String cacheName, long cacheSize) {
+        ArrayList<File> files = new ArrayList<File>();
+        ArrayList<String> outputs = new ArrayList<String>();
+        try
+        {
+            findBatchFiles(names, files, outputs);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error occured. Data files could not be listed: " + e.getMessage());
+            System.exit(0);
+        }
+        if(files.isEmpty()) {
+            System.out.println("Error occured. --batch needs a directory, a glob or data files.");
+            System.exit(0);
+        }
+        ResultCache cache = null;//where results are kept between runs, null for no cache
+        if(cacheName != null) {
+            try
+            {
+                cache = new ResultCache(new File(cacheName), cacheSize);
+            }
+            catch (IOException e)
+            {
+                System.out.println("Error occured. Cache directory could not be made.");
+                System.exit(0);
+            }
+        }
+
+        ExecutorService schedulers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        ExecutorService readers = Executors.newFixedThreadPool(Math.min(batchFiles, files.size()));
+        ArrayList<Future<BatchFile>> results = new ArrayList<Future<BatchFile>>();
+        HashSet<String> written = new HashSet<String>();//output names already taken
+        for(int i = 0; i < files.size(); i++) {
+            BatchFile batchFile = new BatchFile(files.get(i), outputs.get(i), new File(directory, outputs.get(i) + ".out"), eventEngine, settings,
+                cpus, globalQueue, trace, cache, schedulers);
+            if(!written.add(outputs.get(i))) {
+                batchFile.setError("Has the same output file as an earlier data file.");
+            }
+            results.add(readers.submit(batchFile));
+        }
+        readers.shutdown();
+
+        BatchFile[] done = new BatchFile[files.size()];
+        try
+        {
+            for(int i = 0; i < done.length; i++) {
+                done[i] = results.get(i).get();
+            }
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            System.out.println("Error occured. The batch failed: " + e.getCause());
+            System.exit(0);
+        }
+        schedulers.shutdown();
+        printBatch(done, directory);
+    }
+
+    /*
+     * Finds the data files of a batch run. A directory gives every file in it, a glob such as traces/*.txt, or traces/**.txt
+     * for every directory below traces, gives every file whose path matches it, and any other name is a data file.
+     * Each data file's output is named by its path from the directory or from the directory the glob starts in.
+     * A glob that matches nothing is kept as a data file, which then fails to open.
+     * Input: names given on the command line (ArrayList of String), and the lists the data files (ArrayList of File)
+     *        and the names of their outputs (ArrayList of String) are added to
+     * Return: none
+     * Throws: IOException if a directory cannot be listed
+     */
+    private static void findBatchFiles(ArrayList<String> names, ArrayList<File> files, ArrayList<String> outputs) throws IOException {
+        for(String name : names) {
+            int wildcard = -1;//position of the first wildcard
+            for(int i = 0; i < name.length() && wildcard < 0; i++) {
+                if("*?[{".indexOf(name.charAt(i)) >= 0) {
+                    wildcard = i;
+                }
+            }
+            if(wildcard < 0 && new File(name).isDirectory()) {
+                File[] list = new File(name).listFiles();
+                if(list == null) {
+                    throw new IOException("Cannot list " + name);
+                }
+                Arrays.sort(list);
+                for(File file : list) {
+                    if(file.isFile() && !file.isHidden()) {
+                        files.add(file);
+                        outputs.add(file.getName());
+                    }
+                }
+                continue;
+            }
+            if(wildcard < 0) {
+                files.add(new File(name));
+                outputs.add(new File(name).getName());
+                continue;
+            }
+            int slash = name.lastIndexOf('/', wildcard);
+            Path base = Paths.get(slash < 0 ? "." : name.substring(0, slash + 1));
+            String glob = name.substring(slash + 1);
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            int depth = glob.contains("**") ? Integer.MAX_VALUE : glob.length() - glob.replace("/", "").length() + 1;
+            ArrayList<String> matches = new ArrayList<String>();
+            Files.walkFileTree(base, EnumSet.noneOf(FileVisitOption.class), depth, new SimpleFileVisitor<Path>() {
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    Path relative = base.relativize(file);
+                    if(attributes.isRegularFile() && matcher.matches(relative)) {
+                        matches.add(relative.toString());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;//a directory that cannot be read has no data files
+                }
+            });
+            Collections.sort(matches);
+            for(String match : matches) {
+                files.add(base.resolve(match).toFile());
+                outputs.add(match);
+            }
+            if(matches.isEmpty()) {
+                files.add(new File(name));
+                outputs.add(name);
+            }
+        }
+    }
+
+    /*
+     * Outputs the summary of a batch run: the average waiting time and average turnaround time of every algorithm on each data file that ran,
+     * and over every job of them all, then the error of each data file that did not.
+     * Input: every BatchFile once it has finished (BatchFile[]) and the output directory (String)
+     * Return: none
+     */
+    private static void printBatch(BatchFile[] done, String directory) {
+        int failed = 0;
+        for(int i = 0; i < done.length; i++) {
+            if(done[i].getError() != null) {
+                failed++;
+            }
+        }
+        System.out.print("Batch of " + done.length + " data files, " + (done.length - failed) + " run and " + failed + " failed,"
+            + " output written to " + directory);
+        for(int average = 0; average < 2; average++) {
+            System.out.format("\n\n%s\n%-25s%-12s", average == 0 ? "Average Waiting Time" : "Average Turnaround Time", "Data file", "Jobs");
+            for(int p = 0; p < SchedulerTask.POLICIES.length; p++) {
+                System.out.format("%-10s", SchedulerTask.POLICIES[p]);
+            }
+            long jobs = 0;//jobs of every data file that ran
+            double[] totals = new double[SchedulerTask.POLICIES.length];//total time of the jobs of every data file that ran, for each algorithm
+            for(int i = 0; i < done.length; i++) {
+                if(done[i].getError() != null) {
+                    continue;
+                }
+                double[] averages = average == 0 ? done[i].getAverageWaits() : done[i].getAverageTurnarounds();
+                System.out.format("\n%-25s%-12s", done[i].getName(), done[i].getJobs());
+                for(int p = 0; p < SchedulerTask.POLICIES.length; p++) {
+                    if(done[i].getJobs() == 0) {//a data file with no jobs has no averages
+                        System.out.format("%-10s", "-");
+                    }
+                    else {
+                        System.out.format("%-10.2f", averages[p]);
+                        totals[p] += averages[p] * done[i].getJobs();
+                    }
+                }
+                jobs += done[i].getJobs();
+            }
+            System.out.format("\n%-25s%-12s", "All", jobs);
+            for(int p = 0; p < SchedulerTask.POLICIES.length; p++) {
+                if(jobs == 0) {//every data file failed or had no jobs, so there is no average
+                    System.out.format("%-10s", "-");
+                }
+                else {
+                    System.out.format("%-10.2f", totals[p] / jobs);
+                }
+            }
+        }
+        if(failed > 0) {
+            System.out.print("\n\nFailed");
+            for(int i = 0; i < done.length; i++) {
+                if(done[i].getError() != null) {
+                    System.out.format("\n%-25s%s", done[i].getName(), done[i].getError());
+                }
+            }
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * Reads one data file of a batch run, runs every schedule algorithm on it and writes its output to a file, so that many data files
+ * can go through at the same time on a thread pool. The algorithms run on a pool shared by every data file, and this waits for them.
+ * Only the number of jobs and the averages of each algorithm are kept once the output has been written, so a batch of any number of
+ * data files takes the memory of the ones being run. Any error reading, running or writing a data file is kept for the summary instead.
+ */
+import java.io.*;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class BatchFile implements Callable<BatchFile> {
+    private File file;//data file
+    private String name;//name of the data file in the summary, which its output is named by
+    private File output;//file the output is written to
+    private boolean eventEngine;//use the event driven schedulers instead of the time stepped ones
+    private PolicySettings settings;//settings of the schedule algorithms that have any
+    private int cpus;//number of processor cores, 0 for the single processor schedulers
+    private boolean globalQueue;//with more than 0 cpus, every core shares one run queue
+    private String trace;//the trace option
+    private ResultCache cache;//where the results are looked for first and kept, null for no cache
+    private ExecutorService schedulers;//pool the schedule algorithms run on
+    private long jobs;//number of jobs in the data file
+    private double[] averageWaits;//average waiting time of each algorithm
+    private double[] averageTurnarounds;//average turnaround time of each algorithm
+    private String error;//why the data file failed, null if it has not
+
+    public BatchFile(File file, String name, File output, boolean eventEngine, PolicySettings settings, int cpus, boolean globalQueue,
+        String trace, ResultCache cache, ExecutorService schedulers)
+    {
+        this.file = file;
+        this.name = name;
+        this.output = output;
+        this.eventEngine = eventEngine;
+        this.settings = settings;
+        this.cpus = cpus;
+        this.globalQueue = globalQueue;
+        this.trace = trace;
+        this.cache = cache;
+        this.schedulers = schedulers;
+    }
+
+    /*
+     * Fails the data file before it is read.
+     * Input: why it failed (String)
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public BatchFile call() throws InterruptedException {
+        if(error != null) {
+            return this;
+        }
+        ArrayList<Process> inputList;//processes in datafile order
+        try
+        {
+            inputList = BinaryWorkload.isBinary(file) ? BinaryWorkload.readAll(file) : DataFileParser.readAll(file);
+        }
+        catch (IOException e)
+        {
+            error = "File failed to open.";
+            return this;
+        }
+        catch (RuntimeException e)
+        {
+            error = "Failed to read processes: " + e;
+            return this;
+        }
+
+        ArrayList<Future<JobTable>> results = new ArrayList<Future<JobTable>>();
+        try
+        {
+            //the same tables and lists as a run on the data file on its own
+            JobTable[] tables = new JobTable[SchedulerTask.POLICIES.length];
+            ArrayList<Process> srtInput = inputList;
+            ArrayList<Process> fbInput = inputList;
+            if(eventEngine) {
+                for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+                    tables[i] = i == 0 ? JobTable.fromList(inputList) : tables[0].newRun();
+                    tables[i].setTieOrder(SchedulerTask.tieOrder(SchedulerTask.POLICIES[i]));
+                }
+            }
+            else {
+                ProcessOrder order = new ProcessOrder(inputList);
+                inputList = order.byArrival();
+                srtInput = order.byArrivalExec();
+                fbInput = order.byArrivalId();
+            }
+            String workload = cache != null ? ResultCache.digest(tables[0]) : null;
+            SchedulerTask[] tasks = new SchedulerTask[SchedulerTask.POLICIES.length];
+            for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+                ArrayList<Process> input = SchedulerTask.POLICIES[i].equals("SRT") ? srtInput : SchedulerTask.arrivalOrder(SchedulerTask.POLICIES[i]) != null ? fbInput : inputList;
+                tasks[i] = new SchedulerTask(SchedulerTask.POLICIES[i], input, tables[i], settings, cpus, globalQueue, trace);
+                if(cache != null) {
+                    tasks[i].setCache(cache, workload);
+                }
+                results.add(schedulers.submit(tasks[i]));
+            }
+            JobTable[] outputs = new JobTable[SchedulerTask.POLICIES.length];
+            for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+                outputs[i] = results.get(i).get();
+            }
+
+            File parent = output.getAbsoluteFile().getParentFile();
+            if(!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot make directory " + parent);
+            }
+            PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output), TextSink.BUFFER_SIZE));
+            Report.printRun(out, tasks, outputs);
+            out.close();
+            if(out.checkError()) {
+                throw new IOException("Cannot write " + output);
+            }
+
+            averageWaits = new double[SchedulerTask.POLICIES.length];
+            averageTurnarounds = new double[SchedulerTask.POLICIES.length];
+            for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+                averageWaits[i] = outputs[i].getStats().getAverageWait();
+                averageTurnarounds[i] = outputs[i].getStats().getAverageTurnaround();
+            }
+            jobs = outputs[0].getStats().getCount();
+        }
+        catch (ExecutionException e)
+        {
+            error = "A schedule algorithm failed: " + e.getCause();
+        }
+        catch (IOException e)
+        {
+            output.delete();
+            error = "Output could not be written: " + e.getMessage();
+        }
+        catch (RuntimeException e)
+        {
+            output.delete();
+            error = "Failed: " + e;
+        }
+        finally
+        {
+            for(int i = 0; i < results.size(); i++) {
+                results.get(i).cancel(false);//the algorithms of a data file that failed that have not started yet do not run
+            }
+        }
+        return this;
+    }
+
+    /*
+     * Return: the name of the data file in the summary (String)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /*
+     * Return: why the data file failed (String), null if it ran
+     */
+    public String getError() {
+        return error;
+    }
+
+    /*
+     * Return: the number of jobs in the data file (long)
+     */
+    public long getJobs() {
+        return jobs;
+    }
+
+    /*
+     * Return: the average waiting time of each algorithm (double[]), in SchedulerTask.POLICIES order
+     */
+    public double[] getAverageWaits() {
+        return averageWaits;
+    }
+
+    /*
+     * Return: the average turnaround time of each algorithm (double[]), in SchedulerTask.POLICIES order
+     */
+    public double[] getAverageTurnarounds() {
+        return averageTurnarounds;
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * DispatchSink that writes a compact binary log of dispatches, which replay() can turn back into the same dispatches later.
+ *
+ * The log starts with a little endian int magic number and format version. Each dispatch is then the difference from the previous
+ * dispatch time followed by the number of the process, both as variable length unsigned ints of 7 bits a byte, so most dispatches take 2 or 3 bytes.
+ * Processes are numbered in the order they are first dispatched. The first dispatch of a process is followed by its ID,
+ * as a variable length byte count then UTF-8 bytes.
+ * Time differences are zigzag encoded so that a time earlier than the one before can still be logged.
+ * A Checkpoint saves the process numbers and the last dispatch time without the output stream, which setOutput() gives back to the sink
+ * when the run is resumed, so the log carries on from where it was.
+ */
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+public class BinarySink implements DispatchSink, Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    public static final int MAGIC = 0x54484353;//"SCHT" in little endian
+    public static final int VERSION = 1;//format version written after the magic number
+
+    private transient OutputStream out;//where the log is written
+    private transient byte[] buffer;//bytes of the log that have not been written yet
+    private transient int length;//number of bytes in buffer
+    private HashMap<String, Integer> numbers;//number of each process ID that has been dispatched
+    private int previousTime;//time of the last dispatch
+
+    /*
+     * Writes the log header.
+     * Input: where to write the log (OutputStream), which is buffered by the sink
+     */
+    public BinarySink(OutputStream out) {
+        this.out = out;
+        buffer = new byte[TextSink.BUFFER_SIZE];
+        length = 0;
+        numbers = new HashMap<String, Integer>();
+        previousTime = 0;
+        writeInt(MAGIC);
+        writeInt(VERSION);
+    }
+
+    /*
+     * Throws: UncheckedIOException if the log cannot be written
+     */
+    public void dispatch(int time, String processId) {
+        if(length + 10 > buffer.length) {//room for the longest time difference and process number
+            writeBuffer();
+        }
+        int delta = time - previousTime;
+        writeVarint((delta << 1) ^ (delta >> 31));
+        previousTime = time;
+        Integer number = numbers.get(processId);
+        if(number != null) {
+            writeVarint(number);
+        }
+        else {
+            writeVarint(numbers.size());
+            numbers.put(processId, numbers.size());
+            byte[] bytes = processId.getBytes(StandardCharsets.UTF_8);
+            if(length + 5 + bytes.length > buffer.length) {
+                writeBuffer();
+                if(5 + bytes.length > buffer.length) {
+                    buffer = new byte[5 + bytes.length];
+                }
+            }
+            writeVarint(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+    }
+
+    /*
+     * Throws: UncheckedIOException if the log cannot be written
+     */
+    public void flush() {
+        writeBuffer();
+        try {
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Writes the log from now on to a different output stream, which must hold the log up to the last dispatch.
+     * Input: where to write the log (OutputStream)
+     * Return: none
+     */
+    public void setOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    /*
+     * Writes the buffer out first, so that the log up to the last dispatch is in the output stream and none of it is saved with the sink.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        writeBuffer();
+        stream.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        buffer = new byte[TextSink.BUFFER_SIZE];
+        length = 0;
+    }
+
+    /*
+     * Reads a binary dispatch log and sends every dispatch in it to another sink, then flushes that sink.
+     * Input: the log (InputStream) and where to send the dispatches (DispatchSink)
+     * Return: the number of dispatches read (long)
+     */
+    public static long replay(InputStream log, DispatchSink sink) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(log, TextSink.BUFFER_SIZE));
+        if(Integer.reverseBytes(in.readInt()) != MAGIC) {
+            throw new IOException("Not a binary dispatch log");
+        }
+        int version = Integer.reverseBytes(in.readInt());
+        if(version != VERSION) {
+            throw new IOException("Unsupported binary dispatch log version " + version);
+        }
+        ArrayList<String> ids = new ArrayList<String>();//ID of each process number
+        int time = 0;
+        long count = 0;
+        int first;
+        while((first = in.read()) >= 0) {
+            int zigzag = readVarint(in, first);
+            time += (zigzag >>> 1) ^ -(zigzag & 1);
+            int number = readVarint(in, in.readUnsignedByte());
+            if(number == ids.size()) {//first dispatch of this process, its ID follows
+                byte[] bytes = new byte[readVarint(in, in.readUnsignedByte())];
+                in.readFully(bytes);
+                ids.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            else if(number > ids.size()) {
+                throw new IOException("Corrupt binary dispatch log at dispatch " + count);
+            }
+            sink.dispatch(time, ids.get(number));
+            count++;
+        }
+        sink.flush();
+        return count;
+    }
+
+    /*
+     * Adds a variable length unsigned int to the buffer, which must have room for 5 bytes.
+     */
+    private void writeVarint(int value) {
+        while((value & ~0x7F) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        buffer[length++] = (byte) value;
+        buffer[length++] = (byte) (value >>> 8);
+        buffer[length++] = (byte) (value >>> 16);
+        buffer[length++] = (byte) (value >>> 24);
+    }
+
+    private void writeBuffer() {
+        try {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Return: a variable length unsigned int (int) whose first byte has already been read
+     */
+    private static int readVarint(DataInputStream in, int first) throws IOException {
+        int value = first & 0x7F;
+        int shift = 7;
+        while((first & 0x80) != 0) {
+            if(shift > 28) {
+                throw new IOException("Corrupt binary dispatch log");
+            }
+            first = in.readUnsignedByte();
+            value |= (first & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Reads and writes processes in a compact fixed width binary format, so that a workload only has to be parsed from text once.
+ *
+ * All numbers are little endian ints.
+ * Header: magic number, format version, number of processes, length of the ID prefix (-1 if there is no prefix) and the prefix bytes.
+ * Records: one 12 byte record for each process holding the ID, arrival time and exec size. In version 2 each record is 16 bytes and also holds
+ * the process's tickets. Version 2 is only written when a process does not have the default number of tickets, so other files stay version 1.
+ * When every process ID is the prefix followed by a number, as in "p1", "p2", the record ID is that number.
+ * Otherwise the record ID is an index into a table of IDs after the records, each stored as a length then UTF-8 bytes.
+ *
+ * Records are read in bulk with FileChannel and ByteBuffer, one chunk at a time.
+ */
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class BinaryWorkload {
+    public static final int MAGIC = 0x42484353;//"SCHB" in little endian
+    public static final int VERSION = 1;//format version written into the header
+    public static final int TICKETS_VERSION = 2;//format version written when the records hold tickets
+    private static final int CHUNK_RECORDS = 1 << 16;//number of records read or written at once
+
+    /*
+     * Writes a list of processes to a binary workload file in list order.
+     * Input: ArrayList of processes and the file to write (File)
+     * Return: none
+     */
+    public static void write(ArrayList<Process> list, File file) throws IOException {
+        String prefix = commonPrefix(list);//null if the IDs are not all prefix then number
+        boolean tickets = hasTickets(list);//true if the records need to hold tickets
+        int fields = tickets ? 4 : 3;//ints in each record
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            FileChannel channel = stream.getChannel();
+            byte[] prefixBytes = prefix == null ? new byte[0] : prefix.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(16 + prefixBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(tickets ? TICKETS_VERSION : VERSION).putInt(list.size()).putInt(prefix == null ? -1 : prefixBytes.length).put(prefixBytes);
+            header.flip();
+            writeFully(channel, header);
+
+            ByteBuffer records = ByteBuffer.allocate(CHUNK_RECORDS * fields * 4).order(ByteOrder.LITTLE_ENDIAN);
+            for(int i = 0; i < list.size(); i++) {
+                Process process = list.get(i);
+                int id = prefix == null ? i : Integer.parseInt(process.getProcessId().substring(prefix.length()));
+                records.putInt(id).putInt(process.getArrivalTime()).putInt(process.getExecTime());
+                if(tickets) {
+                    records.putInt(process.getTickets());
+                }
+                if(!records.hasRemaining()) {
+                    records.flip();
+                    writeFully(channel, records);
+                    records.clear();
+                }
+            }
+            records.flip();
+            writeFully(channel, records);
+
+            if(prefix == null) {//ID table
+                DataOutputStream ids = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+                for(int i = 0; i < list.size(); i++) {
+                    byte[] bytes = list.get(i).getProcessId().getBytes(StandardCharsets.UTF_8);
+                    ids.writeInt(Integer.reverseBytes(bytes.length));
+                    ids.write(bytes);
+                }
+                ids.flush();
+            }
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    /*
+     * Reads every process from a binary workload file, in the order they were written.
+     * Input: binary workload file (File)
+     * Return: ArrayList of processes
+     */
+    public static ArrayList<Process> readAll(File file) throws IOException {
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            FileChannel channel = stream.getChannel();
+            ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+            if(header.getInt() != MAGIC) {
+                throw new IOException("Not a binary workload file: " + file);
+            }
+            int version = header.getInt();
+            if(version != VERSION && version != TICKETS_VERSION) {
+                throw new IOException("Unsupported binary workload version " + version + ": " + file);
+            }
+            int count = header.getInt();
+            int prefixLength = header.getInt();
+            String prefix = null;
+            if(prefixLength >= 0) {
+                ByteBuffer prefixBytes = ByteBuffer.allocate(prefixLength);
+                readFully(channel, prefixBytes);
+                prefix = new String(prefixBytes.array(), StandardCharsets.UTF_8);
+            }
+
+            int[] ids = new int[count];
+            int[] arrivalTimes = new int[count];
+            int[] execSizes = new int[count];
+            int fields = version == TICKETS_VERSION ? 4 : 3;//ints in each record
+            int[] tickets = new int[count];
+            Arrays.fill(tickets, Process.DEFAULT_TICKETS);
+            ByteBuffer records = ByteBuffer.allocate(CHUNK_RECORDS * fields * 4).order(ByteOrder.LITTLE_ENDIAN);
+            int[] chunk = new int[CHUNK_RECORDS * fields];
+            for(int done = 0; done < count; ) {
+                int size = Math.min(CHUNK_RECORDS, count - done);
+                records.clear().limit(size * fields * 4);
+                readFully(channel, records);
+                records.flip();
+                IntBuffer ints = records.asIntBuffer();
+                ints.get(chunk, 0, size * fields);
+                for(int i = 0; i < size; i++) {
+                    ids[done + i] = chunk[fields * i];
+                    arrivalTimes[done + i] = chunk[fields * i + 1];
+                    execSizes[done + i] = chunk[fields * i + 2];
+                    if(fields == 4) {
+                        tickets[done + i] = chunk[fields * i + 3];
+                    }
+                }
+                done += size;
+            }
+
+            String[] idTable = null;
+            if(prefix == null) {
+                DataInputStream table = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+                idTable = new String[count];
+                byte[] bytes = new byte[64];
+                for(int i = 0; i < count; i++) {
+                    int length = Integer.reverseBytes(table.readInt());
+                    if(length > bytes.length) {
+                        bytes = new byte[length];
+                    }
+                    table.readFully(bytes, 0, length);
+                    idTable[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+                }
+            }
+
+            ArrayList<Process> list = new ArrayList<Process>(count);
+            for(int i = 0; i < count; i++) {
+                String processId = prefix == null ? idTable[ids[i]] : prefix + ids[i];
+                list.add(new Process(processId, arrivalTimes[i], execSizes[i], tickets[i]));
+            }
+            return list;
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    /*
+     * Return: true if the file starts with the binary workload magic number
+     */
+    public static boolean isBinary(File file) throws IOException {
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            FileChannel channel = stream.getChannel();
+            while(magic.hasRemaining() && channel.read(magic) > 0) {
+                //keep reading until 4 bytes have been read or the file ends
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    /*
+     * Return: true if any process does not have the default number of tickets
+     */
+    private static boolean hasTickets(ArrayList<Process> list) {
+        for(int i = 0; i < list.size(); i++) {
+            if(list.get(i).getTickets() != Process.DEFAULT_TICKETS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Finds the prefix shared by every process ID when every ID is that prefix followed by a number that prints back the same way, e.g. p1, p2.
+     * Return: the prefix (String), or null if the IDs do not all have that form
+     */
+    private static String commonPrefix(ArrayList<Process> list) {
+        if(list.size() == 0) {
+            return "";
+        }
+        String first = list.get(0).getProcessId();
+        int digits = first.length();
+        while(digits > 0 && first.charAt(digits - 1) >= '0' && first.charAt(digits - 1) <= '9') {
+            digits--;
+        }
+        String prefix = first.substring(0, digits);
+        for(int i = 0; i < list.size(); i++) {
+            String processId = list.get(i).getProcessId();
+            if(!processId.startsWith(prefix) || !isCanonicalNumber(processId, prefix.length())) {
+                return null;
+            }
+        }
+        return prefix;
+    }
+
+    /*
+     * Return: true if the text from start is a non negative int with no leading zeros, so it prints back to the same text
+     */
+    private static boolean isCanonicalNumber(String text, int start) {
+        int length = text.length() - start;
+        if(length < 1 || length > 10 || (length > 1 && text.charAt(start) == '0')) {
+            return false;
+        }
+        for(int i = start; i < text.length(); i++) {
+            if(text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return Long.parseLong(text.substring(start)) <= Integer.MAX_VALUE;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer) < 0) {
+                throw new EOFException("Binary workload file is too short");
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Saves the whole state of an event driven scheduler to a file every so often while it runs, so that a long run can be resumed
+ * from the last checkpoint after the JVM stops, and give the same output as a run that was never stopped.
+ *
+ * Kernel and MultiCore ask isDue() once each time round their loop, which only looks at the clock every CHECK_EVENTS events,
+ * and save themselves with save() when it returns true and once more when they finish. The state saved is the JobTable's result columns,
+ * with where admission has got to in the arrivals, the clock, the run queues with the jobs waiting in them in order, the JobStats
+ * and the DispatchSink. The input columns of the JobTable are not saved, as they are read from the data file again when the run is resumed,
+ * so a checkpoint also holds the options of the run and a fingerprint of the jobs, and load() refuses a checkpoint that does not match.
+ *
+ * The file starts with a little endian int magic number and format version, followed by the state in Java serialization, in which arrays
+ * of numbers are written as they are. Every class saved declares its serialVersionUID, which is changed with VERSION whenever its fields change,
+ * so a checkpoint of an older simulator is refused as a different version instead of being read wrongly. The trace is not saved in the checkpoint:
+ * a text or binary trace is written to a log file as the scheduler runs, and the log is cut back to its length at the checkpoint when the run
+ * is resumed, so each checkpoint takes the same time however long the trace has grown. Each checkpoint is written to a temporary file
+ * which then replaces the last one, so the last complete checkpoint is kept if the JVM stops while one is being written.
+ *
+ * An append run saves one checkpoint of a scheduler on an online JobTable, once it has admitted every process in the data file, which holds
+ * the jobs still in the system. The checkpoint also holds where in the data file the processes read end, with a SHA-256 digest of the TAIL
+ * bytes before that, so that the next append run can check the file has only been added to and read it from there. Its checkpoints are deferred:
+ * each one is left in the temporary file until commit() moves it over the last one, so a run that fails leaves every algorithm where it was.
+ */
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+public class Checkpoint {
+    public static final int MAGIC = 0x4B484353;//"SCHK" in little endian
+    public static final int VERSION = 6;//format version written after the magic number, changed whenever the header or the serialized form of a saved class changes
+    public static final int DEFAULT_INTERVAL = 60;//seconds between checkpoints
+    private static final int CHECK_EVENTS = 4096;//events between looks at the clock
+    private static final int TAIL = 4096;//bytes of the data file before the end of the processes read that must not have changed
+
+    private File file;//where the checkpoint is written
+    private String options;//the options of the run, which a resumed run must have too
+    private long interval;//nanoseconds between checkpoints
+    private long nextSave;//System.nanoTime() the next checkpoint is due at
+    private int countdown;//events left before the clock is looked at again
+    private File log;//text or binary trace log, null if the trace is not written to a file
+    private File dataFile;//data file the processes are read from as the scheduler runs, null if they were all read first
+    private DataFileParser parser;//parser reading the processes from dataFile, null if they were all read first
+    private long position;//position in dataFile after the processes read, when the checkpoint was saved
+    private boolean deferred;//true if each checkpoint is left in the temporary file until commit()
+    private JobTable jobs;//table read by load()
+    private DispatchSink sink;//sink read by load()
+
+    /*
+     * Input: file to write the checkpoint to (File), the options of the run (String) and the time between checkpoints in seconds (int),
+     *        at least 1
+     */
+    public Checkpoint(File file, String options, int interval) {
+        this.file = file;
+        this.options = options;
+        this.interval = interval * 1000000000L;
+        nextSave = System.nanoTime() + this.interval;
+        countdown = CHECK_EVENTS;
+    }
+
+    /*
+     * Saves the length of a trace log with each checkpoint, and cuts the log back to it when one is loaded.
+     * Input: the log file the TextSink or BinarySink writes to (File)
+     * Return: none
+     */
+    public void setLog(File log) {
+        this.log = log;
+    }
+
+    /*
+     * Saves where the processes read from a data file end with each checkpoint, and checks the data file still has the same bytes before
+     * that position when one is loaded. getPosition() then gives the position to read the data file from.
+     * Input: data file (File) and the DataFileParser reading it as the scheduler runs, null when loading
+     * Return: none
+     */
+    public void setDataFile(File dataFile, DataFileParser parser) {
+        this.dataFile = dataFile;
+        this.parser = parser;
+    }
+
+    /*
+     * Leaves each checkpoint in a temporary file until commit() is called, instead of replacing the last checkpoint as soon as it is written.
+     * Input: true to defer checkpoints
+     * Return: none
+     */
+    public void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    /*
+     * Called by a scheduler for each event. Only looks at the clock every CHECK_EVENTS calls.
+     * Return: true if a checkpoint is due
+     */
+    public boolean isDue() {
+        if(--countdown > 0) {
+            return false;
+        }
+        countdown = CHECK_EVENTS;
+        return System.nanoTime() - nextSave >= 0;
+    }
+
+    /*
+     * Writes a checkpoint of a scheduler, which must be between events. The sink is flushed first.
+     * Input: the scheduler's JobTable and DispatchSink, and the scheduler (Object), which holds both
+     * Return: none
+     * Throws: UncheckedIOException if the checkpoint cannot be written
+     */
+    public void save(JobTable jobs, DispatchSink sink, Object scheduler) {
+        sink.flush();
+        File temporary = temporaryFile();
+        try {
+            FileOutputStream stream = new FileOutputStream(temporary);
+            try {
+                writeHeader(stream);
+                ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(stream, TextSink.BUFFER_SIZE));
+                out.writeUTF(options);
+                out.writeInt(jobs.size());
+                out.writeLong(jobs.fingerprint());
+                out.writeLong(log != null ? log.length() : 0);
+                if(parser != null) {
+                    out.writeLong(parser.getPosition());
+                    out.write(tailDigest(dataFile, parser.getPosition()));
+                }
+                else {
+                    out.writeLong(-1);
+                }
+                out.writeObject(jobs);
+                out.writeObject(sink);
+                out.writeObject(scheduler);
+                out.flush();
+                stream.getFD().sync();//the checkpoint is on disk before it replaces the last one
+            }
+            finally {
+                stream.close();
+            }
+            if(!deferred) {
+                commit();
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        nextSave = System.nanoTime() + interval;
+    }
+
+    /*
+     * Replaces the last checkpoint with the one last written, if it has not replaced it already.
+     * Return: none
+     * Throws: IOException if the checkpoint cannot be moved into place
+     */
+    public void commit() throws IOException {
+        File temporary = temporaryFile();
+        if(temporary.isFile()) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /*
+     * Return: true if there is a checkpoint to load
+     */
+    public boolean exists() {
+        return file.isFile();
+    }
+
+    /*
+     * Reads the checkpoint, giving its JobTable the input columns of the jobs read again and cutting the trace log back to where it was.
+     * getJobs() and getSink() then give the table and sink the scheduler uses, which it must be given again with setOutput() for
+     * a TextSink or BinarySink.
+     * Input: JobTable of the jobs, read from the same data file as the run that was checkpointed, or null for the online table of an append run,
+     *        which is saved with its jobs
+     * Return: the scheduler (Object), Kernel or MultiCore, ready for start() to carry on from the checkpoint
+     * Throws: IOException if the checkpoint cannot be read or is not from a run of the same jobs with the same options, or the data file
+     *         has changed before the end of the processes read
+     */
+    public Object load(JobTable input) throws IOException {
+        InputStream stream = new BufferedInputStream(new FileInputStream(file), TextSink.BUFFER_SIZE);
+        try {
+            DataInputStream header = new DataInputStream(stream);
+            if(Integer.reverseBytes(header.readInt()) != MAGIC) {
+                throw new IOException("Not a checkpoint: " + file);
+            }
+            int version = Integer.reverseBytes(header.readInt());
+            if(version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + ": " + file);
+            }
+            ObjectInputStream in = new ObjectInputStream(stream);
+            String saved = in.readUTF();
+            if(!saved.equals(options)) {
+                throw new IOException("Checkpoint " + file + " is of a run with different options: " + saved);
+            }
+            int size = in.readInt();
+            long fingerprint = in.readLong();
+            if(input != null && (size != input.size() || fingerprint != input.fingerprint())) {
+                throw new IOException("Checkpoint " + file + " is of a run of different jobs");
+            }
+            long traceLength = in.readLong();
+            if(log != null) {
+                RandomAccessFile logFile = new RandomAccessFile(log, "rw");
+                try {
+                    if(logFile.length() < traceLength) {
+                        throw new IOException("Trace log " + log + " is shorter than at the checkpoint");
+                    }
+                    logFile.setLength(traceLength);
+                }
+                finally {
+                    logFile.close();
+                }
+            }
+            position = in.readLong();
+            if(position >= 0) {
+                byte[] digest = new byte[32];
+                in.readFully(digest);
+                if(dataFile == null || dataFile.length() < position || !Arrays.equals(digest, tailDigest(dataFile, position))) {
+                    throw new IOException("The data file has changed before the end of the processes read by the run saved in " + file);
+                }
+            }
+            jobs = (JobTable) in.readObject();
+            if(input != null) {
+                jobs.setInput(input);
+            }
+            sink = (DispatchSink) in.readObject();
+            return in.readObject();
+        }
+        catch (ClassNotFoundException e) {
+            throw new IOException("Checkpoint " + file + " holds an unknown class", e);
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    /*
+     * Return: the JobTable read by load()
+     */
+    public JobTable getJobs() {
+        return jobs;
+    }
+
+    /*
+     * Return: the DispatchSink read by load()
+     */
+    public DispatchSink getSink() {
+        return sink;
+    }
+
+    /*
+     * Return: the position in the data file after the processes read by the run of the checkpoint load() read (long)
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /*
+     * Return: the file each checkpoint is written to before it replaces the last one (File)
+     */
+    private File temporaryFile() {
+        return new File(file.getPath() + ".tmp");
+    }
+
+    /*
+     * Return: the SHA-256 digest (byte[]) of the TAIL bytes of a file before a position, or of every byte before it if there are fewer
+     */
+    private static byte[] tailDigest(File file, long position) throws IOException {
+        byte[] tail = new byte[(int) Math.min(TAIL, position)];
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            in.seek(position - tail.length);
+            in.readFully(tail);
+        }
+        finally {
+            in.close();
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(tail);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);//every Java platform has SHA-256
+        }
+    }
+
+    private static void writeHeader(OutputStream stream) throws IOException {
+        byte[] header = new byte[8];
+        for(int i = 0; i < 4; i++) {
+            header[i] = (byte) (MAGIC >>> (8 * i));
+            header[4 + i] = (byte) (VERSION >>> (8 * i));
+        }
+        stream.write(header);
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Binary heap of core numbers, each with a long key, that can remove any core and not just the top one.
+ * The position of each core in the heap is kept, so MultiCore can find the core running the job with the most time left under SRT
+ * with a global queue, and can take a core out of the heap when its job is preempted, each in O(log cores).
+ */
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class CoreHeap implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private int[] heap;//core numbers stored as a binary heap
+    private int[] positions;//position of each core in heap, -1 if the core is not in the heap
+    private long[] keys;//key of each core
+    private int size;//number of cores in the heap
+    private boolean largestFirst;//true if the top of the heap is the core with the largest key
+
+    /*
+     * Input: number of cores (int) and true if the largest key should be at the top, false for the smallest
+     */
+    public CoreHeap(int cores, boolean largestFirst) {
+        heap = new int[cores];
+        positions = new int[cores];
+        Arrays.fill(positions, -1);
+        keys = new long[cores];
+        size = 0;
+        this.largestFirst = largestFirst;
+    }
+
+    /*
+     * Add a core that is not in the heap.
+     * Input: core (int) and its key (long)
+     * Return: none
+     */
+    public void add(int core, long key) {
+        keys[core] = key;
+        positions[core] = size;
+        heap[size++] = core;
+        up(positions[core]);
+    }
+
+    /*
+     * Take a core out of the heap if it is in it.
+     * Input: core (int)
+     * Return: none
+     */
+    public void remove(int core) {
+        int position = positions[core];
+        if(position < 0) {
+            return;
+        }
+        positions[core] = -1;
+        int last = heap[--size];
+        if(position == size) {
+            return;
+        }
+        heap[position] = last;
+        positions[last] = position;
+        up(position);
+        down(positions[last]);
+    }
+
+    /*
+     * Return: the core at the top of the heap (int). The heap must not be empty.
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /*
+     * Return: true if there are no cores in the heap
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /*
+     * Return: true if core a belongs above core b
+     */
+    private boolean above(int a, int b) {
+        return largestFirst ? keys[a] > keys[b] : keys[a] < keys[b];
+    }
+
+    /*
+     * Move the core at a position towards the top until the core above it belongs above it.
+     */
+    private void up(int position) {
+        int core = heap[position];
+        while(position > 0) {
+            int parent = (position - 1) >>> 1;
+            if(!above(core, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = core;
+        positions[core] = position;
+    }
+
+    /*
+     * Move the core at a position towards the bottom until it belongs above both cores below it.
+     */
+    private void down(int position) {
+        int core = heap[position];
+        int half = size >>> 1;
+        while(position < half) {
+            int child = 2 * position + 1;
+            if(child + 1 < size && above(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if(!above(heap[child], core)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = core;
+        positions[core] = position;
+    }
+}
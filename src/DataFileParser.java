@@ -0,0 +1,250 @@
+/**
+ * Reads processes from a datafile in the BEGIN/ID/Arrive/ExecSize/END/EOF format.
+ * A record may also have a Tickets: or Weight: line, the process's share of the processor under lottery and stride scheduling (default 1).
+ * The file is memory mapped and read a byte at a time in place, so there is no regex and no String for each line.
+ * The only String created for a process is its ID, decoded as UTF-8.
+ * Files larger than the mapping window are mapped one window at a time.
+ *
+ * The parser is a ProcessSource, so a scheduler can take processes from the file as it needs them instead of reading the whole file first.
+ * readAll() reads every process into an ArrayList.
+ * A parser can also start part way through a file, at the position after the last record an earlier parser read, to read only the records
+ * added to the file since.
+ */
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+public class DataFileParser implements ProcessSource, Closeable {
+    private static final long WINDOW_SIZE = 1L << 28;//number of bytes of the file mapped at once
+    private static final int MAX_ID_LENGTH = 256;//longest process ID that can be read, in bytes of UTF-8
+
+    private RandomAccessFile file;//the open datafile
+    private FileChannel channel;//used to map the datafile into memory
+    private long fileSize;//size of the datafile in bytes
+    private MappedByteBuffer window;//the part of the datafile that is currently mapped
+    private long windowStart;//position in the file of the first byte of window
+    private int lineStart;//position in window of the first byte of the current line
+    private int lineEnd;//position in window of the end of the current line, not including the line separator
+    private int nextLine;//position in window of the first byte after the current line separator
+    private byte[] idBytes;//reused to copy a process ID out of the mapped file
+    private boolean finished;//true once EOF or the end of the file has been read
+    private long recordEnd;//position in the file of the first byte after the last record read
+
+    /*
+     * Opens and maps the datafile.
+     * Input: datafile (File)
+     * Throws: FileNotFoundException if the file cannot be opened, IOException if it cannot be mapped
+     */
+    public DataFileParser(File dataFile) throws IOException {
+        this(dataFile, 0);
+    }
+
+    /*
+     * Opens the datafile and maps it from a position, which must be at the start of a line.
+     * Input: datafile (File) and the position (long) to start reading from, no more than the length of the file
+     * Throws: FileNotFoundException if the file cannot be opened, IOException if it cannot be mapped or is shorter than the position
+     */
+    public DataFileParser(File dataFile, long position) throws IOException {
+        file = new RandomAccessFile(dataFile, "r");
+        channel = file.getChannel();
+        fileSize = channel.size();
+        if(position > fileSize) {
+            file.close();
+            throw new IOException("Datafile " + dataFile + " is shorter than " + position + " bytes");
+        }
+        idBytes = new byte[MAX_ID_LENGTH];
+        finished = false;
+        recordEnd = position;
+        map(position);
+    }
+
+    /*
+     * Reads every process in a datafile into a list, in the order they are in the file.
+     * Input: datafile (File)
+     * Return: ArrayList of processes
+     */
+    public static ArrayList<Process> readAll(File dataFile) throws IOException {
+        ArrayList<Process> list = new ArrayList<Process>();
+        DataFileParser parser = new DataFileParser(dataFile);
+        try {
+            Process process;
+            while((process = parser.next()) != null) {
+                list.add(process);
+            }
+        }
+        finally {
+            parser.close();
+        }
+        return list;
+    }
+
+    /*
+     * Reads the next ID/Arrive/ExecSize/END record, with its Tickets or Weight line if it has one. Any other line, such as BEGIN or a blank line, is ignored.
+     * As with the original Scanner parser, every digit on the Arrive and ExecSize lines makes up the number.
+     * Return: the next process (Process) in the file, or null at EOF
+     * Throws: UncheckedIOException if the next part of the file cannot be mapped, NumberFormatException if a number is missing or too large,
+     *         a record has no Arrive or ExecSize line or the tickets are 0, IllegalStateException if an ID is longer than MAX_ID_LENGTH bytes
+     */
+    public Process next() {
+        String processId = null;//ID of the record being read
+        int arrivalTime = 0;//arrival time of the record being read
+        int execSize = 0;//exec size of the record being read
+        int tickets = Process.DEFAULT_TICKETS;//tickets of the record being read
+        boolean arrives = false;//the record has an Arrive line
+        boolean sized = false;//the record has an ExecSize line
+        while(!finished && readLine()) {
+            if(lineStartsWith("ID:")) {
+                processId = readId();
+            }
+            else if(lineStartsWith("Arrive:")) {
+                arrivalTime = readNumber();
+                arrives = true;
+            }
+            else if(lineStartsWith("ExecSize:")) {
+                execSize = readNumber();
+                sized = true;
+            }
+            else if(lineStartsWith("Tickets:") || lineStartsWith("Weight:")) {
+                tickets = readNumber();
+                if(tickets < 1) {
+                    throw new NumberFormatException("Tickets must be at least 1 for process " + processId);
+                }
+            }
+            else if(lineStartsWith("END")) {
+                if(processId != null) {
+                    if(!arrives || !sized) {
+                        throw new NumberFormatException("No " + (arrives ? "ExecSize" : "Arrive") + " number for process " + processId);
+                    }
+                    recordEnd = windowStart + nextLine;
+                    return new Process(processId, arrivalTime, execSize, tickets);
+                }
+            }
+            else if(lineStartsWith("EOF")) {
+                finished = true;
+            }
+        }
+        finished = true;
+        return null;
+    }
+
+    /*
+     * Return: the position in the file of the first byte after the END line of the last record read (long),
+     *         or the position the parser started from if it has not read a record
+     */
+    public long getPosition() {
+        return recordEnd;
+    }
+
+    /*
+     * Closes the datafile.
+     */
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+        file.close();
+    }
+
+    /*
+     * Moves lineStart, lineEnd and nextLine on to the next line, mapping the next window of the file if the line is not all in the current window.
+     * Return: true if there was another line, false at the end of the file
+     */
+    private boolean readLine() {
+        if(windowStart + nextLine >= fileSize) {
+            return false;
+        }
+        int limit = window.limit();
+        int end = findNewline(nextLine, limit);
+        if(end == limit && windowStart + limit < fileSize) {//line carries on past the end of the window
+            map(windowStart + nextLine);
+            limit = window.limit();
+            end = findNewline(0, limit);
+        }
+        lineStart = nextLine;
+        nextLine = end < limit ? end + 1 : end;
+        lineEnd = end;
+        if(lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {//Windows line separator
+            lineEnd--;
+        }
+        return true;
+    }
+
+    /*
+     * Return: the position of the next '\n' in window from position from, or limit if there is none
+     */
+    private int findNewline(int from, int limit) {
+        for(int i = from; i < limit; i++) {
+            if(window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /*
+     * Return: true if the current line starts with the given ASCII prefix
+     */
+    private boolean lineStartsWith(String prefix) {
+        if(lineEnd - lineStart < prefix.length()) {
+            return false;
+        }
+        for(int i = 0; i < prefix.length(); i++) {
+            if(window.get(lineStart + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Return: the process ID on the current "ID: p1" line, which is everything after "ID: "
+     */
+    private String readId() {
+        int start = Math.min(lineStart + 4, lineEnd);
+        int length = lineEnd - start;
+        if(length > idBytes.length) {
+            throw new IllegalStateException("Process ID longer than " + MAX_ID_LENGTH + " bytes");
+        }
+        for(int i = 0; i < length; i++) {
+            idBytes[i] = window.get(start + i);
+        }
+        return new String(idBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Return: the number made from every digit on the current line (int)
+     */
+    private int readNumber() {
+        long value = 0;
+        boolean digits = false;
+        for(int i = lineStart; i < lineEnd; i++) {
+            byte b = window.get(i);
+            if(b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits = true;
+                if(value > Integer.MAX_VALUE) {
+                    throw new NumberFormatException("Number too large at byte " + (windowStart + lineStart));
+                }
+            }
+        }
+        if(!digits) {
+            throw new NumberFormatException("No number at byte " + (windowStart + lineStart));
+        }
+        return (int) value;
+    }
+
+    /*
+     * Map the window of the file that starts at the given position.
+     */
+    private void map(long position) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, fileSize - position));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        windowStart = position;
+        nextLine = 0;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Writes processes to a datafile in the BEGIN/ID/Arrive/ExecSize/END/EOF format that DataFileParser reads.
+ * A Tickets line is only written for a process that does not have the default number of tickets.
+ * Processes are taken from a ProcessSource and written one at a time through a buffer, so a workload of any size can be written
+ * without holding it in memory.
+ */
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+public class DataFileWriter {
+    private static final int BUFFER_SIZE = 1 << 16;//bytes buffered before each write to the file
+
+    /*
+     * Writes every process from a source to a datafile, in the order the source gives them.
+     * Input: source of processes (ProcessSource) and the datafile to write (File)
+     * Return: the number of processes written (long)
+     */
+    public static long write(ProcessSource source, File file) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+        try {
+            writer.write("BEGIN\n\n");
+            Process process;
+            while((process = source.next()) != null) {
+                writer.write("ID: ");
+                writer.write(process.getProcessId());
+                writer.write("\nArrive: ");
+                writer.write(Integer.toString(process.getArrivalTime()));
+                writer.write("\nExecSize: ");
+                writer.write(Integer.toString(process.getExecTime()));
+                if(process.getTickets() != Process.DEFAULT_TICKETS) {
+                    writer.write("\nTickets: ");
+                    writer.write(Integer.toString(process.getTickets()));
+                }
+                writer.write("\nEND\n\n");
+                count++;
+            }
+            writer.write("EOF\n");
+        }
+        finally {
+            writer.close();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Reads processes from a stream in the same BEGIN/ID/Arrive/ExecSize/END/EOF format as DataFileParser, for input that cannot be memory mapped
+ * such as stdin or a named pipe. Each record is given out as soon as its END line has been read, so processes can be taken while the
+ * stream is still being written.
+ */
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+public class DataStreamParser implements ProcessSource, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;//bytes read from the stream at once
+    private static final int MAX_LINE_LENGTH = 4096;//longest line that can be read
+
+    private InputStream in;//the stream being read
+    private byte[] buffer;//bytes read from the stream
+    private int position;//position in buffer of the next byte to read
+    private int limit;//number of bytes in buffer
+    private byte[] line;//the current line, without the line separator
+    private int lineLength;//number of bytes in line
+    private long lineNumber;//number of the current line, for error messages
+    private boolean finished;//true once EOF or the end of the stream has been read
+
+    /*
+     * Input: the stream to read (InputStream)
+     */
+    public DataStreamParser(InputStream in) {
+        this.in = in;
+        buffer = new byte[BUFFER_SIZE];
+        position = 0;
+        limit = 0;
+        line = new byte[MAX_LINE_LENGTH];
+        lineNumber = 0;
+        finished = false;
+    }
+
+    /*
+     * Reads the next ID/Arrive/ExecSize/END record, in the same way as DataFileParser.next().
+     * Blocks until the record has been written to the stream.
+     * Return: the next process (Process) in the stream, or null at EOF
+     * Throws: UncheckedIOException if the stream cannot be read, NumberFormatException if a number is missing or too large,
+     *         a record has no Arrive or ExecSize line or the tickets are 0
+     */
+    public Process next() {
+        String processId = null;//ID of the record being read
+        int arrivalTime = 0;//arrival time of the record being read
+        int execSize = 0;//exec size of the record being read
+        int tickets = Process.DEFAULT_TICKETS;//tickets of the record being read
+        boolean arrives = false;//the record has an Arrive line
+        boolean sized = false;//the record has an ExecSize line
+        while(!finished && readLine()) {
+            if(lineStartsWith("ID:")) {
+                int start = Math.min(4, lineLength);
+                processId = new String(line, start, lineLength - start, StandardCharsets.UTF_8);
+            }
+            else if(lineStartsWith("Arrive:")) {
+                arrivalTime = readNumber();
+                arrives = true;
+            }
+            else if(lineStartsWith("ExecSize:")) {
+                execSize = readNumber();
+                sized = true;
+            }
+            else if(lineStartsWith("Tickets:") || lineStartsWith("Weight:")) {
+                tickets = readNumber();
+                if(tickets < 1) {
+                    throw new NumberFormatException("Tickets must be at least 1 for process " + processId);
+                }
+            }
+            else if(lineStartsWith("END")) {
+                if(processId != null) {
+                    if(!arrives || !sized) {
+                        throw new NumberFormatException("No " + (arrives ? "ExecSize" : "Arrive") + " number for process " + processId);
+                    }
+                    return new Process(processId, arrivalTime, execSize, tickets);
+                }
+            }
+            else if(lineStartsWith("EOF")) {
+                finished = true;
+            }
+        }
+        finished = true;
+        return null;
+    }
+
+    /*
+     * Return: true if more of the stream can be read without waiting for it to be written
+     */
+    public boolean ready() {
+        try {
+            return position < limit || in.available() > 0;
+        }
+        catch (IOException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Closes the stream.
+     */
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /*
+     * Reads the next line into line, dropping the line separator.
+     * Return: true if there was another line, false at the end of the stream
+     */
+    private boolean readLine() {
+        lineLength = 0;
+        boolean read = false;//true once any byte of the line has been read
+        while(true) {
+            if(position == limit && !fill()) {
+                break;
+            }
+            byte b = buffer[position++];
+            read = true;
+            if(b == '\n') {
+                break;
+            }
+            if(lineLength == line.length) {
+                throw new IllegalStateException("Line " + (lineNumber + 1) + " is longer than " + MAX_LINE_LENGTH + " bytes");
+            }
+            line[lineLength++] = b;
+        }
+        if(lineLength > 0 && line[lineLength - 1] == '\r') {//Windows line separator
+            lineLength--;
+        }
+        lineNumber++;
+        return read;
+    }
+
+    /*
+     * Reads more of the stream into buffer, waiting for it to be written if needed.
+     * Return: false at the end of the stream
+     */
+    private boolean fill() {
+        try {
+            int count;
+            do {
+                count = in.read(buffer, 0, buffer.length);
+            } while(count == 0);
+            position = 0;
+            limit = Math.max(count, 0);
+            return count > 0;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Return: true if the current line starts with the given ASCII prefix
+     */
+    private boolean lineStartsWith(String prefix) {
+        if(lineLength < prefix.length()) {
+            return false;
+        }
+        for(int i = 0; i < prefix.length(); i++) {
+            if(line[i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Return: the number made from every digit on the current line (int)
+     */
+    private int readNumber() {
+        long value = 0;
+        boolean digits = false;
+        for(int i = 0; i < lineLength; i++) {
+            byte b = line[i];
+            if(b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits = true;
+                if(value > Integer.MAX_VALUE) {
+                    throw new NumberFormatException("Number too large on line " + lineNumber);
+                }
+            }
+        }
+        if(!digits) {
+            throw new NumberFormatException("No number on line " + lineNumber);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Receives the time each process is sent to the processor from a scheduler.
+ * The schedulers report every dispatch to the sink they are given instead of printing it, so the trace can be written as text,
+ * logged in binary, kept in memory or thrown away, and a run that does not need the trace does not pay for it.
+ * Implementations: DiscardSink, TextSink, BinarySink and FlightRecorder.
+ */
+public interface DispatchSink {
+    /*
+     * Called each time a process is sent to the processor, in time order.
+     * Input: time the process is sent to the processor (int) and the process ID (String)
+     */
+    void dispatch(int time, String processId);
+
+    /*
+     * Called by a scheduler once it has finished, so that anything buffered is written out.
+     */
+    void flush();
+}
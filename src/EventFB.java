@@ -0,0 +1,38 @@
+/**
+ * Feedback (FB) (constant) scheduler with any number of priority levels.
+ * This is the Kernel with a FeedbackRunQueue: each priority level is a RingQueue of JobTable rows, and a bitmask records which levels have
+ * jobs waiting, so the highest priority waiting job is found with a single Long.numberOfTrailingZeros call rather than a search through
+ * every level. Up to 64 levels are supported.
+ * As in FB, a new job enters priority 0, is moved down one level after each time quantum and the lowest level is round-robin.
+ * With 6 levels the dispatch order, wait and turnaround times are the same as the FB class.
+ */
+public class EventFB {
+    public static final int MAX_LEVELS = 64;//one bit of the non empty mask for each level
+
+    private Kernel kernel;//runs the jobs
+
+    /*
+     * Same as the constructor below, with the default time quantum.
+     */
+    public EventFB(JobTable jobs, int levels, DispatchSink sink) {
+        this(jobs, levels, Processor.DEFAULT_TIME_QUANTUM, sink);
+    }
+
+    /*
+     * Input: JobTable of the jobs to run, which admits them in arrival time order, number of priority levels (int) from 1 to MAX_LEVELS,
+     * time quantum (int) and the DispatchSink to report dispatches to. The results are recorded in the table.
+     */
+    public EventFB(JobTable jobs, int levels, int timeQuantum, DispatchSink sink) {
+        kernel = new Kernel(jobs, new FeedbackRunQueue(jobs, levels, new Processor(timeQuantum).getTimeQuantum()), sink);
+    }
+
+    /*
+     * Send the highest priority job to the processor, then move it down a priority level if it still has execution time.
+     * Report the time where each process is sent to the processor to the sink. If the same process is sent twice in a row (or more) only the first time will be reported.
+     * Input: none
+     * Output: the JobTable with every job's results
+     */
+    public JobTable start() {
+        return kernel.start();
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * First-Come-First-Served (FCFS) scheduler that runs on a JobTable.
+ * Each job is run until it has no more execution time, in table order, which must be arrival time order.
+ * This is the Kernel with a FifoRunQueue that has no time quantum. The results are the same as the FCFS class.
+ */
+public class EventFCFS {
+    private Kernel kernel;//runs the jobs
+
+    /*
+     * Same as the constructor below, with dispatches not reported anywhere.
+     */
+    public EventFCFS(JobTable jobs) {
+        this(jobs, DiscardSink.INSTANCE);
+    }
+
+    /*
+     * Input: JobTable of the jobs to run, which admits them in arrival time order, and the DispatchSink to report dispatches to. The results are recorded in this table.
+     */
+    public EventFCFS(JobTable jobs, DispatchSink sink) {
+        kernel = new Kernel(jobs, new FifoRunQueue(jobs, Integer.MAX_VALUE), sink);
+    }
+
+    /*
+     * Run each job in turn until it has no more execution time, reporting the time each job is sent to the processor to the sink.
+     * Input: none
+     * Return: the JobTable with every job's results
+     */
+    public JobTable start() {
+        return kernel.start();
+    }
+}
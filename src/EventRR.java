@@ -0,0 +1,34 @@
+/**
+ * Round Robin (RR) scheduler that never shifts a list.
+ * This is the Kernel with a FifoRunQueue, a RingQueue of JobTable rows, and arriving jobs are found with a cursor into the arrival ordered
+ * table rather than removing the first element of a list. Each dispatch and each arrival is therefore constant time and allocates nothing.
+ * The dispatch order, wait and turnaround times are the same as the RR class.
+ */
+public class EventRR {
+    private Kernel kernel;//runs the jobs
+
+    /*
+     * Same as the constructor below, with the default time quantum.
+     */
+    public EventRR(JobTable jobs, DispatchSink sink) {
+        this(jobs, Processor.DEFAULT_TIME_QUANTUM, sink);
+    }
+
+    /*
+     * Input: JobTable of the jobs to run, which admits them in arrival time order, time quantum (int) and the DispatchSink to report dispatches to.
+     * The results are recorded in the table.
+     */
+    public EventRR(JobTable jobs, int timeQuantum, DispatchSink sink) {
+        kernel = new Kernel(jobs, new FifoRunQueue(jobs, new Processor(timeQuantum).getTimeQuantum()), sink);
+    }
+
+    /*
+     * Send every job to the processor until all execution time reaches 0
+     * Report the time where each process is sent to the processor to the sink. If the same process is sent twice in a row (or more) only the first time will be reported.
+     * Input: none
+     * Output: the JobTable with every job's results
+     */
+    public JobTable start() {
+        return kernel.start();
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Event driven version of the Shortest Remaining Time (SRT) scheduler.
+ * Rather than moving the timer forward 1 execution at a time and re-sorting the ready queue every time, a scheduling decision is only made
+ * when a process arrives or when the running process completes. Between those points the running process keeps the lowest remaining time
+ * because it is the only process whose remaining time changes.
+ * This is the Kernel with a ShortestRemainingRunQueue, a binary heap of JobTable rows ordered by remaining time and then by process id,
+ * which is the same order as Process.execIDTimeComparator(). The dispatch order, wait and turnaround times are the same as the SRT class.
+ */
+public class EventSRT {
+    private Kernel kernel;//runs the jobs
+
+    /*
+     * Input: JobTable of the jobs to run, which admits them in arrival time order, and the DispatchSink to report dispatches to. The results are recorded in the table.
+     */
+    public EventSRT(JobTable jobs, DispatchSink sink) {
+        kernel = new Kernel(jobs, new ShortestRemainingRunQueue(jobs), sink);
+    }
+
+    /*
+     * Run every job to completion, only stopping the running job when a new job arrives or when it finishes.
+     * Report the time where each process is sent to the processor to the sink. If the same process is chosen again after an arrival only the first time will be reported.
+     * Input: none
+     * Output: the JobTable with every job's results
+     */
+    public JobTable start() {
+        return kernel.start();
+    }
+}
@@ -5,7 +5,7 @@
  * For the Feedback (FB) (constant) policy, I use a set of queues, one for each priority level and also a main queue that stores each priority queue in 1 queue.
  * When a process enters the system it enters the high priority queue which is priority queue 0.
  * The process is executed for a constant amount of time and then is moved down a priority level.
- * The lowest priority level in this program is priority 5.
+ * The lowest priority level is the last of the levels, priority 5 unless another number of levels is given.
  * Within each queue, an FCFS mechanism is used; except for the lowest priority queue, which is round-robin.
  */
 import java.util.*;
@@ -13,50 +13,54 @@ public class FB {
     private Processor newProcessor;//used to pass a process to the processor which provides execution time to the process
     private ArrayList<ArrayList<Process>> allPriorities;//stores all priority lists into one arraylist
     private ArrayList<Process> priority0;//store all processes at priority0 into this list
-    private ArrayList<Process> priority1;//store all processes at priority1 into this list
-    private ArrayList<Process> priority2;//store all processes at priority2 into this list
-    private ArrayList<Process> priority3;//store all processes at priority3 into this list
-    private ArrayList<Process> priority4;//store all processes at priority4 into this list
-    private ArrayList<Process> priority5;//store all processes at priority5 into this list
+    private ArrayList<Process> lowest;//the lowest priority list, which is round-robin
     private ArrayList<Process> processes;//the list of process that are to be executed from have not arrived into the system yet
     private ArrayList<Process> completed;//the list of processes that have completely finished processing and have no further execution time
-    public static int timer;//the current time at any point within the execution of all processes
+    private int timer;//the current time at any point within the execution of all processes
+    private DispatchSink sink;//where the time each process is sent to the processor is reported
     private int processQueueSize;//used to store the size of the list that is passed in at the constructor.
     private Process previousProcess;//used to store the last process that was sent to the processor. Used so if the same process is sent to processor twice in a row the output will not be affected.
 
     /*
-     * Takes an ArrayList of processes as parameter and performs a deep copy of this list, which will be worked on rather than the input list.
-     * Input: ArryayList of processes
+     * Same as the constructor below, with the time each process is sent to the processor written to System.out as text.
      */
     public FB(ArrayList<Process> list) {
+        this(list, new TextSink(System.out));
+    }
+
+    /*
+     * Same as the constructor below, with 6 priority levels and the default time quantum.
+     */
+    public FB(ArrayList<Process> list, DispatchSink sink) {
+        this(list, sink, PolicySettings.DEFAULT_FB_LEVELS, Processor.DEFAULT_TIME_QUANTUM);
+    }
+
+    /*
+     * Takes an ArrayList of processes as parameter and performs a deep copy of this list, which will be worked on rather than the input list.
+     * The time each process is sent to the processor is reported to the given DispatchSink.
+     * Input: ArryayList of processes, the DispatchSink to report to, the number of priority levels (int) and the time quantum (int), both at least 1
+     */
+    public FB(ArrayList<Process> list, DispatchSink sink, int levels, int timeQuantum) {
         allPriorities = new ArrayList<ArrayList<Process>>();//stores all priority lists into one arraylist
-        priority0 = new ArrayList<Process>();//store all processes at priority0 into this list
-        priority1 = new ArrayList<Process>();//store all processes at priority1 into this list
-        priority2 = new ArrayList<Process>();//store all processes at priority2 into this list
-        priority3 = new ArrayList<Process>();//store all processes at priority3 into this list
-        priority4 = new ArrayList<Process>();//store all processes at priority4 into this list
-        priority5 = new ArrayList<Process>();//store all processes at priority5 into this list
+        for(int i = 0; i < levels; i++) {
+            allPriorities.add(new ArrayList<Process>());
+        }
+        priority0 = allPriorities.get(0);
+        lowest = allPriorities.get(levels - 1);
         processes = new ArrayList<Process>();//the list of process that are to be executed from have not arrived into the system yet
         completed =  new ArrayList<Process>();//the list of processes that have completely finished processing and have no further execution time
-        newProcessor = new Processor();//used to pass a process to the processor which provides execution time to the process
+        newProcessor = new Processor(timeQuantum);//used to pass a process to the processor which provides execution time to the process
         for(int i = 0; i < list.size();i++) { //create a deep copy of list
             processes.add(new Process(list.get(i).getProcessId(),list.get(i).getArrivalTime(),list.get(i).getExecTime()));
         }
+        this.sink = sink;
         timer = 0;//set timer to 0 as this is the start of the algorithm
         processQueueSize = list.size();//store the size of the list that is passed in at the constructor.
-
-        //add all priority levels to 1 queue
-        allPriorities.add(priority0);
-        allPriorities.add(priority1);
-        allPriorities.add(priority2);
-        allPriorities.add(priority3);
-        allPriorities.add(priority4);
-        allPriorities.add(priority5);
     }
 
     /*
      * Send the highest priority process to the processor. If no processes are found at highest priority search down one step until a process is found.
-     * Output the time where each process is sent to the processor. If the same processor is sent twice in a row (or more) only the first time will be output.
+     * Report the time where each process is sent to the processor to the sink. If the same processor is sent twice in a row (or more) only the first time will be reported.
      * Returns a list of processes that have sall been executed.
      * Input: none
      * Output: completed arraylist of processes
@@ -90,10 +94,11 @@ public class FB {
             }
 
             if(previousProcess != process) { //ensures if the same process is processed directly after it self the output does not duplicate
-                System.out.println("T" + timer + ": " + process.getProcessId());
+                sink.dispatch(timer, process.getProcessId());
             }   
 
-            process = newProcessor.provideCPUTimeFB(process);//send current process to processor and then store back into process var
+            process = newProcessor.provideCPUTimeFB(process, timer);//send current process to processor and then store back into process var
+            timer = process.getProcessFinishTime();//move the timer on to when the processor stopped
             storeNextProcess();//store process into priority 0  
 
             if(process.getExecTime() > 0) {//process still has more processing time
@@ -106,6 +111,7 @@ public class FB {
 
         }
         while(completed.size() != processQueueSize);//continue until the readyQueue is empty or the completed queue reaches the size of the original process list
+        sink.flush();
         return completed;//return the processes that have all been processed
     }
 
@@ -131,25 +137,12 @@ public class FB {
      * Return: none
      */
     public void sendProcessDownPriority(Process process, ArrayList<Process> list) {
-        //remove process from higher priority to store down one priority
-        if(list == priority0) {
-            priority1.add(priority0.remove(0));
-        }
-        else if(list == priority1) {
-            priority2.add(priority1.remove(0));
-        }
-        else if(list == priority2) {
-            priority3.add(priority2.remove(0));
-        }
-        else if(list ==  priority3) {
-            priority4.add(priority3.remove(0));
-        }
-        else if(list == priority4) {
-            priority5.add(priority4.remove(0));
+        if(list == lowest) { //list is at lowest priority, cannot be moved down any more
+            lowest.remove(0);//remove first process
+            lowest.add(process);//add process back into priority queue
         }
-        else { //list is priority 5 and at lowest priority, cannot be moved down any more
-            priority5.remove(0);//remove first process
-            priority5.add(process);//add process back into priority queue
+        else { //remove process from higher priority to store down one priority
+            allPriorities.get(allPriorities.indexOf(list) + 1).add(list.remove(0));
         }
     }
 }
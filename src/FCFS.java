@@ -9,7 +9,8 @@ import java.util.ArrayList;
 
 public class FCFS {
     private Processor newProcessor;//used to pass a process to the processor which provides execution time to the process
-    private ArrayList<Process> readyQueue;//the list of processes that are waiting to execute
+    private ProcessSource source;//where the processes are taken from, in arrival order
+    private ArrayList<Process> readyQueue;//the list of processes that have been executed
     private int timer;//the current time at any point within the execution of all processes
     
     /*
@@ -17,28 +18,34 @@ public class FCFS {
      * Input: ArryayList of processes
      */
     public FCFS(ArrayList<Process> list) {
-        readyQueue = new ArrayList<Process>();//the list of processes that are waiting to execute
+        this(new ListSource(list));//the list source copies each process as it is taken
+    }
+
+    /*
+     * Takes processes from a ProcessSource in arrival order, so the processes do not all have to be read before the algorithm starts.
+     * Input: source of processes in arrival time order
+     */
+    public FCFS(ProcessSource source) {
+        this.source = source;
+        readyQueue = new ArrayList<Process>();//the list of processes that have been executed
         newProcessor = new Processor();//used to pass a process to the processor which provides execution time to the process
-        for(int i = 0; i < list.size();i++) { //create a deep copy of list
-            readyQueue.add(new Process(list.get(i).getProcessId(),list.get(i).getArrivalTime(),list.get(i).getExecTime()));
-        }
         timer = 0;//set timer to 0 as this is the start of the algorithm
     }
 
     /*
-     * Iterate through the list of processes from the readyQueue and provide execution time to each of them.
+     * Take each process from the source in turn and provide execution time to it.
      * Input: none
      * Return: the ArrayList<Process> of processes that have all been processed already
      */
     public ArrayList<Process> start() {
         Process process;//temp process used to store the processes from the readyQueue
-        for(int i = 0; i < readyQueue.size(); i++) {//iterate through the entire list of processes
-            process = readyQueue.get(i);//get the next process in the list
+        while((process = source.next()) != null) {//iterate through the entire list of processes
             if(timer < process.getArrivalTime()) { //increments time when there are no processes to process, caters for idle time
                 timer = process.getArrivalTime();
             }
             process = newProcessor.provideCPUTimeFCFS(process, timer);//pass the process to the processor for processing
             timer += process.getExecTime();//increment the schedule timer
+            readyQueue.add(process);
         }
         return readyQueue;
     }
@@ -0,0 +1,89 @@
+/**
+ * Feedback (FB) run queue with any number of priority levels, kept the same way as EventFB: a RingQueue for each level and a bitmask of the
+ * levels that have jobs waiting. A new job enters priority 0 and a job that uses its whole time slice moves down one level.
+ * The level of each job is kept in the JobTable, so a job keeps its level when it is moved to another core's queue.
+ */
+public class FeedbackRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private JobTable jobs;//the jobs the rows belong to
+    private RingQueue[] priorities;//one queue of rows for each priority level, priority 0 is the highest
+    private long nonEmpty;//bit i is set when priorities[i] has at least 1 job in it
+    private int timeQuantum;//the longest time a job can run for before it is moved down a priority level
+    private int size;//number of rows waiting over every level
+    private long demotions;//number of times a job was moved down a level
+
+    /*
+     * Input: JobTable of the jobs, number of priority levels (int) from 1 to EventFB.MAX_LEVELS and the time quantum (int)
+     */
+    public FeedbackRunQueue(JobTable jobs, int levels, int timeQuantum) {
+        if(levels < 1 || levels > EventFB.MAX_LEVELS) {
+            throw new IllegalArgumentException("FB levels must be between 1 and " + EventFB.MAX_LEVELS + ": " + levels);
+        }
+        this.jobs = jobs;
+        priorities = new RingQueue[levels];
+        for(int i = 0; i < levels; i++) {
+            priorities[i] = new RingQueue(8);
+        }
+        nonEmpty = 0L;
+        this.timeQuantum = timeQuantum;
+        size = 0;
+    }
+
+    public void arrive(int row) {
+        jobs.setLevel(row, 0);
+        add(row);
+    }
+
+    public void requeue(int row) {
+        int level = jobs.getLevel(row);
+        if(level < priorities.length - 1) {//the lowest level is round-robin
+            jobs.setLevel(row, level + 1);
+            demotions++;
+        }
+        add(row);
+    }
+
+    public int next() {
+        int level = Long.numberOfTrailingZeros(nonEmpty);//highest priority level with a job in it
+        int row = priorities[level].remove();
+        if(priorities[level].isEmpty()) {
+            nonEmpty &= ~(1L << level);
+        }
+        size--;
+        return row;
+    }
+
+    public int peek() {
+        return priorities[Long.numberOfTrailingZeros(nonEmpty)].peek();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int timeSlice(int row) {
+        return Math.min(timeQuantum, jobs.getRemaining(row));
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+
+    public long getDemotions() {
+        return demotions;
+    }
+
+    /*
+     * Add a row to the back of the level it is at and mark the level as not empty.
+     */
+    private void add(int row) {
+        int level = jobs.getLevel(row);
+        priorities[level].add(row);
+        nonEmpty |= 1L << level;
+        size++;
+    }
+}
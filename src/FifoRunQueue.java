@@ -0,0 +1,51 @@
+/**
+ * First-in-first-out run queue. With no time quantum it is First-Come-First-Served (FCFS),
+ * with a time quantum it is Round Robin (RR) where a job that uses its whole slice goes to the back of the queue.
+ */
+public class FifoRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private JobTable jobs;//the jobs the rows belong to
+    private RingQueue queue;//waiting rows in the order they will run
+    private int timeQuantum;//longest time a job runs before going to the back of the queue, Integer.MAX_VALUE for FCFS
+
+    /*
+     * Input: JobTable of the jobs and the time quantum (int), Integer.MAX_VALUE to run each job to completion
+     */
+    public FifoRunQueue(JobTable jobs, int timeQuantum) {
+        this.jobs = jobs;
+        queue = new RingQueue(16);
+        this.timeQuantum = timeQuantum;
+    }
+
+    public void arrive(int row) {
+        queue.add(row);
+    }
+
+    public void requeue(int row) {
+        queue.add(row);
+    }
+
+    public int next() {
+        return queue.remove();
+    }
+
+    public int peek() {
+        return queue.peek();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int timeSlice(int row) {
+        return Math.min(timeQuantum, jobs.getRemaining(row));
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * DispatchSink that keeps only the most recent dispatches in a fixed size ring buffer in memory, so a long run can be traced
+ * at almost no cost and the last part of the trace looked at once it finishes or fails.
+ */
+import java.io.Serializable;
+
+public class FlightRecorder implements DispatchSink, Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private int[] times;//time of each recorded dispatch
+    private String[] processIds;//process ID of each recorded dispatch
+    private long count;//number of dispatches ever recorded, the next one goes in slot count % capacity
+
+    /*
+     * Input: number of dispatches to keep (int), at least 1
+     */
+    public FlightRecorder(int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("Flight recorder capacity must be at least 1: " + capacity);
+        }
+        times = new int[capacity];
+        processIds = new String[capacity];
+        count = 0;
+    }
+
+    public void dispatch(int time, String processId) {
+        int slot = (int) (count % times.length);
+        times[slot] = time;
+        processIds[slot] = processId;
+        count++;
+    }
+
+    public void flush() {
+    }
+
+    /*
+     * Return: the number of dispatches recorded in total (long), including those no longer kept
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /*
+     * Sends the dispatches that are still kept to another sink, oldest first, then flushes it.
+     * Input: where to send the dispatches (DispatchSink)
+     * Return: none
+     */
+    public void replay(DispatchSink sink) {
+        long first = Math.max(0, count - times.length);
+        for(long i = first; i < count; i++) {
+            int slot = (int) (i % times.length);
+            sink.dispatch(times[slot], processIds[slot]);
+        }
+        sink.flush();
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Collects the results of jobs as they finish, so that a run does not need to keep every finished job to report on it.
+ * A JobTable with a JobStats sends every job to it when the job finishes.
+ * Besides the averages, the wait, turnaround and response times (first dispatch minus arrival) are kept in LatencyHistograms for percentiles.
+ */
+import java.io.Serializable;
+
+public class JobStats implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private long count;//number of jobs that have finished
+    private long totalWait;//total wait time of every finished job
+    private long totalTurnaround;//total turnaround time of every finished job
+    private LatencyHistogram waitTimes;//wait time of every finished job
+    private LatencyHistogram turnAroundTimes;//turnaround time of every finished job
+    private LatencyHistogram responseTimes;//time from arrival to first being given the processor of every finished job
+
+    public JobStats() {
+        count = 0;
+        totalWait = 0;
+        totalTurnaround = 0;
+        waitTimes = new LatencyHistogram();
+        turnAroundTimes = new LatencyHistogram();
+        responseTimes = new LatencyHistogram();
+    }
+
+    /*
+     * Adds a finished job.
+     * Input: wait time (int), turnaround time (int) and response time (int) of the job
+     * Return: none
+     */
+    public void record(int waitTime, int turnAroundTime, int responseTime) {
+        count++;
+        totalWait += waitTime;
+        totalTurnaround += turnAroundTime;
+        waitTimes.record(waitTime);
+        turnAroundTimes.record(turnAroundTime);
+        responseTimes.record(responseTime);
+    }
+
+    /*
+     * Return: the number of jobs that have finished (long)
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /*
+     * Return: the average wait time of the finished jobs (double)
+     */
+    public double getAverageWait() {
+        return (double) totalWait / count;
+    }
+
+    /*
+     * Return: the average turnaround time of the finished jobs (double)
+     */
+    public double getAverageTurnaround() {
+        return (double) totalTurnaround / count;
+    }
+
+    /*
+     * Return: histogram of the wait times (LatencyHistogram)
+     */
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    /*
+     * Return: histogram of the turnaround times (LatencyHistogram)
+     */
+    public LatencyHistogram getTurnAroundTimes() {
+        return turnAroundTimes;
+    }
+
+    /*
+     * Return: histogram of the response times (LatencyHistogram)
+     */
+    public LatencyHistogram getResponseTimes() {
+        return responseTimes;
+    }
+}
@@ -0,0 +1,713 @@
+/**
+ * Column oriented table of jobs, used by the event driven schedulers instead of a list of Process objects.
+ * Each job is a row number, which is also its dense integer ID, and each piece of job data is a primitive int array indexed by row.
+ * The process ID strings, arrival times, exec sizes and tickets are only read by the schedulers, so newRun() shares them between runs
+ * and only gives each run its own remaining, wait, turnaround, start and finish columns.
+ *
+ * A table can also be filled from a ProcessSource as the scheduler asks for each row, so a scheduler can start before every job has been read.
+ *
+ * Schedulers take jobs into the system in arrival order with hasArrival(), getNextArrivalTime() and admit().
+ * The rows of a table that has every row before the first job is admitted can be in any order: if they are not in arrival order they are
+ * admitted through a TimingWheel of arrival times, so the processes never have to be sorted first. Jobs arriving at the same time are
+ * admitted in table order, or by exec size or by process ID as SRT and FB take them, see setTieOrder().
+ * A table given a JobStats sends each job to it as soon as the job finishes.
+ * An online table also gives the row of a finished job to the next job to arrive,
+ * so it only ever holds the jobs that are in the system at once, however many jobs are read from the source.
+ *
+ * A Checkpoint saves a table that has every row with its result columns and how far admission has got, but not its input columns,
+ * which setInput() takes from the same jobs read again when the run is resumed.
+ * An online table that has read every process from its source is saved with the input columns of its rows, as they hold the only copy of
+ * the jobs in the system, and append() gives it a source of later processes to carry on with.
+ */
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class JobTable implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    public static final int TIES_TABLE = 0;//jobs arriving at the same time are admitted in table order
+    public static final int TIES_EXEC = 1;//jobs arriving at the same time are admitted by exec size, then in table order
+    public static final int TIES_ID = 2;//jobs arriving at the same time are admitted by process ID, then by exec size, then in table order
+    private static final int SHORT_GROUP = 32;//groups of jobs arriving at the same time are insertion sorted in runs this long, which are then merged
+
+    private transient ProcessSource source;//where rows that have not been read yet come from, null once every row has been read
+    private int size;//number of rows in the table
+    private int arrived;//number of rows that have been admitted into the system, or taken into group, when the table is not online
+    private int tieOrder;//order jobs arriving at the same time are admitted in, TIES_TABLE, TIES_EXEC or TIES_ID
+    private boolean indexed;//true once the first arrival has been asked for, after which the way rows are admitted is fixed
+    private TimingWheel arrivals;//rows that have not been admitted by arrival time, null if the rows are admitted in table order
+    private int[] group;//rows arriving at the next arrival time, in the order they are admitted
+    private int groupStart;//position in group of the next row to admit
+    private int groupEnd;//position in group after the last row
+    private transient int[] groupScratch;//reused by the merge sort of a long group, null until a group longer than SHORT_GROUP is sorted
+
+    private JobStats stats;//where each job is sent when it finishes, null if there is nowhere to send it
+
+    //online tables only
+    private boolean online;//true if rows of finished jobs are given to new jobs
+    private transient Process lookahead;//the next process to arrive, read from source but not admitted yet
+    private int[] freeRows;//rows of finished jobs that can be given to new jobs
+    private int freeCount;//number of rows in freeRows
+    private long admitted;//number of jobs admitted so far
+    private long[] arrivalNumbers;//order each job arrived in, null when it is the row
+    private int appendedAfter;//time every process read from source must arrive after, set by append()
+
+    //input columns, shared by every run of the same jobs
+    private transient String[] processIds;//ID of each job
+    private transient long[] idNumbers;//number made of the digits of each job ID, used to order jobs by ID without reading the ID again
+    private transient int[] arrivalTimes;//time each job enters the system
+    private transient int[] execSizes;//total execution time each job needs
+    private transient int[] tickets;//share of the processor each job has under lottery and stride scheduling
+
+    //result columns, one set for each run
+    private int[] remaining;//execution time each job still needs
+    private int[] waitTimes;//total time each job has spent waiting in the system
+    private int[] turnAroundTimes;//time from arrival to the end of the last execution of each job
+    private int[] startTimes;//time each job was first given the processor, -1 if it has not run yet
+    private int[] finishTimes;//time each job last left the processor, which is its arrival time until it first runs
+    private int[] levels;//priority level each job is at, for schedulers that move jobs between levels
+    private long[] passes;//pass value each job started from, for stride scheduling
+
+    /*
+     * Creates an empty table with room for the given number of rows before it needs to grow.
+     * Input: initial capacity (int)
+     */
+    public JobTable(int capacity) {
+        this(null, capacity);
+    }
+
+    /*
+     * Creates a table that reads its rows from a ProcessSource when has() asks for them.
+     * Input: source of processes in arrival order and initial capacity (int)
+     */
+    public JobTable(ProcessSource source, int capacity) {
+        this.source = source;
+        size = 0;
+        arrived = 0;
+        tieOrder = TIES_TABLE;
+        group = new int[16];
+        capacity = Math.max(capacity, 16);
+        processIds = new String[capacity];
+        idNumbers = new long[capacity];
+        arrivalTimes = new int[capacity];
+        execSizes = new int[capacity];
+        tickets = new int[capacity];
+        allocateResults(capacity);
+    }
+
+    /*
+     * Creates an online table, which reads jobs from a ProcessSource as they are admitted and sends each job to a JobStats when it finishes.
+     * Input: source of processes in arrival order and where finished jobs are sent (JobStats)
+     */
+    public JobTable(ProcessSource source, JobStats stats) {
+        this(source, 0);
+        this.stats = stats;
+        online = true;
+        freeRows = new int[processIds.length];
+        freeCount = 0;
+        admitted = 0;
+        arrivalNumbers = new long[processIds.length];
+        appendedAfter = Integer.MIN_VALUE;
+    }
+
+    /*
+     * Creates a table with one row for each process in a list, in list order.
+     * Input: ArrayList of processes
+     * Return: JobTable
+     */
+    public static JobTable fromList(ArrayList<Process> list) {
+        JobTable table = new JobTable(list.size());
+        for(int i = 0; i < list.size(); i++) {
+            Process process = list.get(i);
+            table.add(process.getProcessId(), process.getArrivalTime(), process.getExecTime(), process.getTickets());
+        }
+        return table;
+    }
+
+    /*
+     * Creates a table from a list of processes that have already been run by one of the time stepped schedulers, keeping their results.
+     * The exec size of each job is its turnaround time minus its wait time and the start time is the first start time recorded by Processor.
+     * Input: ArrayList of processed processes
+     * Return: JobTable
+     */
+    public static JobTable fromResults(ArrayList<Process> list) {
+        JobTable table = new JobTable(list.size());
+        for(int i = 0; i < list.size(); i++) {
+            Process process = list.get(i);
+            int row = table.add(process.getProcessId(), process.getArrivalTime(), process.getTurnAroundTime() - process.getWaitTime());
+            table.remaining[row] = process.getExecTime();
+            table.waitTimes[row] = process.getWaitTime();
+            table.turnAroundTimes[row] = process.getTurnAroundTime();
+            table.startTimes[row] = process.getFirstStartTime();
+            table.finishTimes[row] = process.getArrivalTime() + process.getTurnAroundTime();
+        }
+        return table;
+    }
+
+    /*
+     * Creates a table for a new run of the same jobs. The input columns are shared and the result columns start again.
+     * Every row must have been read.
+     * Return: JobTable
+     */
+    public JobTable newRun() {
+        while(has(size)) {
+            //read the rest of the source
+        }
+        JobTable run = new JobTable(0);
+        run.size = size;
+        run.processIds = processIds;
+        run.idNumbers = idNumbers;
+        run.arrivalTimes = arrivalTimes;
+        run.execSizes = execSizes;
+        run.tickets = tickets;
+        run.tieOrder = tieOrder;
+        run.allocateResults(processIds.length);
+        for(int row = 0; row < size; row++) {
+            run.resetResults(row);
+        }
+        return run;
+    }
+
+    /*
+     * Gives a table read from a Checkpoint the input columns of the same jobs, which are shared as they are by newRun().
+     * Input: JobTable of the jobs read again, which must have every row
+     * Return: none
+     * Throws: IllegalArgumentException if the table has a different number of rows
+     */
+    public void setInput(JobTable input) {
+        if(input.source != null || input.size != size) {
+            throw new IllegalArgumentException("The jobs have " + input.size + " rows, not " + size);
+        }
+        processIds = input.processIds;
+        idNumbers = input.idNumbers;
+        arrivalTimes = input.arrivalTimes;
+        execSizes = input.execSizes;
+        tickets = input.tickets;
+    }
+
+    /*
+     * Gives an online table read from a Checkpoint, which had read every process from its source, a source of more processes.
+     * They must all arrive after a time, up to which the scheduler has already run.
+     * Input: source of processes in arrival order and the time (int) they must arrive after
+     * Return: none
+     * Throws: IllegalStateException if the table is not online or has not read every process from its source
+     */
+    public void append(ProcessSource source, int after) {
+        if(!online || this.source != null || lookahead != null) {
+            throw new IllegalStateException("Processes can only be appended to an online table that has read every process from its source");
+        }
+        this.source = source;
+        appendedAfter = after;
+    }
+
+    /*
+     * Return: a hash of every row's process ID, arrival time, exec size and tickets (long), the same for the same jobs in the same order
+     */
+    public long fingerprint() {
+        long hash = size;
+        for(int row = 0; row < size; row++) {
+            hash = hash * 31 + processIds[row].hashCode();
+            hash = hash * 31 + arrivalTimes[row];
+            hash = hash * 31 + execSizes[row];
+            hash = hash * 31 + tickets[row];
+        }
+        return hash;
+    }
+
+    /*
+     * Adds a job with the default number of tickets to the end of the table.
+     * Input: process ID (String), arrival time (int) and exec size (int)
+     * Return: the row of the new job (int)
+     */
+    public int add(String processId, int arrivalTime, int execSize) {
+        return add(processId, arrivalTime, execSize, Process.DEFAULT_TICKETS);
+    }
+
+    /*
+     * Adds a job to the end of the table.
+     * Input: process ID (String), arrival time (int), exec size (int) and tickets (int)
+     * Return: the row of the new job (int)
+     */
+    public int add(String processId, int arrivalTime, int execSize, int tickets) {
+        int row = newRow();
+        processIds[row] = processId;
+        idNumbers[row] = Process.idNumber(processId);
+        arrivalTimes[row] = arrivalTime;
+        execSizes[row] = execSize;
+        this.tickets[row] = tickets;
+        resetResults(row);
+        return row;
+    }
+
+    /*
+     * Return: true if the row exists, reading it from the source first if needed
+     */
+    public boolean has(int row) {
+        while(row >= size && source != null) {
+            Process process = source.next();
+            if(process == null) {
+                source = null;
+            }
+            else {
+                add(process.getProcessId(), process.getArrivalTime(), process.getExecTime(), process.getTickets());
+            }
+        }
+        return row < size;
+    }
+
+    /*
+     * Return: true if there is another job to admit into the system, reading it from the source first if needed
+     * Throws: IllegalArgumentException if a process appended to an online table does not arrive after the time given to append()
+     */
+    public boolean hasArrival() {
+        if(!online) {
+            if(groupStart < groupEnd) {
+                return true;
+            }
+            if(!indexed) {
+                index();
+            }
+            return arrivals != null ? !arrivals.isEmpty() : has(arrived);
+        }
+        if(lookahead == null && source != null) {
+            lookahead = source.next();
+            if(lookahead == null) {
+                source = null;
+            }
+            else if(lookahead.getArrivalTime() <= appendedAfter) {
+                throw new IllegalArgumentException("Process " + lookahead.getProcessId() + " arrives at " + lookahead.getArrivalTime()
+                    + ", which is not after " + appendedAfter + ", the time the processes before it had been run up to");
+            }
+        }
+        return lookahead != null;
+    }
+
+    /*
+     * Return: the arrival time (int) of the next job to admit, hasArrival() must have returned true
+     */
+    public int getNextArrivalTime() {
+        if(online) {
+            return lookahead.getArrivalTime();
+        }
+        if(groupStart < groupEnd) {
+            return arrivalTimes[group[groupStart]];
+        }
+        return arrivals != null ? arrivals.nextTime() : arrivalTimes[arrived];
+    }
+
+    /*
+     * Admits the next job into the system. An online table gives it the row of a job that has finished, if there is one.
+     * hasArrival() must have returned true.
+     * Return: the row of the job (int)
+     */
+    public int admit() {
+        if(!online) {
+            if(groupStart == groupEnd) {
+                if(arrivalNumbers == null) {//the rows are in arrival order and admitted in table order
+                    return arrived++;
+                }
+                takeGroup();
+            }
+            int row = group[groupStart++];
+            arrivalNumbers[row] = admitted++;
+            return row;
+        }
+        int row = freeCount > 0 ? freeRows[--freeCount] : newRow();
+        processIds[row] = lookahead.getProcessId();
+        idNumbers[row] = Process.idNumber(lookahead.getProcessId());
+        arrivalTimes[row] = lookahead.getArrivalTime();
+        execSizes[row] = lookahead.getExecTime();
+        tickets[row] = lookahead.getTickets();
+        arrivalNumbers[row] = admitted++;
+        resetResults(row);
+        lookahead = null;
+        return row;
+    }
+
+    /*
+     * Gives a job the processor for runTime and records its wait, turnaround, start and finish time, in the same way Processor does.
+     * A job that finishes is sent to the JobStats, if there is one. In an online table its row is also freed and its results can only be read until the next admit().
+     * Input: row (int), time the job starts (int) and how long it runs for (int)
+     * Return: the time the job leaves the processor (int)
+     */
+    public int run(int row, int time, int runTime) {
+        if(startTimes[row] < 0) {
+            startTimes[row] = time;
+        }
+        waitTimes[row] += time - finishTimes[row];//time since the job arrived or last left the processor
+        remaining[row] -= runTime;
+        finishTimes[row] = time + runTime;
+        turnAroundTimes[row] = finishTimes[row] - arrivalTimes[row];
+        if(remaining[row] == 0 && stats != null) {
+            stats.record(waitTimes[row], turnAroundTimes[row], startTimes[row] - arrivalTimes[row]);
+            if(online) {
+                freeRows[freeCount++] = row;
+            }
+        }
+        return finishTimes[row];
+    }
+
+    /*
+     * Sets the order jobs arriving at the same time are admitted in. Must be called before the first arrival is asked for.
+     * A table made by newRun() starts with the order of the table it was made from.
+     * Input: TIES_TABLE, TIES_EXEC (the order SRT takes them in) or TIES_ID (the order FB and MLFQ take them in)
+     * Return: none
+     */
+    public void setTieOrder(int tieOrder) {
+        this.tieOrder = tieOrder;
+    }
+
+    /*
+     * Return: the priority level a job is at (int), 0 until a scheduler sets it
+     */
+    public int getLevel(int row) {
+        return levels[row];
+    }
+
+    /*
+     * Set the priority level a job is at.
+     * Input: row (int) and priority level (int)
+     * Return: none
+     */
+    public void setLevel(int row, int level) {
+        levels[row] = level;
+    }
+
+    /*
+     * Return: the pass value a job started from (long), 0 until a scheduler sets it
+     */
+    public long getPass(int row) {
+        return passes[row];
+    }
+
+    /*
+     * Set the pass value a job started from, which stays with the job if it moves to another core's run queue.
+     * Input: row (int) and pass (long)
+     * Return: none
+     */
+    public void setPass(int row, long pass) {
+        passes[row] = pass;
+    }
+
+    /*
+     * Return: the number of rows in the table that have been read so far (int). For an online table this is the most jobs that have been in the system at once.
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Sets where each job is sent when it finishes.
+     * Input: JobStats
+     * Return: none
+     */
+    public void setStats(JobStats stats) {
+        this.stats = stats;
+    }
+
+    /*
+     * Return: where each job is sent when it finishes (JobStats), null if nowhere
+     */
+    public JobStats getStats() {
+        return stats;
+    }
+
+    /*
+     * Return: the position of a row's job in arrival order (long)
+     */
+    public long getArrivalNumber(int row) {
+        return arrivalNumbers == null ? row : arrivalNumbers[row];
+    }
+
+    /*
+     * Return: the process ID of a row (String)
+     */
+    public String getProcessId(int row) {
+        return processIds[row];
+    }
+
+    /*
+     * Compares the process IDs of two rows in the same order as Process.compareIds().
+     * Return: less than 0 if row a's ID comes first, 0 if the IDs are the same, more than 0 if row b's ID comes first
+     */
+    public int compareIds(int a, int b) {
+        return Process.compareIds(idNumbers[a], processIds[a], idNumbers[b], processIds[b]);
+    }
+
+    /*
+     * Return: the arrival time of a row (int)
+     */
+    public int getArrivalTime(int row) {
+        return arrivalTimes[row];
+    }
+
+    /*
+     * Return: the total execution time a row needs (int)
+     */
+    public int getExecSize(int row) {
+        return execSizes[row];
+    }
+
+    /*
+     * Return: the execution time a row still needs (int)
+     */
+    public int getRemaining(int row) {
+        return remaining[row];
+    }
+
+    /*
+     * Return: the wait time of a row (int)
+     */
+    public int getWaitTime(int row) {
+        return waitTimes[row];
+    }
+
+    /*
+     * Return: the turnaround time of a row (int)
+     */
+    public int getTurnAroundTime(int row) {
+        return turnAroundTimes[row];
+    }
+
+    /*
+     * Return: the time a row was first given the processor (int), -1 if it has not run
+     */
+    public int getStartTime(int row) {
+        return startTimes[row];
+    }
+
+    /*
+     * Return: a row's tickets (int), its share of the processor under lottery and stride scheduling
+     */
+    public int getTickets(int row) {
+        return tickets[row];
+    }
+
+    /*
+     * Return: the time a row last left the processor (int), its arrival time if it has not run
+     */
+    public int getFinishTime(int row) {
+        return finishTimes[row];
+    }
+
+    /*
+     * Orders the rows by process ID, in the same order as Process.processIDComparator(), with RadixSorts of the finish times and ID numbers.
+     * Rows with the same ID are in the order they finished, the order the time stepped schedulers list them in, and rows that finished
+     * at the same time keep the order they were admitted in, which is table order unless rows were admitted out of table order.
+     * Return: array of rows (int[]) in ID order
+     */
+    public int[] idOrder() {
+        int[] finishedRows = RadixSort.identity(size);//rows in the order they finished, once they are sorted
+        if(arrivalNumbers != null && !online) {
+            for(int row = 0; row < size; row++) {//every row has been admitted once a run has finished
+                finishedRows[(int) arrivalNumbers[row]] = row;
+            }
+        }
+        finishedRows = RadixSort.sort(finishedRows, finishTimes);
+        long[] numbers = new long[size];
+        String[] ids = new String[size];
+        for(int i = 0; i < size; i++) {
+            numbers[i] = idNumbers[finishedRows[i]];
+            ids[i] = processIds[finishedRows[i]];
+        }
+        int[] order = ProcessOrder.idOrder(numbers, ids, size);
+        for(int i = 0; i < size; i++) {
+            order[i] = finishedRows[order[i]];
+        }
+        return order;
+    }
+
+    /*
+     * Works out how rows are admitted when the first arrival is asked for. Rows read from a source as they arrive are in arrival order.
+     * Otherwise a table whose rows are not in arrival time order puts them in a TimingWheel by arrival time, and the rows are admitted
+     * from it one arrival time at a time. Arrival numbers are only kept when rows can be admitted out of table order.
+     */
+    private void index() {
+        indexed = true;
+        if(source == null && size > arrived) {
+            boolean sorted = true;
+            int least = arrivalTimes[arrived];
+            for(int row = arrived + 1; row < size; row++) {
+                sorted &= arrivalTimes[row] >= arrivalTimes[row - 1];
+                least = Math.min(least, arrivalTimes[row]);
+            }
+            if(!sorted) {
+                arrivals = new TimingWheel(size, least);
+                for(int row = arrived; row < size; row++) {
+                    arrivals.schedule(row, arrivalTimes[row]);
+                }
+            }
+        }
+        if(arrivals != null || tieOrder != TIES_TABLE) {
+            arrivalNumbers = new long[processIds.length];
+        }
+    }
+
+    /*
+     * Take every row arriving at the next arrival time into group, in the tie order.
+     */
+    private void takeGroup() {
+        int time = getNextArrivalTime();
+        groupStart = 0;
+        groupEnd = 0;
+        while(arrivals != null ? !arrivals.isEmpty() && arrivals.nextTime() == time : has(arrived) && arrivalTimes[arrived] == time) {
+            if(groupEnd == group.length) {
+                group = Arrays.copyOf(group, groupEnd * 2);
+            }
+            group[groupEnd++] = arrivals != null ? arrivals.poll() : arrived++;//the wheel gives rows due at the same time in table order
+        }
+        if(tieOrder == TIES_TABLE || groupEnd < 2) {
+            return;
+        }
+        for(int start = 0; start < groupEnd; start += SHORT_GROUP) {
+            insertionSort(start, Math.min(start + SHORT_GROUP, groupEnd));
+        }
+        if(groupEnd <= SHORT_GROUP) {
+            return;
+        }
+        if(groupScratch == null || groupScratch.length < groupEnd) {
+            groupScratch = new int[group.length];
+        }
+        int[] from = group;
+        int[] to = groupScratch;
+        for(int width = SHORT_GROUP; width < groupEnd; width *= 2) {//merge sorted runs of width rows in pairs
+            for(int start = 0; start < groupEnd; start += 2 * width) {
+                int middle = Math.min(start + width, groupEnd);
+                int end = Math.min(start + 2 * width, groupEnd);
+                int i = start;
+                int j = middle;
+                for(int k = start; k < end; k++) {
+                    to[k] = j == end || (i < middle && !admitsBefore(from[j], from[i])) ? from[i++] : from[j++];
+                }
+            }
+            int[] merged = to;
+            to = from;
+            from = merged;
+        }
+        if(from != group) {
+            System.arraycopy(from, 0, group, 0, groupEnd);
+        }
+    }
+
+    /*
+     * Insertion sort of group[start] to group[end - 1] in the tie order.
+     */
+    private void insertionSort(int start, int end) {
+        for(int i = start + 1; i < end; i++) {
+            int row = group[i];
+            int j = i - 1;
+            while(j >= start && admitsBefore(row, group[j])) {
+                group[j + 1] = group[j];
+                j--;
+            }
+            group[j + 1] = row;
+        }
+    }
+
+    /*
+     * Return: true if row a is admitted before row b when they arrive at the same time, in the tie order
+     */
+    private boolean admitsBefore(int a, int b) {
+        if(tieOrder == TIES_ID) {
+            int ids = compareIds(a, b);
+            if(ids != 0) {
+                return ids < 0;
+            }
+        }
+        if(execSizes[a] != execSizes[b]) {
+            return execSizes[a] < execSizes[b];
+        }
+        return a < b;
+    }
+
+    /*
+     * Only a table that has every row can be saved, as the rest of the rows would have to be read from the source again.
+     * An online table is saved with its input columns.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        if(source != null || lookahead != null) {
+            throw new NotSerializableException("JobTable that reads its rows from a source");
+        }
+        out.defaultWriteObject();
+        if(online) {
+            out.writeObject(processIds);
+            out.writeObject(idNumbers);
+            out.writeObject(arrivalTimes);
+            out.writeObject(execSizes);
+            out.writeObject(tickets);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if(online) {
+            processIds = (String[]) in.readObject();
+            idNumbers = (long[]) in.readObject();
+            arrivalTimes = (int[]) in.readObject();
+            execSizes = (int[]) in.readObject();
+            tickets = (int[]) in.readObject();
+        }
+    }
+
+    /*
+     * Set a row's results back to a job that has not run yet.
+     */
+    private void resetResults(int row) {
+        remaining[row] = execSizes[row];
+        waitTimes[row] = 0;
+        turnAroundTimes[row] = 0;
+        startTimes[row] = -1;
+        finishTimes[row] = arrivalTimes[row];
+        levels[row] = 0;
+        passes[row] = 0;
+    }
+
+    private void allocateResults(int capacity) {
+        remaining = new int[capacity];
+        waitTimes = new int[capacity];
+        turnAroundTimes = new int[capacity];
+        startTimes = new int[capacity];
+        finishTimes = new int[capacity];
+        levels = new int[capacity];
+        passes = new long[capacity];
+    }
+
+    /*
+     * Return: a new row at the end of the table (int), growing the columns if they are full
+     */
+    private int newRow() {
+        if(size == processIds.length) {
+            grow();
+        }
+        return size++;
+    }
+
+    /*
+     * Double the length of every column.
+     */
+    private void grow() {
+        int capacity = processIds.length * 2;
+        if(online) {
+            freeRows = Arrays.copyOf(freeRows, capacity);
+        }
+        if(arrivalNumbers != null) {
+            arrivalNumbers = Arrays.copyOf(arrivalNumbers, capacity);
+        }
+        processIds = Arrays.copyOf(processIds, capacity);
+        idNumbers = Arrays.copyOf(idNumbers, capacity);
+        arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+        execSizes = Arrays.copyOf(execSizes, capacity);
+        tickets = Arrays.copyOf(tickets, capacity);
+        remaining = Arrays.copyOf(remaining, capacity);
+        waitTimes = Arrays.copyOf(waitTimes, capacity);
+        turnAroundTimes = Arrays.copyOf(turnAroundTimes, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        finishTimes = Arrays.copyOf(finishTimes, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        passes = Arrays.copyOf(passes, capacity);
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Event driven simulation of one processor, shared by every scheduling policy.
+ * The kernel owns the clock, takes jobs into the system in arrival order, records each run in the JobTable and reports dispatches to the
+ * DispatchSink. The policy is a RunQueue, which only decides which waiting job runs next, for how long, and whether an arriving job preempts
+ * the running one, so anything done here, such as skipping idle time or accounting that allocates nothing, applies to every policy at once.
+ *
+ * Time only moves to the end of the running job's time slice or, for a policy that can preempt, to the next arrival.
+ * When nothing is waiting the clock jumps straight to the next arrival. A policy that never preempts chooses from every job arriving then,
+ * while with a preemptive policy the first of them is started at once and runs for at least 1 before the others are looked at, as the original SRT does. Jobs that arrive while a job runs are queued before it goes back into the
+ * queue, and a job that is sent to the processor straight after itself is only reported once.
+ * With FifoRunQueue, ShortestRemainingRunQueue and FeedbackRunQueue the results are the same as FCFS, RR, SRT and FB.
+ * ShortestProcessRunQueue (SPN) and ResponseRatioRunQueue (HRRN) only run on the kernel.
+ *
+ * All the state of a run is kept in fields, so that a Checkpoint can save the kernel between events and start() carries on from
+ * where it was when a saved kernel is read back. With setCounting(), SchedulerCounters count the events, decisions, preemptions and queue
+ * lengths as it runs.
+ * Once every job has been admitted, nothing the kernel has done depends on jobs arriving after the current time, so a kernel on an online
+ * JobTable saved at that point can be given such jobs with append() and carry on, which is how an append run only simulates the jobs added
+ * to a data file.
+ */
+import java.io.Serializable;
+
+public class Kernel implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private JobTable jobs;//the jobs to run, admitted in arrival time order
+    private RunQueue policy;//decides which waiting job runs next
+    private boolean preemptive;//true if the running job is stopped at each arrival to check for preemption
+    private DispatchSink sink;//where the time each process is sent to the processor is reported
+    private int timer;//the current time at any point within the execution of all processes
+    private int current;//the running job, -1 if the processor is free
+    private int sliceLeft;//time left in the running job's time slice
+    private int minimum;//time the running job runs before arrivals can preempt it
+    private int previous;//the last job that was sent to the processor
+    private SchedulerCounters counters;//what the kernel has done so far, null if it is not counting
+    private transient Checkpoint checkpoint;//where the state is saved every so often, null for none
+    private transient Checkpoint appendState;//where the state is saved once every job has been admitted, null for none
+
+    /*
+     * Input: JobTable of the jobs to run, which admits them in arrival time order, the policy's RunQueue on the same table and the DispatchSink to report
+     * dispatches to. The results are recorded in the table.
+     */
+    public Kernel(JobTable jobs, RunQueue policy, DispatchSink sink) {
+        this.jobs = jobs;
+        this.policy = policy;
+        preemptive = policy.isPreemptive();
+        this.sink = sink;
+        timer = 0;//set timer to 0 as this is the start of the algorithm
+        current = -1;
+        sliceLeft = 0;
+        minimum = 0;
+        previous = -1;
+    }
+
+    /*
+     * Counts what the kernel does in SchedulerCounters from now on, or stops counting, which is the default. A kernel read from a Checkpoint
+     * that was counting carries on from the counts saved with it.
+     * Input: true to count
+     * Return: none
+     */
+    public void setCounting(boolean counting) {
+        if(!counting) {
+            counters = null;
+        }
+        else if(counters == null) {
+            counters = new SchedulerCounters();
+        }
+    }
+
+    /*
+     * Saves the kernel to a Checkpoint whenever one is due while it runs, and once it has finished.
+     * Input: the Checkpoint, null for none
+     * Return: none
+     */
+    public void setCheckpoint(Checkpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /*
+     * Saves the kernel to a Checkpoint once every job has been admitted, after which nothing it does depends on jobs that arrive later.
+     * Input: the Checkpoint, null for none
+     * Return: none
+     */
+    public void setAppendState(Checkpoint appendState) {
+        this.appendState = appendState;
+    }
+
+    /*
+     * Gives a kernel on an online JobTable, read from the Checkpoint of setAppendState(), more jobs, which start() runs with the jobs
+     * that were still in the system.
+     * Input: source of the jobs in arrival order, which must arrive after the time the kernel had got to
+     * Return: none
+     */
+    public void append(ProcessSource source) {
+        jobs.append(source, timer);
+    }
+
+    /*
+     * Run every job to completion, or carry on from where a kernel read from a Checkpoint was.
+     * Input: none
+     * Output: the JobTable with every job's results
+     */
+    public JobTable start() {
+        while(true) {
+            if(counters != null) {
+                counters.event();
+            }
+            if(checkpoint != null && checkpoint.isDue()) {
+                checkpoint.save(jobs, sink, this);
+            }
+            if(appendState != null && !jobs.hasArrival()) {//nothing done up to now depends on jobs arriving later
+                appendState.save(jobs, sink, this);
+                appendState = null;
+            }
+            if(current < 0) {
+                minimum = 0;
+                storeNextProcess();
+                if(policy.size() > 0) {
+                    policy.setTime(timer);
+                    if(counters != null) {
+                        counters.decision(policy.size());
+                    }
+                    current = policy.next();
+                }
+                else if(jobs.hasArrival()) {//nothing is ready, move the timer forward to the next arrival and start it
+                    timer = Math.max(timer, jobs.getNextArrivalTime());
+                    if(preemptive) {//the first job to arrive starts, the others can preempt it once it has run for 1
+                        policy.arrive(jobs.admit());
+                        minimum = 1;
+                    }
+                    else {//the policy chooses from every job arriving at this time
+                        storeNextProcess();
+                    }
+                    policy.setTime(timer);
+                    if(counters != null) {
+                        counters.decision(policy.size());
+                    }
+                    current = policy.next();
+                }
+                else {
+                    break;
+                }
+                sliceLeft = policy.timeSlice(current);
+                if(previous != current) { //ensures if the same process is processed directly after it self the output does not duplicate
+                    sink.dispatch(timer, jobs.getProcessId(current));
+                }
+            }
+
+            int runTime = sliceLeft;
+            if(preemptive && jobs.hasArrival()) {//only run until the next arrival, which may preempt the current job
+                runTime = Math.min(runTime, Math.max(minimum, jobs.getNextArrivalTime() - timer));
+            }
+            timer = jobs.run(current, timer, runTime);
+            sliceLeft -= runTime;
+            minimum = 0;
+
+            boolean unfinished = jobs.getRemaining(current) > 0;//read before any job is admitted, as a finished job's row can be given to a new job
+            storeNextProcess();//jobs that arrived while this one ran go ahead of it in the queue
+            if(!unfinished) {
+                current = -1;
+                previous = -1;
+            }
+            else if(sliceLeft == 0 || (preemptive && policy.size() > 0 && preempts(current))) {
+                if(sliceLeft > 0 && counters != null) {
+                    counters.preemption();
+                }
+                policy.requeue(current);
+                previous = current;
+                current = -1;
+            }
+        }
+        sink.flush();
+        if(checkpoint != null) {
+            checkpoint.save(jobs, sink, this);
+        }
+        return jobs;
+    }
+
+    /*
+     * Return: the SchedulerCounters of what the kernel has done so far, with the demotions made by its policy, null if it is not counting
+     */
+    public SchedulerCounters getCounters() {
+        if(counters == null) {
+            return null;
+        }
+        counters.setDemotions(policy.getDemotions());
+        return counters;
+    }
+
+    /*
+     * Return: true if the job at the front of the policy's queue should take the processor from the running job
+     */
+    private boolean preempts(int running) {
+        policy.setTime(timer);
+        return policy.preempts(policy.peek(), running);
+    }
+
+    /*
+     * Stores every job that has arrived by the current time into the policy's queue.
+     * Input: none
+     * Output: none
+     */
+    private void storeNextProcess() {
+        while(jobs.hasArrival() && jobs.getNextArrivalTime() <= timer) {
+            policy.arrive(jobs.admit());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Histogram of non negative int times, such as wait times, in a fixed amount of memory however many times are recorded.
+ * Times below 128 each have their own bucket. Above that every power of 2 range is split into 64 equal buckets,
+ * so a percentile is never more than 1/64 (about 1.6%) above the true value.
+ * Recording a time and finding a percentile are both a fixed amount of work, whether 5 or a billion times have been recorded.
+ */
+import java.io.Serializable;
+
+public class LatencyHistogram implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private static final int LINEAR = 128;//times below this have a bucket each
+    private static final int SUB_BITS = 6;//each power of 2 range above LINEAR is split into 2^SUB_BITS buckets
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR + (31 - 7) * SUB_BUCKETS;//enough buckets for every non negative int
+
+    private long[] counts;//number of times recorded in each bucket
+    private long count;//number of times recorded
+    private int max;//largest time recorded
+
+    public LatencyHistogram() {
+        counts = new long[BUCKETS];
+        count = 0;
+        max = 0;
+    }
+
+    /*
+     * Adds a time to the histogram. A negative time is recorded as 0.
+     * Input: time (int)
+     * Return: none
+     */
+    public void record(int value) {
+        if(value < 0) {
+            value = 0;
+        }
+        counts[bucket(value)]++;
+        count++;
+        if(value > max) {
+            max = value;
+        }
+    }
+
+    /*
+     * Return: the number of times recorded (long)
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /*
+     * Return: the largest time recorded (int)
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /*
+     * Finds the time that the given fraction of the recorded times are at or below.
+     * The result is the highest time in the bucket the percentile falls in, but never more than the largest time recorded.
+     * Input: fraction (double) from 0 to 1, e.g. 0.99 for the 99th percentile
+     * Return: the time (int), 0 if nothing has been recorded
+     */
+    public int percentile(double fraction) {
+        if(count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));//position of the percentile in sorted order, counting from 1
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    /*
+     * Return: the bucket a time is counted in (int)
+     */
+    private static int bucket(int value) {
+        if(value < LINEAR) {
+            return value;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(value);//value is between 2^exponent and 2^(exponent + 1) - 1
+        int shift = exponent - SUB_BITS;
+        return LINEAR + (exponent - 7) * SUB_BUCKETS + ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /*
+     * Return: the highest time counted in a bucket (int)
+     */
+    private static int highestValue(int bucket) {
+        if(bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 7;
+        int shift = exponent - SUB_BITS;
+        long lowest = (long) (SUB_BUCKETS + (bucket - LINEAR) % SUB_BUCKETS) << shift;
+        return (int) Math.min(lowest + (1L << shift) - 1, Integer.MAX_VALUE);
+    }
+}
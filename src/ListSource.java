@@ -0,0 +1,29 @@
+/**
+ * ProcessSource that gives out a copy of each process in an ArrayList, in list order.
+ * The list is not changed, so the same list can be given to more than one scheduler.
+ */
+import java.util.ArrayList;
+
+public class ListSource implements ProcessSource {
+    private ArrayList<Process> list;//the processes to give out, sorted by arrival time
+    private int next;//index of the next process to give out
+
+    /*
+     * Input: ArrayList of processes sorted by arrival time
+     */
+    public ListSource(ArrayList<Process> list) {
+        this.list = list;
+        next = 0;
+    }
+
+    /*
+     * Return: a copy of the next process in the list, or null at the end of the list
+     */
+    public Process next() {
+        if(next == list.size()) {
+            return null;
+        }
+        Process process = list.get(next++);
+        return new Process(process.getProcessId(), process.getArrivalTime(), process.getExecTime(), process.getTickets());
+    }
+}
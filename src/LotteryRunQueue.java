@@ -0,0 +1,146 @@
+/**
+ * Lottery scheduling run queue. Each waiting job holds its tickets, and the job that runs next for one time quantum is the holder of a
+ * ticket drawn at random, so over time each job gets a share of the processor in proportion to its tickets.
+ *
+ * The waiting jobs sit in slots of a Fenwick tree of ticket counts, so adding a job, removing one and finding the holder of a ticket
+ * each take about log(waiting jobs) steps, however many jobs are waiting.
+ * Tickets are drawn from a SplitMixRandom made from a seed, so the same seed and jobs always give the same results.
+ */
+import java.util.Arrays;
+
+public class LotteryRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    public static final long DEFAULT_SEED = 1;//seed used when none is given
+
+    private JobTable jobs;//the jobs the rows belong to
+    private int timeQuantum;//longest time a job runs before the next draw
+    private SplitMixRandom random;//draws the winning tickets
+    private int capacity;//number of slots, a power of 2
+    private long[] tree;//Fenwick tree of the tickets in each slot, tree[i] holds the tickets of slots i - (i & -i) to i - 1
+    private int[] rows;//row in each slot
+    private int[] freeSlots;//stack of slots with no job in them
+    private int freeCount;//number of slots in freeSlots
+    private int count;//number of waiting jobs
+    private long total;//tickets held by the waiting jobs
+    private int drawn;//slot that won the last draw made by peek() and has not been removed yet, -1 if none
+
+    /*
+     * Input: JobTable of the jobs, the time quantum (int) and the seed the tickets are drawn with (long)
+     */
+    public LotteryRunQueue(JobTable jobs, int timeQuantum, long seed) {
+        this.jobs = jobs;
+        this.timeQuantum = timeQuantum;
+        random = new SplitMixRandom(seed);
+        capacity = 0;
+        count = 0;
+        total = 0;
+        drawn = -1;
+        grow(16);
+    }
+
+    public void arrive(int row) {
+        add(row);
+    }
+
+    public void requeue(int row) {
+        add(row);
+    }
+
+    public int next() {
+        int slot = drawn >= 0 ? drawn : draw();
+        drawn = -1;
+        int row = rows[slot];
+        update(slot, -jobs.getTickets(row));
+        total -= jobs.getTickets(row);
+        freeSlots[freeCount++] = slot;
+        count--;
+        return row;
+    }
+
+    /*
+     * Draws the winner of the next draw, which next() then removes.
+     */
+    public int peek() {
+        if(drawn < 0) {
+            drawn = draw();
+        }
+        return rows[drawn];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int timeSlice(int row) {
+        return Math.min(timeQuantum, jobs.getRemaining(row));
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+
+    /*
+     * Put a job in a free slot. A draw made by peek() is kept, as the job arrived after it.
+     */
+    private void add(int row) {
+        if(freeCount == 0) {
+            grow(capacity * 2);
+        }
+        int slot = freeSlots[--freeCount];
+        rows[slot] = row;
+        update(slot, jobs.getTickets(row));
+        total += jobs.getTickets(row);
+        count++;
+    }
+
+    /*
+     * Draws a ticket and finds the slot holding it, by walking down the Fenwick tree from the largest power of 2.
+     * Return: the winning slot (int)
+     */
+    private int draw() {
+        long ticket = random.nextLong(total);
+        int position = 0;//every slot before position holds tickets numbered below the ticket
+        for(int step = capacity; step > 0; step >>>= 1) {
+            if(position + step <= capacity && tree[position + step] <= ticket) {
+                position += step;
+                ticket -= tree[position];
+            }
+        }
+        return position;
+    }
+
+    /*
+     * Add change to the tickets held in a slot.
+     */
+    private void update(int slot, long change) {
+        for(int i = slot + 1; i <= capacity; i += i & -i) {
+            tree[i] += change;
+        }
+    }
+
+    /*
+     * Make room for newCapacity jobs and build the tree again from the jobs in the slots.
+     */
+    private void grow(int newCapacity) {
+        int oldCapacity = capacity;
+        capacity = newCapacity;
+        rows = oldCapacity == 0 ? new int[newCapacity] : Arrays.copyOf(rows, newCapacity);
+        freeSlots = new int[newCapacity];
+        freeCount = 0;
+        for(int slot = newCapacity - 1; slot >= oldCapacity; slot--) {//every old slot is full, as the tree only grows when none are free
+            freeSlots[freeCount++] = slot;
+        }
+        tree = new long[newCapacity + 1];
+        for(int slot = 0; slot < oldCapacity; slot++) {
+            tree[slot + 1] += jobs.getTickets(rows[slot]);
+            int parent = slot + 1 + ((slot + 1) & -(slot + 1));
+            if(parent <= newCapacity) {
+                tree[parent] += tree[slot + 1];
+            }
+        }
+    }
+}
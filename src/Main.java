@@ -3,154 +3,917 @@
  * Date        : 25/10/2016
  *
  * Takes as input, a command line argument of the data file name (String) to open which contains a list of processes. 
- * FCFS, SRT, RR and FB (constant) schedule algorithms are performed on stored processes and waiting time and turnaround results are output.
+ * FCFS, SRT, RR, FB (constant), SPN, HRRN, Lottery, Stride and MLFQ schedule algorithms are performed on stored processes and waiting time and turnaround results are output.
  * Average wait time and turnaround time for each algorithm are also output.
+ * The algorithms run at the same time on a thread pool and their results are output in order once they have all finished.
+ *
+ * The data file can be a text datafile or a binary workload file made with:
+ *   java Main convert <datafile> <binary file>
+ *
+ * A binary dispatch log can be output as text with:
+ *   java Main trace <binary log>
+ *
+ * A synthetic workload can be scheduled instead of a data file with --generate, or written to a datafile with:
+ *   java Main generate <datafile> [generator options]
+ * Generator options:
+ *   --seed=N         seed the workload is made from (default 1), the same seed and options always give the same workload
+ *   --jobs=N         number of processes (default 1000)
+ *   --arrivals=P     arrival pattern: poisson, bursty or diurnal (default poisson)
+ *   --exec=D         exec size distribution: exponential, bimodal or pareto (default exponential)
+ *   --mean-gap=X     average time between arrivals (default 6)
+ *   --mean-exec=X    average exec size (default 5)
+ *
+ * Options may be given before the data file name:
+ *   --engine=classic use the original time stepped schedulers on lists of Process objects
+ *   --engine=event   use the event driven schedulers, which only make a decision when a process arrives or finishes and run on a JobTable (default)
+ *   --fb-levels=N    number of FB priority levels, from 1 to 64 (default 6)
+ *   --quantum=N      time quantum of RR, FB, Lottery and Stride, at least 1 (default 4)
+ *   --lottery-seed=N seed Lottery draws its tickets with (default 1), the same seed always gives the same results
+ *   --mlfq-quanta=L  time quantum of each MLFQ level, top level first, such as 1,2,4,8 for 4 levels, 1 to 64 values of at least 1
+ *                    (default 1,2,4,8,16,32)
+ *   --mlfq-boost=N   time between MLFQ priority boosts, which move every job back up to the top level, 0 for none (default 100)
+ *   --sweep-quanta=R run RR and FB for every time quantum in R and output a table of average wait and turnaround times instead
+ *   --sweep-levels=R run FB for every number of priority levels in R, with every quantum of --sweep-quanta
+ *                    R is a list of values and ranges such as 1-16, 1-64:4 (every 4th value) or 2,4,8
+ *   --trace=T        where the time each process is sent to the processor goes: text (output with the results, the default),
+ *                    off, binary:<file> (a compact binary log for each algorithm in <file>.FCFS, <file>.RR and so on)
+ *                    or recorder:N (only the last N dispatches of each algorithm are kept and output)
+ *   --stream         read the datafile while the schedulers run instead of before, the datafile must be in arrival time order.
+ *                    Uses the event driven schedulers.
+ *   --online         read the processes from the data file as they are written to it, which can be a named pipe or - for stdin.
+ *                    Each finished job is added to the averages and dropped, so memory only depends on how many jobs are in the system at once.
+ *                    Only the summary is output, and the trace is off unless --trace is given.
+ *   --generate       schedule a synthetic workload made from the generator options instead of reading a data file.
+ *                    Each scheduler takes the processes as they are made, like --stream. With --online finished jobs are dropped as well,
+ *                    so any number of jobs can be scheduled in the same memory.
+ *   --cpus=N         run every algorithm on N processor cores with MultiCore, from 1 to 65536, and output the utilization of each core
+ *                    and the number of steals and migrations. Uses the event driven schedulers, so it cannot be used with --engine=classic.
+ *                    The trace does not say which core a process went to.
+ *   --queues=Q       with --cpus, per-core (a run queue for each core, idle cores steal work, the default) or global (one shared run queue)
+ *   --checkpoint=F   save the whole state of each algorithm to F.FCFS, F.RR and so on every so often while it runs and once it has finished,
+ *                    so that a run can be resumed if the JVM stops. A text trace is written to F.FCFS.trace and so on as it runs.
+ *                    Uses the event driven schedulers, and cannot be used with --engine=classic, --stream, --generate, --online or a sweep.
+ *   --checkpoint-interval=S seconds between checkpoints, at least 1 (default 60)
+ *   --resume         with --checkpoint, carry on each algorithm from its last checkpoint, which must be of the same data file and options.
+ *                    The output is the same as a run that was never stopped. An algorithm with no checkpoint yet starts from the beginning.
+ *   --cache=D        keep the results of each algorithm in the result cache in directory D, and output the results kept there instead of
+ *                    running an algorithm again on the same processes with the same settings and the same build of the simulator.
+ *                    Uses the event driven schedulers, and cannot be used with --engine=classic, --stream, --generate, --online or a sweep.
+ *                    Algorithms with a binary trace are not cached.
+ *   --cache-size=N   megabytes the result cache can take up before the least recently used results are deleted, at least 1 (default 512)
+ *   --append=F       for a data file that processes are added to the end of, in arrival time order. Each algorithm runs on an online table,
+ *                    as with --online, and saves its state to F.FCFS, F.RR and so on once it has admitted every process in the data file.
+ *                    The next run with the same F and options reads the data file from where each state got to and carries the algorithm on
+ *                    with the processes added since, which must arrive after the time the state was saved at, so only they are run.
+ *                    The output is the same as --online on the whole data file, apart from the trace, which starts from the saved state.
+ *                    Needs a text data file, and cannot be used with --stream, --generate, --online, a sweep, --checkpoint or --cache.
+ *   --batch=D        run many data files in one JVM: every name that is not an option is a directory, a glob such as 'traces/*.txt' or
+ *                    'traces/**.txt', or a data file. The output of each data file, the same as a run on it on its own, is written to D/<name>.out,
+ *                    then a summary of the average times of every data file is output, with the error of each one that could not be read or run.
+ *                    Data files are read, run and written as a pipeline, their algorithms sharing one thread for each core.
+ *                    Cannot be used with --stream, --generate, --online, a sweep, --checkpoint, --append or a binary trace.
+ *   --stats          once the run ends, output how long reading the processes, scheduling them and outputting the results took, then for
+ *                    each algorithm how long it took and what its event driven scheduler did: the events it handled and how many a second,
+ *                    the decisions, the average and longest run queue a decision was taken from, the preemptions and the demotions.
+ *                    The same are reported as simulator.Phase and simulator.Schedule events to JDK Flight Recorder when a recording is on.
+ *                    Cannot be used with --engine=classic, --batch or a sweep.
+ *   --batch-files=N  most data files a batch run holds at once, at least 1 (default the number of cores). Once it holds them,
+ *                    it only reads the next data file when one has been written.
+ *
+ * FCFS, RR, SRT and FB give the same output with either engine, where processes that share an ID are listed in the order they finished.
+ * SPN, HRRN, Lottery, Stride and MLFQ only have event driven schedulers, so with --engine=classic they still run on the Kernel and their
+ * headings say "(event engine)".
+ * --stream, --generate, --online, --append and sweeps only run the event driven schedulers, so they cannot be used with --engine=classic.
+ * The summary ends with the 50th, 90th, 99th and 99.9th percentiles of the waiting, turnaround and response (first dispatch minus arrival)
+ * times, taken from a fixed size LatencyHistogram for each algorithm.
  */
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 public class Main {
+    private static final String[] POLICIES = SchedulerTask.POLICIES;//schedule algorithms, in output order
+
     public static void main(String[]args) {
-        Scanner inputStream = null;
+        if(args.length > 0 && args[0].equals("convert")) {
+            convert(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equals("trace")) {
+            trace(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equals("generate")) {
+            generate(args);
+            return;
+        }
+
         ArrayList<Process> inputList = new ArrayList<Process>();//stores processes from datafile which is used to pass processes to schedule algorithms 
-        double fcfsAverageWait = 0.0;//used to calculate and store average wait time for FCFS schedule algorithm
-        double fcfsAverageTurnaround = 0.0;//used to calculate and store the average turnaround time for FCFS schedule algorithm
-        double rrAverageWait = 0.0;//used to calculate and store average wait time for RR schedule algorithm
-        double rrAverageTurnaround = 0.0;//used to calculate and store the average turnaround time for RR schedule algorithm
-        double srtAverageWait = 0.0;//used to calculate and store average wait time for SRT schedule algorithm
-        double srtAverageTurnaround = 0.0;//used to calculate and store the average turnaround time for SRT schedule algorithm
-        double fbAverageWait = 0.0;//used to calculate and store average wait time for FB schedule algorithm
-        double fbAverageTurnaround = 0.0;//used to calculate and store the average turnaround time for FB schedule algorithm
+        ProcessSource[] sources = new ProcessSource[POLICIES.length];//when streaming, where each schedule algorithm reads its processes from
+        String fileName = null;//name of the datafile passed in as command line argument
+        boolean eventEngine = true;//use the event driven schedulers instead of the time stepped ones
+        boolean classicEngine = false;//the last --engine given was classic, even if a later option switched eventEngine back on, checked against the options only the event driven schedulers have
+        int fbLevels = PolicySettings.DEFAULT_FB_LEVELS;//number of priority levels used by FB
+        int timeQuantum = Processor.DEFAULT_TIME_QUANTUM;//time quantum used by RR, FB, Lottery and Stride
+        long lotterySeed = LotteryRunQueue.DEFAULT_SEED;//seed Lottery draws its tickets with
+        int[] mlfqQuanta = PolicySettings.geometricQuanta(PolicySettings.DEFAULT_MLFQ_LEVELS);//time quantum of each MLFQ level
+        int mlfqBoost = PolicySettings.DEFAULT_MLFQ_BOOST;//time between MLFQ priority boosts
+        String sweepQuanta = null;//range of time quanta to sweep over
+        String sweepLevels = null;//range of FB priority levels to sweep over
+        String trace = null;//where dispatches are reported, see SchedulerTask, text unless --trace is given
+        boolean streaming = false;//each scheduler reads the datafile as it runs
+        boolean generating = false;//each scheduler takes a synthetic workload as it is made
+        boolean online = false;//jobs are read as they are written and dropped once they finish
+        int cpus = 0;//number of processor cores, 0 for the single processor schedulers
+        boolean globalQueue = false;//with more than one core, every core shares one run queue
+        String checkpointName = null;//checkpoints are saved to this name followed by the algorithm, null for no checkpoints
+        int checkpointInterval = Checkpoint.DEFAULT_INTERVAL;//seconds between checkpoints
+        boolean resume = false;//carry on from the last checkpoints
+        String cacheName = null;//directory of the result cache, null for no cache
+        long cacheSize = ResultCache.DEFAULT_SIZE;//bytes the result cache can take up
+        String appendName = null;//an append run keeps the state of each algorithm in this name followed by the algorithm, null if this is not an append run
+        String batchName = null;//a batch run writes the output of each data file to this directory, null if this is not a batch run
+        int batchFiles = Runtime.getRuntime().availableProcessors();//most data files a batch run holds at once
+        ArrayList<String> fileNames = new ArrayList<String>();//every name that is not an option, the data files of a batch run
+        boolean showStats = false;//output how long each phase took and what each scheduler did once the run ends
 
-        try
-        {
-            if(args.length == 0) {//check if user has passed a datafile name (String) as command line argument
-                throw new FileNotFoundException();
+        for(int i = 0; i < args.length; i++) {
+            if(args[i].equals("--engine=event")) {
+                eventEngine = true;
+                classicEngine = false;
+            }
+            else if(args[i].equals("--engine=classic")) {
+                eventEngine = false;
+                classicEngine = true;
+            }
+            else if(args[i].equals("--stream")) {
+                streaming = true;
+                eventEngine = true;//only the event driven schedulers can take processes as they arrive
+            }
+            else if(args[i].equals("--online")) {
+                online = true;
+            }
+            else if(args[i].equals("--generate")) {
+                generating = true;
+                streaming = true;//the generated processes are already in arrival time order
+                eventEngine = true;
+            }
+            else if(isGeneratorOption(args[i])) {
+                //read by generatorOptions()
+            }
+            else if(args[i].startsWith("--fb-levels=")) {
+                try {
+                    fbLevels = Integer.parseInt(args[i].substring("--fb-levels=".length()));
+                }
+                catch (NumberFormatException e) {
+                    fbLevels = 0;//reported as out of range below
+                }
+                if(fbLevels < 1 || fbLevels > EventFB.MAX_LEVELS) {
+                    System.out.println("Error occured. FB levels must be between 1 and " + EventFB.MAX_LEVELS + ".");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--quantum=")) {
+                try {
+                    timeQuantum = Integer.parseInt(args[i].substring("--quantum=".length()));
+                }
+                catch (NumberFormatException e) {
+                    timeQuantum = 0;//reported as out of range below
+                }
+                if(timeQuantum < 1) {
+                    System.out.println("Error occured. Time quantum must be at least 1.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--lottery-seed=")) {
+                try {
+                    lotterySeed = Long.parseLong(args[i].substring("--lottery-seed=".length()));
+                }
+                catch (NumberFormatException e) {
+                    System.out.println("Error occured. Lottery seed must be a whole number.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--mlfq-quanta=")) {
+                mlfqQuanta = parseQuanta(args[i].substring("--mlfq-quanta=".length()));
+                if(mlfqQuanta == null) {
+                    System.out.println("Error occured. MLFQ quanta must be 1 to " + EventFB.MAX_LEVELS + " whole numbers of at least 1, such as 1,2,4,8.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--mlfq-boost=")) {
+                try {
+                    mlfqBoost = Integer.parseInt(args[i].substring("--mlfq-boost=".length()));
+                }
+                catch (NumberFormatException e) {
+                    mlfqBoost = -1;//reported as out of range below
+                }
+                if(mlfqBoost < 0) {
+                    System.out.println("Error occured. MLFQ boost must be a whole number of at least 0.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--cpus=")) {
+                try {
+                    cpus = Integer.parseInt(args[i].substring("--cpus=".length()));
+                }
+                catch (NumberFormatException e) {
+                    cpus = 0;//reported as out of range below
+                }
+                if(cpus < 1 || cpus > MultiCore.MAX_CORES) {
+                    System.out.println("Error occured. CPUs must be between 1 and " + MultiCore.MAX_CORES + ".");
+                    System.exit(0);
+                }
+                eventEngine = true;//MultiCore runs on a JobTable
+            }
+            else if(args[i].equals("--queues=per-core")) {
+                globalQueue = false;
+            }
+            else if(args[i].equals("--queues=global")) {
+                globalQueue = true;
+            }
+            else if(args[i].startsWith("--queues=")) {
+                System.out.println("Error occured. Queues must be per-core or global.");
+                System.exit(0);
+            }
+            else if(args[i].startsWith("--trace=")) {
+                trace = args[i].substring("--trace=".length());
+                if(!trace.equals("text") && !trace.equals("off") && !(trace.startsWith("binary:") && trace.length() > "binary:".length())
+                    && !(trace.startsWith("recorder:") && trace.substring("recorder:".length()).matches("0*[1-9][0-9]{0,8}"))) {
+                    System.out.println("Error occured. Trace must be text, off, binary:<file> or recorder:N.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--checkpoint=")) {
+                checkpointName = args[i].substring("--checkpoint=".length());
+                if(checkpointName.isEmpty()) {
+                    System.out.println("Error occured. Checkpoint must be a file name.");
+                    System.exit(0);
+                }
+                eventEngine = true;//only the event driven schedulers keep their state where it can be saved
+            }
+            else if(args[i].startsWith("--checkpoint-interval=")) {
+                try {
+                    checkpointInterval = Integer.parseInt(args[i].substring("--checkpoint-interval=".length()));
+                }
+                catch (NumberFormatException e) {
+                    checkpointInterval = 0;//reported as out of range below
+                }
+                if(checkpointInterval < 1) {
+                    System.out.println("Error occured. Checkpoint interval must be a whole number of seconds of at least 1.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].equals("--resume")) {
+                resume = true;
+            }
+            else if(args[i].startsWith("--cache=")) {
+                cacheName = args[i].substring("--cache=".length());
+                if(cacheName.isEmpty()) {
+                    System.out.println("Error occured. Cache must be a directory name.");
+                    System.exit(0);
+                }
+                eventEngine = true;//the cached results are the event driven schedulers' job tables
             }
+            else if(args[i].startsWith("--cache-size=")) {
+                try {
+                    cacheSize = Long.parseLong(args[i].substring("--cache-size=".length())) << 20;
+                }
+                catch (NumberFormatException e) {
+                    cacheSize = 0;//reported as out of range below
+                }
+                if(cacheSize < 1L << 20 || cacheSize >> 20 > Integer.MAX_VALUE) {
+                    System.out.println("Error occured. Cache size must be a whole number of megabytes of at least 1.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--append=")) {
+                appendName = args[i].substring("--append=".length());
+                if(appendName.isEmpty()) {
+                    System.out.println("Error occured. Append state must be a file name.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].equals("--stats")) {
+                showStats = true;
+            }
+            else if(args[i].startsWith("--batch=")) {
+                batchName = args[i].substring("--batch=".length());
+                if(batchName.isEmpty()) {
+                    System.out.println("Error occured. Batch output must be a directory name.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--batch-files=")) {
+                try {
+                    batchFiles = Integer.parseInt(args[i].substring("--batch-files=".length()));
+                }
+                catch (NumberFormatException e) {
+                    batchFiles = 0;//reported as out of range below
+                }
+                if(batchFiles < 1) {
+                    System.out.println("Error occured. Batch files must be a whole number of at least 1.");
+                    System.exit(0);
+                }
+            }
+            else if(args[i].startsWith("--sweep-quanta=")) {
+                sweepQuanta = args[i].substring("--sweep-quanta=".length());
+            }
+            else if(args[i].startsWith("--sweep-levels=")) {
+                sweepLevels = args[i].substring("--sweep-levels=".length());
+            }
+            else {
+                if(fileName == null) {
+                    fileName = args[i];
+                }
+                fileNames.add(args[i]);
+            }
+        }
 
-            inputStream = new Scanner (new File(args[0]));
-            while (inputStream.hasNextLine())
-            {     
-                inputStream.nextLine();//ignore line
-                inputStream.nextLine();//ignore line
+        if(classicEngine && (streaming || online || appendName != null || sweepQuanta != null || sweepLevels != null)) {
+            System.out.println("Error occured. --stream, --generate, --online, --append and sweeps cannot be used with --engine=classic.");
+            System.exit(0);
+        }
+        if(cpus > 0 && classicEngine) {
+            System.out.println("Error occured. --cpus cannot be used with --engine=classic.");
+            System.exit(0);
+        }
+        if(resume && checkpointName == null) {
+            System.out.println("Error occured. --resume needs --checkpoint=<file>.");
+            System.exit(0);
+        }
+        if(checkpointName != null && (streaming || online || sweepQuanta != null || sweepLevels != null)) {
+            System.out.println("Error occured. Checkpoints cannot be used with --stream, --generate, --online or a sweep.");
+            System.exit(0);
+        }
+        if(checkpointName != null && classicEngine) {
+            System.out.println("Error occured. Checkpoints cannot be used with --engine=classic.");
+            System.exit(0);
+        }
+        if(cacheName != null && (streaming || online || sweepQuanta != null || sweepLevels != null)) {
+            System.out.println("Error occured. The result cache cannot be used with --stream, --generate, --online or a sweep.");
+            System.exit(0);
+        }
+        if(cacheName != null && classicEngine) {
+            System.out.println("Error occured. The result cache cannot be used with --engine=classic.");
+            System.exit(0);
+        }
+        if(appendName != null && (streaming || online || sweepQuanta != null || sweepLevels != null || checkpointName != null || cacheName != null)) {
+            System.out.println("Error occured. --append cannot be used with --stream, --generate, --online, a sweep, --checkpoint or --cache.");
+            System.exit(0);
+        }
 
-                String processId = inputStream.nextLine();//store processID as string
-                if(processId.equals("EOF")){//test for end of file
-                    //do nothing, loop will break on next pass
-                }
-                else{
-                    processId = processId.substring(4);//extract only p# from string
+        if(batchName != null && (streaming || online || sweepQuanta != null || sweepLevels != null || checkpointName != null || appendName != null
+            || (trace != null && trace.startsWith("binary:")))) {
+            System.out.println("Error occured. --batch cannot be used with --stream, --generate, --online, a sweep, --checkpoint, --append or a binary trace.");
+            System.exit(0);
+        }
 
-                    String tempArrive = inputStream.nextLine();//store arriveTime as string
-                    tempArrive = tempArrive.replaceAll("\\D+","");//extract only ints from string
-                    int arrivalTime = Integer.parseInt(tempArrive);//convert string to int
+        if(showStats && (batchName != null || sweepQuanta != null || sweepLevels != null)) {
+            System.out.println("Error occured. --stats cannot be used with --batch or a sweep.");
+            System.exit(0);
+        }
+        if(showStats && classicEngine) {
+            System.out.println("Error occured. --stats cannot be used with --engine=classic.");
+            System.exit(0);
+        }
 
-                    String tempExec = inputStream.nextLine();//store execTime as string
-                    tempExec = tempExec.replaceAll("\\D+","");//extract only ints from string
-                    int execSize = Integer.parseInt(tempExec);//convert string to int
+        PolicySettings settings = new PolicySettings(fbLevels, timeQuantum, lotterySeed, mlfqQuanta, mlfqBoost);
+        if(online) {
+            runOnline(fileName == null ? "-" : fileName, generating ? generatorOptions(args) : null, settings, cpus, globalQueue,
+                trace == null ? "off" : trace, showStats);
+            return;
+        }
+        if(batchName != null) {
+            Batch.run(fileNames, batchName, batchFiles, eventEngine, settings, cpus, globalQueue, trace == null ? "text" : trace, cacheName, cacheSize);
+            return;
+        }
+        if(appendName != null) {
+            runAppend(fileName, appendName, settings, cpus, globalQueue, trace == null ? "off" : trace, showStats);
+            return;
+        }
+        if(trace == null) {
+            trace = "text";
+        }
 
-                    Process newProcess = new Process(processId, arrivalTime, execSize);//create new process
-                    inputList.add(newProcess);                    
+        Phases phases = new Phases();//how long each phase of the run takes
+        phases.start("Read");
+        try
+        {
+            if(generating) {
+                //each schedule algorithm has its own generator, which makes the same processes from the same seed
+                WorkloadGenerator generator = generatorOptions(args);
+                for(int i = 0; i < POLICIES.length; i++) {
+                    sources[i] = new ArrivalGroupSource(generator.copy(), SchedulerTask.arrivalOrder(POLICIES[i]));
+                }
+            }
+            else if(fileName == null) {//check if user has passed a datafile name (String) as command line argument
+                throw new FileNotFoundException();
+            }
+            else if(streaming && BinaryWorkload.isBinary(new File(fileName))) {
+                //a binary workload loads in one read, so each schedule algorithm takes its processes from the one list as they arrive
+                ArrayList<Process> binaryList = BinaryWorkload.readAll(new File(fileName));
+                for(int i = 0; i < POLICIES.length; i++) {
+                    sources[i] = new ArrivalGroupSource(new ListSource(binaryList), SchedulerTask.arrivalOrder(POLICIES[i]));
                 }
             }
-            inputStream.close ();//close file
+            else if(streaming) {
+                //each schedule algorithm has its own parser on the datafile, the datafile is shared through the memory map
+                //processes with the same arrival time are put in the same order that sorting the whole list gives
+                for(int i = 0; i < POLICIES.length; i++) {
+                    sources[i] = new ArrivalGroupSource(new DataFileParser(new File(fileName)), SchedulerTask.arrivalOrder(POLICIES[i]));
+                }
+            }
+            else if(BinaryWorkload.isBinary(new File(fileName))) {//binary workload files are loaded in bulk rather than parsed
+                inputList = BinaryWorkload.readAll(new File(fileName));//read every process from the binary workload file
+            }
+            else {
+                inputList = DataFileParser.readAll(new File(fileName));//read every process from the datafile
+            }
         } 
-        catch (FileNotFoundException e) 
+        catch (IOException e) 
         { 
             System.out.println("Error occured. File failed to open.");
             System.exit(0);//exit program as no input file has been loaded in
         }
-        Process process;//temp Process object used to store each process each output list
-        Comparator<Process> arrivalComparator = Process.arriveTimeComparator();//used to sort processes in list by arrival time
-        Collections.sort(inputList, arrivalComparator);//sorts inputList by arrival time
+        catch (RuntimeException e)//a record the parser cannot read, such as a missing or too large number
+        {
+            System.out.println("Error occured. Failed to read processes: " + e);
+            System.exit(0);
+        }
+        //the event driven schedulers admit the processes through each table's arrival index in any order, only the time stepped schedulers need sorted lists
+        ArrayList<Process> srtInput = inputList;//SRT takes the processes in arrival time then exec time order
+        ArrayList<Process> fbInput = inputList;//FB and MLFQ take the processes in arrival time then processID order
+        if(!eventEngine) {
+            ProcessOrder order = new ProcessOrder(inputList);//every order is worked out once with radix sorts, not a comparator sort for each
+            inputList = order.byArrival();//FCFS, RR, SPN, HRRN, Lottery and Stride take the processes in arrival time order
+            srtInput = order.byArrivalExec();
+            fbInput = order.byArrivalId();
+        }
+
+        if(sweepQuanta != null || sweepLevels != null) {
+            int[] quanta = sweepQuanta == null ? new int[] {timeQuantum} : parseRange(sweepQuanta, 1, Integer.MAX_VALUE);
+            int[] levels = sweepLevels == null ? new int[] {fbLevels} : parseRange(sweepLevels, 1, EventFB.MAX_LEVELS);
+            JobTable rrTable = streaming ? new JobTable(sources[policyIndex("RR")], 0) : JobTable.fromList(inputList);
+            JobTable fbTable = streaming ? new JobTable(sources[policyIndex("FB")], 0) : rrTable.newRun();
+            if(!streaming) {
+                fbTable.setTieOrder(SchedulerTask.tieOrder("FB"));
+            }
+            sweep(new Sweep(rrTable, fbTable, quanta, levels), quanta, levels);
+            return;
+        }
+
+        //the event driven schedulers run on job tables, which all share the input columns of one table of the processes in datafile order
+        JobTable[] tables = new JobTable[POLICIES.length];
+        JobTable inputTable = null;//table of the processes in datafile order, once one has been made
+        for(int i = 0; i < POLICIES.length; i++) {
+            if(streaming) {
+                tables[i] = new JobTable(sources[i], 0);
+            }
+            else if(eventEngine) {
+                tables[i] = inputTable == null ? JobTable.fromList(inputList) : inputTable.newRun();
+                tables[i].setTieOrder(SchedulerTask.tieOrder(POLICIES[i]));
+                inputTable = tables[i];
+            }
+        }
 
-        /*---------------FCFS---------------*/
-        System.out.println("FCFS:");
-        FCFS fcfs = new FCFS(inputList);//pass the list of processes into FCFS schedule algorithm
-        ArrayList<Process> outputFCFS = fcfs.start();//run FCFS algorithm and store processed processes in array used for outputing FCFS data
+        ResultCache cache = null;//where results are kept between runs, null for no cache
+        String workload = null;//digest of the processes, which the results are kept under
+        if(cacheName != null) {
+            try
+            {
+                cache = new ResultCache(new File(cacheName), cacheSize);
+            }
+            catch (IOException e)
+            {
+                System.out.println("Error occured. Cache directory could not be made.");
+                System.exit(0);
+            }
+            workload = ResultCache.digest(inputTable);
+        }
 
-        for(int i = 0; i < outputFCFS.size(); i++) {
-            System.out.println("T" + outputFCFS.get(i).getProcessStartTime() + ":  " + outputFCFS.get(i).getProcessId());
+        phases.start("Schedule");
+        //every schedule algorithm works on its own copy of the processes and has its own timer, so they all run at the same time
+        SchedulerTask[] tasks = new SchedulerTask[POLICIES.length];
+        ArrayList<Future<JobTable>> results = new ArrayList<Future<JobTable>>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(POLICIES.length, Runtime.getRuntime().availableProcessors()));
+        for(int i = 0; i < POLICIES.length; i++) {
+            ArrayList<Process> input = POLICIES[i].equals("SRT") ? srtInput : SchedulerTask.arrivalOrder(POLICIES[i]) != null ? fbInput : inputList;
+            tasks[i] = new SchedulerTask(POLICIES[i], input, tables[i], settings, cpus, globalQueue, trace);
+            tasks[i].setCounting(showStats);
+            if(checkpointName != null) {
+                tasks[i].setCheckpoint(checkpointName, checkpointInterval, resume);
+            }
+            if(cache != null) {
+                tasks[i].setCache(cache, workload);
+            }
+            results.add(pool.submit(tasks[i]));
         }
+        pool.shutdown();
 
-        Comparator<Process> nameComparatorFCFS = Process.processIDComparator();//used to sort processes in list by processID
-        Collections.sort(outputFCFS, nameComparatorFCFS);//sorts inputList by processID
+        JobTable[] outputs = new JobTable[POLICIES.length];//processed jobs used for outputing each algorithm's data
+        try
+        {
+            for(int i = 0; i < POLICIES.length; i++) {
+                outputs[i] = results.get(i).get();
+            }
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            System.out.println("Error occured. A schedule algorithm failed: " + e.getCause());
+            System.exit(0);
+        }
 
-        System.out.format("\n%-10s%-15s%-20s", "Process", "Waiting Time", "Turnaround Time");
-        for(int i = 0; i < outputFCFS.size(); i++) {
-            process = outputFCFS.get(i);//store each process in FCFS output list
-            System.out.format("\n%-10s%-15s%-20s",process.getProcessId(), process.getWaitTime(), process.getTurnAroundTime());
-            fcfsAverageWait += process.getWaitTime();//accumulate FCFS process wait times used to calculate FCFS average wait time
-            fcfsAverageTurnaround += process.getTurnAroundTime();//accumulate FCFS process wait times used to calculate FCFS average turnaround time 
+        phases.start("Output");
+        Report.printRun(System.out, tasks, outputs);
+        phases.end();
+        if(showStats) {
+            phases.print(System.out, tasks);
         }
+    }        
 
-        /*---------------RR---------------*/
+    /*
+     * Runs every schedule algorithm online: processes are read from a stream as they are written and handed to every algorithm
+     * through its own bounded queue, and each algorithm runs on an online JobTable that drops jobs once they finish.
+     * With a WorkloadGenerator each algorithm instead takes the processes from its own copy of the generator as they are made,
+     * so memory only depends on how many jobs are in the system at once, however many jobs are made.
+     * Outputs the trace option's output, the number of jobs and the most jobs in the system at once for each algorithm, then the summary.
+     * Input: data file name (String), - for stdin, WorkloadGenerator to take the processes from instead, or null,
+     *        PolicySettings of the schedule algorithms, number of cores (int), 0 for one processor, true for a global run queue,
+     *        trace option (String) and true to output the statistics of the run at the end
+     * Return: none
+     */
+    private static void runOnline(String fileName, WorkloadGenerator generator, PolicySettings settings, int cpus, boolean globalQueue,
+        String trace, boolean showStats) {
+        Phases phases = new Phases();
+        phases.start("Schedule");//the processes are read while the algorithms run
 
-        Comparator<Process> arrivalComparatorRR = Process.arriveTimeComparator();//used to sort processes in list by arrival time
-        Collections.sort(inputList, arrivalComparatorRR); //sorts inputList by arrival time
+        //every algorithm has to be running to take from its queue, so each gets its own thread
+        ExecutorService pool = Executors.newFixedThreadPool(POLICIES.length);
+        QueueSource[] queues = new QueueSource[POLICIES.length];
+        SchedulerTask[] tasks = new SchedulerTask[POLICIES.length];
+        ArrayList<Future<JobTable>> results = new ArrayList<Future<JobTable>>();
+        for(int i = 0; i < POLICIES.length; i++) {
+            queues[i] = new QueueSource(64);
+            ProcessSource source = generator != null ? generator.copy() : queues[i];//each generator makes the same processes from the same seed
+            JobTable jobs = new JobTable(new ArrivalGroupSource(source, SchedulerTask.arrivalOrder(POLICIES[i])), new JobStats());
+            tasks[i] = new SchedulerTask(POLICIES[i], null, jobs, settings, cpus, globalQueue, trace);
+            tasks[i].setCounting(showStats);
+            results.add(pool.submit(tasks[i]));
+        }
+        pool.shutdown();
 
-        System.out.println("\n\nRR:");
-        RR rr =  new RR(inputList);//pass the list of processes into RR schedule algorithm
-        ArrayList<Process> outputRR = rr.start();//run RR algorithm and store processed processes in array used for outputing RR data
+        if(generator == null) {//each generator makes the processes as its algorithm takes them, so there is nothing to read
+            try
+            {
+                InputStream in = fileName.equals("-") ? System.in : new FileInputStream(fileName);
+                DataStreamParser parser = new DataStreamParser(in);
+                ArrayList<Process> batch = new ArrayList<Process>();
+                Process process;
+                while((process = parser.next()) != null) {
+                    batch.add(process);
+                    if(batch.size() == 1024 || !parser.ready()) {//hand over what has been read before waiting for more input
+                        handOver(batch, queues, results);
+                        batch = new ArrayList<Process>();
+                    }
+                }
+                if(batch.size() > 0) {
+                    handOver(batch, queues, results);
+                }
+                handOver(new ArrayList<Process>(), queues, results);//end of the processes
+                parser.close();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                System.out.println("Error occured. Failed to read processes: " + e);
+                System.exit(0);
+            }
+        }
 
-        Comparator<Process> nameComparatorRR = Process.processIDComparator();//used to sort processes in list by processID
-        Collections.sort(outputRR, nameComparatorRR);//sorts inputList by name
+        Report.printOnline(tasks, results, phases);
+        if(showStats) {
+            phases.print(System.out, tasks);
+        }
+    }
 
-        System.out.format("\n%-10s%-15s%-20s", "Process", "Waiting Time", "Turnaround Time");
-        for(int i = 0; i < outputRR.size(); i++) { //format this!!!!!!!!!!!!!!!!!!!!!!!
-            process = outputRR.get(i);//store each process in RR output list
-            System.out.format("\n%-10s%-15s%-20s",process.getProcessId(), process.getWaitTime(), process.getTurnAroundTime());
-            rrAverageWait += process.getWaitTime();//accumulate RR process wait times used to calculate FCFS average wait time
-            rrAverageTurnaround += process.getTurnAroundTime();//accumulate RR process wait times used to calculate FCFS average turnaround time 
+    /*
+     * Runs every schedule algorithm on the processes added to the end of the data file since the last append run with the same state name,
+     * each carrying on from the state it saved then, or on every process if it has no state yet. Each algorithm runs on an online JobTable
+     * and reads the data file itself, from the position its state was saved at, like --stream. It saves its state again once it has admitted
+     * every process, and the new states are only kept once every algorithm has run, so a run that fails leaves them as they were.
+     * Outputs the same as runOnline() on the whole data file, apart from the trace, which only has the dispatches made from the saved states on.
+     * Input: data file name (String), name of the state files (String), PolicySettings of the schedule algorithms,
+     *        number of cores (int), 0 for one processor, true for a global run queue, trace option (String)
+     *        and true to output the statistics of the run at the end
+     * Return: none
+     */
+    private static void runAppend(String fileName, String appendName, PolicySettings settings, int cpus, boolean globalQueue, String trace,
+        boolean showStats) {
+        File dataFile = new File(fileName == null ? "" : fileName);
+        try
+        {
+            if(BinaryWorkload.isBinary(dataFile)) {
+                System.out.println("Error occured. --append needs a text data file.");
+                System.exit(0);
+            }
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error occured. File failed to open.");
+            System.exit(0);
         }
 
-        /*---------------SRT---------------*/
+        Phases phases = new Phases();
+        phases.start("Schedule");//each algorithm reads the processes as it runs
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(POLICIES.length, Runtime.getRuntime().availableProcessors()));
+        SchedulerTask[] tasks = new SchedulerTask[POLICIES.length];
+        ArrayList<Future<JobTable>> results = new ArrayList<Future<JobTable>>();
+        for(int i = 0; i < POLICIES.length; i++) {
+            tasks[i] = new SchedulerTask(POLICIES[i], null, null, settings, cpus, globalQueue, trace);
+            tasks[i].setCounting(showStats);
+            tasks[i].setAppend(appendName, dataFile);
+            results.add(pool.submit(tasks[i]));
+        }
+        pool.shutdown();
 
-        Comparator<Process> arrivalExecComparatorSRT = Process.arrivalExecTimeComparator();//used to sort processes in list by arrival time then by exec time
-        Collections.sort(inputList, arrivalExecComparatorSRT); //sorts inputList by arrival time then exec time
+        JobTable[] outputs = new JobTable[POLICIES.length];
+        try
+        {
+            for(int i = 0; i < POLICIES.length; i++) {
+                outputs[i] = results.get(i).get();
+            }
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            System.out.println("Error occured. A schedule algorithm failed: " + e.getCause());
+            System.exit(0);
+        }
+        try
+        {
+            for(int i = 0; i < POLICIES.length; i++) {
+                tasks[i].commit();
+            }
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error occured. Append state could not be saved.");
+            System.exit(0);
+        }
+        Report.printOnline(tasks, results, phases);
+        if(showStats) {
+            phases.print(System.out, tasks);
+        }
+    }
 
-        System.out.println("\n\nSRT:");
-        SRT srt = new SRT(inputList);//pass the list of processes into SRT schedule algorithm
-        ArrayList<Process> outputSRT = srt.start();//run SRT algorithm and store processed processes in array used for outputing SRT data
+    /*
+     * Return: the position of a schedule algorithm in POLICIES (int)
+     */
+    private static int policyIndex(String policy) {
+        return Arrays.asList(POLICIES).indexOf(policy);
+    }
 
-        Comparator<Process> nameComparatorSRT = Process.processIDComparator();//used to sort processes in list by processID
-        Collections.sort(outputSRT, nameComparatorSRT); //sorts inputList by name
+    /*
+     * Hands a batch of processes to every online schedule algorithm that is still running, waiting while a queue is full.
+     * Input: batch of processes (ArrayList), the queue of each algorithm (QueueSource[]) and the result of each algorithm (ArrayList of Future)
+     * Return: none
+     */
+    private static void handOver(ArrayList<Process> batch, QueueSource[] queues, ArrayList<Future<JobTable>> results) {
+        try
+        {
+            for(int i = 0; i < queues.length; i++) {
+                while(!queues[i].offer(batch, 100) && !results.get(i).isDone()) {
+                    //keep waiting unless the algorithm has stopped, its error is output once every process has been read
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while handing over processes");
+        }
+    }
 
-        System.out.format("\n%-10s%-15s%-20s", "Process", "Waiting Time", "Turnaround Time");
-        for(int i = 0; i < outputSRT.size(); i++) { //format this!!!!!!!!!!!!!!!!!!!!!!!
-            process = outputSRT.get(i);//store each process in SRT output list
-            System.out.format("\n%-10s%-15s%-20s",process.getProcessId(), process.getWaitTime(), process.getTurnAroundTime());
-            srtAverageWait += process.getWaitTime();//accumulate SRT process wait times used to calculate SRT average wait time
-            srtAverageTurnaround += process.getTurnAroundTime();//accumulate SRT process wait times used to calculate SRT average turnaround time 
+    /*
+     * Runs a sweep and outputs the average waiting time and turnaround time of RR and FB for every combination.
+     * Input: Sweep to run, its time quanta (int[]) and numbers of FB priority levels (int[])
+     * Return: none
+     */
+    private static void sweep(Sweep sweep, int[] quanta, int[] levels) {
+        try
+        {
+            sweep.run();
+        }
+        catch (RuntimeException e)
+        {
+            System.out.println("Error occured. The sweep failed: " + e);
+            System.exit(0);
+        }
+        System.out.println("Sweep");
+        System.out.format("%-10s%-12s%-22s%-28s%-22s%-28s", "Quantum", "FB Levels", "RR Average Waiting", "RR Average Turnaround", "FB Average Waiting", "FB Average Turnaround");
+        for(int q = 0; q < quanta.length; q++) {
+            double[] rr = sweep.getRRAverages(q);
+            for(int l = 0; l < levels.length; l++) {
+                double[] fb = sweep.getFBAverages(q, l);
+                if(sweep.getJobs() == 0) {//a data file with no jobs has no averages
+                    System.out.format("\n%-10s%-12s%-22s%-28s%-22s%-28s", quanta[q], levels[l], "-", "-", "-", "-");
+                }
+                else {
+                    System.out.format("\n%-10s%-12s%-22.2f%-28.2f%-22.2f%-28.2f", quanta[q], levels[l], rr[0], rr[1], fb[0], fb[1]);
+                }
+            }
         }
+    }
 
-        /*---------------FB---------------*/
-        Comparator<Process> nameComparatorFB = Process.processIDComparator();//used to sort processes in list by processID
-        Collections.sort(inputList, nameComparatorFB); //sorts inputList by name
+    /*
+     * Reads a list of values and ranges such as "1-16", "1-64:4" (every 4th value from 1 to 64) or "2,4,8".
+     * Outputs an error and exits if the list cannot be read or a value is outside min to max.
+     * Input: the list (String), smallest allowed value (int) and largest allowed value (int)
+     * Return: every value in the list (int[]) in the order given
+     */
+    private static int[] parseRange(String list, int min, int max) {
+        ArrayList<Integer> values = new ArrayList<Integer>();
+        try
+        {
+            for(String part : list.split(",")) {
+                int step = 1;
+                int colon = part.indexOf(':');
+                if(colon >= 0) {
+                    step = Integer.parseInt(part.substring(colon + 1));
+                    part = part.substring(0, colon);
+                }
+                int dash = part.indexOf('-', 1);
+                int first = Integer.parseInt(part.substring(0, dash < 0 ? part.length() : dash));
+                int last = dash < 0 ? first : Integer.parseInt(part.substring(dash + 1));
+                if(step < 1 || first < min || last > max || first > last) {
+                    throw new NumberFormatException();
+                }
+                for(long value = first; value <= last; value += step) {
+                    values.add((int) value);
+                }
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            System.out.println("Error occured. Invalid sweep range " + list + ", values must be from " + min + " to " + max + ".");
+            System.exit(0);
+        }
+        int[] result = new int[values.size()];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
 
-        Comparator<Process> arrivalComparatorFB = Process.arriveTimeComparator();//used to sort processes in list by arrivalTime
-        Collections.sort(inputList, arrivalComparatorFB); //sorts inputList by arrival time
+    /*
+     * Reads a list of MLFQ level quanta such as "1,2,4,8".
+     * Input: the list (String)
+     * Return: the quantum of each level (int[]), or null if the list cannot be read, a quantum is below 1
+     *         or there are more than EventFB.MAX_LEVELS levels
+     */
+    private static int[] parseQuanta(String list) {
+        String[] parts = list.split(",", -1);
+        if(parts.length > EventFB.MAX_LEVELS) {
+            return null;
+        }
+        int[] quanta = new int[parts.length];
+        try
+        {
+            for(int i = 0; i < parts.length; i++) {
+                quanta[i] = Integer.parseInt(parts[i]);
+                if(quanta[i] < 1) {
+                    return null;
+                }
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+        return quanta;
+    }
 
-        System.out.println("\n\nFB (constant):");
-        FB fb = new FB(inputList);//pass the list of processes into FB (constant) schedule algorithm
-        ArrayList<Process> outputFB = fb.start();//run FB algorithm and store processed processes in array used for outputing FB data
+    /*
+     * Converts a text datafile to a binary workload file, keeping the processes in file order.
+     * Input: command line arguments: convert <datafile> <binary file>
+     * Return: none
+     */
+    private static void convert(String[] args) {
+        if(args.length != 3) {
+            System.out.println("Usage: java Main convert <datafile> <binary file>");
+            System.exit(0);
+        }
+        try
+        {
+            ArrayList<Process> list = DataFileParser.readAll(new File(args[1]));
+            BinaryWorkload.write(list, new File(args[2]));
+            System.out.println("Converted " + list.size() + " processes to " + args[2]);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            System.out.println("Error occured. Conversion failed: " + e.getMessage());
+            System.exit(0);
+        }
+    }
 
-        Collections.sort(outputFB, nameComparatorFB); //sorts inputList by name
+    /*
+     * Outputs a binary dispatch log as text, one line for each dispatch.
+     * Input: command line arguments: trace <binary log>
+     * Return: none
+     */
+    private static void trace(String[] args) {
+        if(args.length != 2) {
+            System.out.println("Usage: java Main trace <binary log>");
+            System.exit(0);
+        }
+        try
+        {
+            InputStream log = new FileInputStream(args[1]);
+            try {
+                BinarySink.replay(log, new TextSink(System.out));
+            }
+            finally {
+                log.close();
+            }
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error occured. Failed to read dispatch log: " + e.getMessage());
+            System.exit(0);
+        }
+    }
 
-        System.out.format("\n%-10s%-15s%-20s", "Process", "Waiting Time", "Turnaround Time");
-        for(int i = 0; i < outputFB.size(); i++) { //format this!!!!!!!!!!!!!!!!!!!!!!!
-            process = outputFB.get(i);//store each process in FB (constant) output list
-            System.out.format("\n%-10s%-15s%-20s",process.getProcessId(), process.getWaitTime(), process.getTurnAroundTime());
-            fbAverageWait += process.getWaitTime();//accumulate FB (constant) process wait times used to calculate FB (constant) average wait time
-            fbAverageTurnaround += process.getTurnAroundTime();//accumulate FB (constant) process wait times used to calculate FB (constant) average turnaround time 
+    /*
+     * Writes a synthetic workload to a datafile, one process at a time.
+     * Input: command line arguments: generate <datafile> [generator options]
+     * Return: none
+     */
+    private static void generate(String[] args) {
+        if(args.length < 2 || args[1].startsWith("--")) {
+            System.out.println("Usage: java Main generate <datafile> [--seed=N] [--jobs=N] [--arrivals=poisson|bursty|diurnal] [--exec=exponential|bimodal|pareto] [--mean-gap=X] [--mean-exec=X]");
+            System.exit(0);
         }
+        try
+        {
+            long count = DataFileWriter.write(generatorOptions(args), new File(args[1]));
+            System.out.println("Generated " + count + " processes to " + args[1]);
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            System.out.println("Error occured. Generation failed: " + e.getMessage());
+            System.exit(0);
+        }
+    }
 
-        /*---------------Summary output---------------*/
-        System.out.println("\n\nSummary");
-        System.out.format("%-15s%-25s%-10s"," ","Average Waiting Time", "Average Turnaround Time");
-        System.out.format("\n%-15s%-25.2f%-10.2f","FCFS", fcfsAverageWait/outputFCFS.size(), fcfsAverageTurnaround/outputFCFS.size());
-        System.out.format("\n%-15s%-25.2f%-10.2f","RR", rrAverageWait/outputRR.size(), rrAverageTurnaround/outputRR.size());
-        System.out.format("\n%-15s%-25.2f%-10.2f","SRT", srtAverageWait/outputSRT.size(), srtAverageTurnaround/outputSRT.size());
-        System.out.format("\n%-15s%-25.2f%-10.2f","FB (constant)", fbAverageWait/outputFB.size(), fbAverageTurnaround/outputFB.size());
-    }        
+    /*
+     * Return: true if a command line argument is one of the generator options
+     */
+    private static boolean isGeneratorOption(String arg) {
+        return arg.startsWith("--seed=") || arg.startsWith("--jobs=") || arg.startsWith("--arrivals=") || arg.startsWith("--exec=")
+            || arg.startsWith("--mean-gap=") || arg.startsWith("--mean-exec=");
+    }
+
+    /*
+     * Makes a workload generator from the generator options in the command line arguments, using the default for any option not given.
+     * Input: command line arguments
+     * Return: WorkloadGenerator
+     */
+    private static WorkloadGenerator generatorOptions(String[] args) {
+        long seed = 1;//seed the workload is made from
+        long jobs = 1000;//number of processes to make
+        String arrivals = "poisson";//arrival pattern
+        String exec = "exponential";//exec size distribution
+        double meanGap = 6;//average time between arrivals
+        double meanExec = 5;//average exec size
+        try
+        {
+            for(int i = 0; i < args.length; i++) {
+                String value = args[i].substring(args[i].indexOf('=') + 1);
+                if(args[i].startsWith("--seed=")) {
+                    seed = Long.parseLong(value);
+                }
+                else if(args[i].startsWith("--jobs=")) {
+                    jobs = Long.parseLong(value);
+                }
+                else if(args[i].startsWith("--arrivals=")) {
+                    arrivals = value;
+                }
+                else if(args[i].startsWith("--exec=")) {
+                    exec = value;
+                }
+                else if(args[i].startsWith("--mean-gap=")) {
+                    meanGap = Double.parseDouble(value);
+                }
+                else if(args[i].startsWith("--mean-exec=")) {
+                    meanExec = Double.parseDouble(value);
+                }
+            }
+            return new WorkloadGenerator(seed, jobs, arrivals, exec, meanGap, meanExec);
+        }
+        catch (IllegalArgumentException e)//includes NumberFormatException
+        {
+            System.out.println("Error occured. Invalid generator option: " + e.getMessage());
+            System.exit(0);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,503 @@
+/**
+ * Event driven scheduler for any number of processor cores, running any of the policies FCFS, RR, SRT, FB, SPN, HRRN, Lottery, Stride and MLFQ.
+ * Time only moves to the next arrival or to the next end of a time slice, which is found from a TimingWheel of the busy cores by the time
+ * their slices end, so each completion or quantum expiry takes amortized constant time and not more as the number of cores grows.
+ *
+ * With per-core queues each core has its own RunQueue. A new job goes to an idle core if there is one, otherwise to the shorter queue of
+ * two cores chosen at random. A core whose queue is empty steals the next job from the queue of a random core that has jobs waiting,
+ * so no core is idle while any job waits. With a global queue every core takes jobs from one shared RunQueue.
+ * Every job that arrives at a time is queued before any core chooses its next job, and before any time slice ending at that time,
+ * as in the single core schedulers. With one core the results are the same as EventFCFS, EventRR and EventFB, and as EventSRT
+ * apart from which of the jobs arriving at once an idle processor starts with.
+ *
+ * The time each core spends running jobs, the number of jobs taken from another core's queue (steals) and the number of times a job
+ * carries on running on a different core from the one it last ran on (migrations) are counted, and with setCounting() the SchedulerCounters
+ * of the events, decisions, preemptions and the length of the queue each decision is taken from.
+ * A Checkpoint can save the scheduler between events, and start() carries on from where it was when a saved scheduler is read back.
+ * As with Kernel, a scheduler saved once every job has been admitted can be given later jobs with append().
+ */
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class MultiCore implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    public static final int MAX_CORES = 1 << 16;//most cores that can be simulated
+    private static final long SEED = 1;//seed for choosing cores, so that every run of the same jobs gives the same results
+
+    private JobTable jobs;//the jobs to run, admitted in arrival time order
+    private int cores;//number of processor cores
+    private boolean global;//true if every core shares one run queue
+    private RunQueue[] queues;//run queue of each core, or the one shared run queue
+    private boolean preemptive;//true if an arriving job can take a core from a running job, as in SRT
+    private DispatchSink sink;//where the time each process is sent to a core is reported
+    private int timer;//the current time at any point within the execution of all processes
+
+    private int[] running;//row each core is running, -1 if it is idle
+    private int[] sliceStart;//time each core's current time slice started, or was last brought up to date
+    private int[] sliceEnd;//time each core's current time slice ends
+    private int[] previous;//last row each core ran, -1 if that job finished
+    private long[] busyTime;//total time each core has spent running jobs
+    private int[] lastCore;//core each row last ran on, -1 if it has not run since it arrived
+    private TimingWheel slices;//busy cores by the time their slice ends, lowest core first for slices that end at the same time
+    private CoreHeap longest;//busy cores, the one running the job with the most time left at the top, only used by SRT with a global queue
+    private int[] idle;//stack of idle cores
+    private int idleCount;//number of cores in idle
+    private int[] pending;//cores that were given a job or may be preempted by the jobs arriving at the current time
+    private boolean[] isPending;//true for each core in pending
+    private int pendingCount;//number of cores in pending
+    private int[] donors;//cores with at least 1 job in their own queue, which idle cores can steal from
+    private int[] donorPositions;//position of each core in donors, -1 if it is not in donors
+    private int donorCount;//number of cores in donors
+    private SplitMixRandom random;//chooses cores for new jobs and steals
+    private long steals;//number of jobs taken from another core's queue
+    private long migrations;//number of times a job ran on a different core from the one it last ran on
+    private SchedulerCounters counters;//what the scheduler has done so far, null if it is not counting
+    private transient Checkpoint checkpoint;//where the state is saved every so often, null for none
+    private transient Checkpoint appendState;//where the state is saved once every job has been admitted, null for none
+
+    /*
+     * Same as the constructor below, with lottery tickets drawn from the default seed.
+     */
+    public MultiCore(JobTable jobs, String policy, int cores, boolean global, int fbLevels, int timeQuantum, DispatchSink sink) {
+        this(jobs, policy, cores, global, fbLevels, timeQuantum, LotteryRunQueue.DEFAULT_SEED, sink);
+    }
+
+    /*
+     * Same as the constructor below, with the default MLFQ settings.
+     */
+    public MultiCore(JobTable jobs, String policy, int cores, boolean global, int fbLevels, int timeQuantum, long seed, DispatchSink sink) {
+        this(jobs, policy, cores, global, new PolicySettings(fbLevels, timeQuantum, seed, PolicySettings.geometricQuanta(PolicySettings.DEFAULT_MLFQ_LEVELS), PolicySettings.DEFAULT_MLFQ_BOOST), sink);
+    }
+
+    /*
+     * Input: JobTable of the jobs to run, which admits them in arrival time order, policy (String) FCFS, RR, SRT, FB, SPN, HRRN, Lottery, Stride or MLFQ,
+     *        number of cores (int) from 1 to MAX_CORES, true for one global queue or false for a queue per core,
+     *        the PolicySettings of the policies, the queue of core i drawing lottery tickets with the lottery seed + i,
+     *        and the DispatchSink to report dispatches to. The results are recorded in the table.
+     * Throws: IllegalArgumentException if the policy is not known or a number is out of range
+     */
+    public MultiCore(JobTable jobs, String policy, int cores, boolean global, PolicySettings settings, DispatchSink sink) {
+        if(cores < 1 || cores > MAX_CORES) {
+            throw new IllegalArgumentException("Cores must be between 1 and " + MAX_CORES + ": " + cores);
+        }
+        this.jobs = jobs;
+        this.cores = cores;
+        this.global = global;
+        queues = new RunQueue[global ? 1 : cores];
+        for(int i = 0; i < queues.length; i++) {
+            queues[i] = RunQueue.create(policy, jobs, settings.withLotterySeed(settings.getLotterySeed() + i));
+        }
+        preemptive = queues[0].isPreemptive();
+        this.sink = sink;
+        timer = 0;//set timer to 0 as this is the start of the algorithm
+
+        running = new int[cores];
+        Arrays.fill(running, -1);
+        sliceStart = new int[cores];
+        sliceEnd = new int[cores];
+        previous = new int[cores];
+        Arrays.fill(previous, -1);
+        busyTime = new long[cores];
+        lastCore = new int[Math.max(jobs.size(), 16)];
+        slices = new TimingWheel(cores, 0);
+        longest = preemptive && global ? new CoreHeap(cores, true) : null;
+        idle = new int[cores];
+        for(int i = 0; i < cores; i++) {
+            idle[i] = cores - 1 - i;//core 0 at the top of the stack
+        }
+        idleCount = cores;
+        pending = new int[cores];
+        isPending = new boolean[cores];
+        pendingCount = 0;
+        donors = new int[cores];
+        donorPositions = new int[cores];
+        Arrays.fill(donorPositions, -1);
+        donorCount = 0;
+        random = new SplitMixRandom(SEED);
+        steals = 0;
+        migrations = 0;
+    }
+
+    /*
+     * Counts what the scheduler does in SchedulerCounters from now on, or stops counting, which is the default. A scheduler read from a Checkpoint
+     * that was counting carries on from the counts saved with it.
+     * Input: true to count
+     * Return: none
+     */
+    public void setCounting(boolean counting) {
+        if(!counting) {
+            counters = null;
+        }
+        else if(counters == null) {
+            counters = new SchedulerCounters();
+        }
+    }
+
+    /*
+     * Saves the scheduler to a Checkpoint whenever one is due while it runs, and once it has finished.
+     * Input: the Checkpoint, null for none
+     * Return: none
+     */
+    public void setCheckpoint(Checkpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /*
+     * Saves the scheduler to a Checkpoint once every job has been admitted, after which nothing it does depends on jobs that arrive later.
+     * Input: the Checkpoint, null for none
+     * Return: none
+     */
+    public void setAppendState(Checkpoint appendState) {
+        this.appendState = appendState;
+    }
+
+    /*
+     * Gives a scheduler on an online JobTable, read from the Checkpoint of setAppendState(), more jobs, which start() runs with the jobs
+     * that were still in the system.
+     * Input: source of the jobs in arrival order, which must arrive after the time the scheduler had got to
+     * Return: none
+     */
+    public void append(ProcessSource source) {
+        jobs.append(source, timer);
+    }
+
+    /*
+     * Run every job to completion, handling arrivals and the ends of time slices in time order, or carry on from where
+     * a scheduler read from a Checkpoint was.
+     * Report the time where each process is sent to a core to the sink. If a core runs the same process again straight after itself only the first time will be reported.
+     * Input: none
+     * Output: the JobTable with every job's results
+     */
+    public JobTable start() {
+        while(jobs.hasArrival() || !slices.isEmpty()) {
+            if(counters != null) {
+                counters.event();
+            }
+            if(checkpoint != null && checkpoint.isDue()) {
+                checkpoint.save(jobs, sink, this);
+            }
+            if(appendState != null && !jobs.hasArrival()) {//nothing done up to now depends on jobs arriving later
+                appendState.save(jobs, sink, this);
+                appendState = null;
+            }
+            if(jobs.hasArrival() && (slices.isEmpty() || jobs.getNextArrivalTime() <= slices.nextTime())) {//arrivals go first when times are equal
+                timer = Math.max(timer, jobs.getNextArrivalTime());
+                while(jobs.hasArrival() && jobs.getNextArrivalTime() <= timer) {
+                    arrive(jobs.admit());
+                }
+                wakeCores();
+            }
+            else {
+                int core = slices.poll();
+                timer = sliceEnd[core];
+                endSlice(core);
+            }
+        }
+        sink.flush();
+        if(appendState != null) {//there were no jobs to run
+            appendState.save(jobs, sink, this);
+            appendState = null;
+        }
+        if(checkpoint != null) {
+            checkpoint.save(jobs, sink, this);
+        }
+        return jobs;
+    }
+
+    /*
+     * Return: the number of cores (int)
+     */
+    public int getCores() {
+        return cores;
+    }
+
+    /*
+     * Return: true if every core shares one run queue
+     */
+    public boolean isGlobal() {
+        return global;
+    }
+
+    /*
+     * Return: the time the last job finished (int), which utilization is measured over
+     */
+    public int getEndTime() {
+        return timer;
+    }
+
+    /*
+     * Return: the total time a core spent running jobs (long)
+     */
+    public long getBusyTime(int core) {
+        return busyTime[core];
+    }
+
+    /*
+     * Return: the fraction of the time up to the end time that a core spent running jobs (double), 0 if no time has passed
+     */
+    public double getUtilization(int core) {
+        return timer == 0 ? 0 : (double) busyTime[core] / timer;
+    }
+
+    /*
+     * Return: the number of jobs a core took from another core's queue (long), always 0 with a global queue
+     */
+    public long getSteals() {
+        return steals;
+    }
+
+    /*
+     * Return: the number of times a job ran on a different core from the one it last ran on (long)
+     */
+    public long getMigrations() {
+        return migrations;
+    }
+
+    /*
+     * Return: the SchedulerCounters of what the scheduler has done so far, with the demotions made by every run queue, null if it is not counting
+     */
+    public SchedulerCounters getCounters() {
+        if(counters == null) {
+            return null;
+        }
+        long demotions = 0;
+        for(int i = 0; i < queues.length; i++) {
+            demotions += queues[i].getDemotions();
+        }
+        counters.setDemotions(demotions);
+        return counters;
+    }
+
+    /*
+     * Queue a job that has just arrived, on an idle core if there is one. The core is marked pending so that it chooses a job,
+     * or checks for preemption, once every job arriving at the current time has been queued.
+     * Input: row (int)
+     * Return: none
+     */
+    private void arrive(int row) {
+        if(row >= lastCore.length) {//the table has grown since this scheduler was made
+            lastCore = Arrays.copyOf(lastCore, Math.max(row + 1, lastCore.length * 2));
+        }
+        lastCore[row] = -1;
+        int core;
+        if(idleCount > 0) {
+            core = idle[--idleCount];
+            markPending(core);
+        }
+        else {
+            core = global ? 0 : chooseCore();
+            if(preemptive && !global) {
+                markPending(core);
+            }
+        }
+        queue(core).arrive(row);
+        updateDonor(core);
+    }
+
+    /*
+     * Give each pending core that is idle its next job and check each pending core that is busy for preemption.
+     * With a global queue the job with the most time left is preempted for as long as a waiting job should run before it.
+     * Input: none
+     * Return: none
+     */
+    private void wakeCores() {
+        for(int i = 0; i < pendingCount; i++) {
+            int core = pending[i];
+            isPending[core] = false;
+            RunQueue queue = queue(core);
+            if(running[core] >= 0) {
+                preempt(core);
+            }
+            else if(queue.size() > 0) {
+                queue.setTime(timer);
+                if(counters != null) {
+                    counters.decision(queue.size());
+                }
+                int next = queue.next();
+                updateDonor(core);
+                dispatch(core, next);
+            }
+            else {//another idle core took the job from the global queue
+                idle[idleCount++] = core;
+            }
+        }
+        pendingCount = 0;
+        if(preemptive && global) {
+            while(!longest.isEmpty() && preempt(longest.peek())) {
+                //keep going while the job with the most time left is preempted
+            }
+        }
+    }
+
+    /*
+     * Preempt a core's job if the next job in its queue should run before it. The preempted job goes back into the queue.
+     * Input: core (int)
+     * Return: true if the job was preempted
+     */
+    private boolean preempt(int core) {
+        RunQueue queue = queue(core);
+        if(queue.size() == 0 || timer >= sliceEnd[core]) {//a job whose slice ends now has no time left and cannot be preempted
+            return false;
+        }
+        bringUpToDate(core);
+        queue.setTime(timer);
+        if(!queue.preempts(queue.peek(), running[core])) {
+            return false;
+        }
+        int preempted = running[core];
+        stop(core);
+        if(counters != null) {
+            counters.decision(queue.size());
+            counters.preemption();
+        }
+        int next = queue.next();
+        queue.requeue(preempted);
+        updateDonor(core);
+        previous[core] = preempted;
+        dispatch(core, next);
+        return true;
+    }
+
+    /*
+     * Add a core to pending if it is not already in it.
+     * Input: core (int)
+     * Return: none
+     */
+    private void markPending(int core) {
+        if(!isPending[core]) {
+            isPending[core] = true;
+            pending[pendingCount++] = core;
+        }
+    }
+
+    /*
+     * End the time slice of the core at the top of the slices heap. A job with time left goes back into the core's queue,
+     * then the core takes its next job.
+     * Input: core (int)
+     * Return: none
+     */
+    private void endSlice(int core) {
+        int row = running[core];
+        jobs.run(row, sliceStart[core], timer - sliceStart[core]);//run even for no time, so a job with no execution time still finishes
+        busyTime[core] += timer - sliceStart[core];
+        stop(core);
+        boolean unfinished = jobs.getRemaining(row) > 0;//read before any job is admitted, as a finished job's row can be given to a new job
+        if(unfinished) {
+            queue(core).requeue(row);
+        }
+        previous[core] = unfinished ? row : -1;
+
+        RunQueue queue = queue(core);
+        if(queue.size() > 0) {
+            queue.setTime(timer);
+            if(counters != null) {
+                counters.decision(queue.size());
+            }
+            int next = queue.next();
+            updateDonor(core);
+            dispatch(core, next);
+        }
+        else if(donorCount > 0) {//steal from a random core that has jobs waiting
+            int victim = donors[random.nextInt(donorCount)];
+            queues[victim].setTime(timer);
+            if(counters != null) {
+                counters.decision(queues[victim].size());
+            }
+            int next = queues[victim].next();
+            updateDonor(victim);
+            steals++;
+            dispatch(core, next);
+        }
+        else {
+            idle[idleCount++] = core;
+        }
+    }
+
+    /*
+     * Send a job to a core for the time slice its queue gives it.
+     * Input: core (int) and row (int)
+     * Return: none
+     */
+    private void dispatch(int core, int row) {
+        running[core] = row;
+        sliceStart[core] = timer;
+        sliceEnd[core] = timer + queue(core).timeSlice(row);
+        slices.schedule(core, sliceEnd[core]);
+        if(longest != null) {
+            longest.add(core, (long) sliceEnd[core] << 32 | (0xFFFFFFFFL - core));//the largest key is at the top, so ties go to the lowest core and every run gives the same results
+        }
+        if(previous[core] != row) { //ensures if the same process is processed directly after it self the output does not duplicate
+            sink.dispatch(timer, jobs.getProcessId(row));
+        }
+        if(lastCore[row] >= 0 && lastCore[row] != core) {
+            migrations++;
+        }
+        lastCore[row] = core;
+    }
+
+    /*
+     * Record the time a core's job has run so far in the table, so that its remaining time is up to date.
+     * Input: core (int)
+     * Return: none
+     */
+    private void bringUpToDate(int core) {
+        int runTime = timer - sliceStart[core];
+        if(runTime > 0) {
+            jobs.run(running[core], sliceStart[core], runTime);
+            busyTime[core] += runTime;
+            sliceStart[core] = timer;
+        }
+    }
+
+    /*
+     * Take a core's job off it. The job's time must have been brought up to date.
+     * Input: core (int)
+     * Return: none
+     */
+    private void stop(int core) {
+        slices.cancel(core);
+        if(longest != null) {
+            longest.remove(core);
+        }
+        running[core] = -1;
+    }
+
+    /*
+     * Return: the shorter queue of two cores chosen at random (int)
+     */
+    private int chooseCore() {
+        int a = random.nextInt(cores);
+        int b = random.nextInt(cores);
+        return queues[b].size() < queues[a].size() ? b : a;
+    }
+
+    /*
+     * Return: the run queue a core takes its jobs from (RunQueue)
+     */
+    private RunQueue queue(int core) {
+        return global ? queues[0] : queues[core];
+    }
+
+    /*
+     * Add a core to the donors if its own queue has jobs waiting, or take it out if it has none. Does nothing with a global queue.
+     * Input: core (int)
+     * Return: none
+     */
+    private void updateDonor(int core) {
+        if(global) {
+            return;
+        }
+        boolean waiting = queues[core].size() > 0;
+        int position = donorPositions[core];
+        if(waiting && position < 0) {
+            donorPositions[core] = donorCount;
+            donors[donorCount++] = core;
+        }
+        else if(!waiting && position >= 0) {
+            int last = donors[--donorCount];
+            donors[position] = last;
+            donorPositions[last] = position;
+            donorPositions[core] = -1;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Multilevel feedback queue (MLFQ) run queue, the FB policy as real kernels run it. Each priority level has its own time quantum,
+ * such as 1, 2, 4, ... so that long jobs run for longer each time they are chosen, and every boost period all the jobs are moved
+ * back up to the top level so that no job waits forever behind new jobs.
+ * A new job enters level 0, a job that uses its whole time slice moves down one level and the lowest level is round-robin.
+ *
+ * Each level is a chain of blocks of rows, so at a boost the chains of the lower levels are joined onto the end of level 0 in one step
+ * each, keeping their order, and no job is looked at. The boost is a timer: the time of the next boost is kept and checked only when
+ * the clock moves, so nothing is done on the ticks between boosts. A job that is running at a boost goes back to level 0 when its slice ends.
+ * The level of a waiting job is the level whose chain it is in, which is written to the JobTable when it is chosen.
+ * A Checkpoint saves the rows of each level in order rather than the blocks, which are made again when it is read.
+ */
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class MultilevelFeedbackRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private static final int BLOCK_SIZE = 64;//rows in each block of a level's chain
+
+    private JobTable jobs;//the jobs the rows belong to
+    private int[] quanta;//time quantum of each level
+    private int boostPeriod;//time between boosts, 0 for none
+    private long nextBoost;//time of the next boost
+    private long demotions;//number of times a job was moved down a level
+    private transient Block[] heads;//first block of each level's chain, null if the level is empty
+    private transient Block[] tails;//last block of each level's chain
+    private transient long nonEmpty;//bit i is set when level i has at least 1 job in it
+    private transient int size;//number of rows waiting over every level
+    private transient Block spare;//empty blocks kept for reuse, linked through next
+
+    /*
+     * Part of a level's chain, rows from head up to tail are waiting in order.
+     */
+    private static class Block {
+        private int[] rows = new int[BLOCK_SIZE];//rows in the block
+        private int head;//position of the first waiting row
+        private int tail;//position after the last waiting row
+        private Block next;//next block in the chain, null for the last block
+    }
+
+    /*
+     * Input: JobTable of the jobs, the time quantum of each level (int[]) from 1 to EventFB.MAX_LEVELS levels, each at least 1,
+     *        and the time between boosts (int), 0 for none
+     * Throws: IllegalArgumentException if a number is out of range
+     */
+    public MultilevelFeedbackRunQueue(JobTable jobs, int[] quanta, int boostPeriod) {
+        if(quanta.length < 1 || quanta.length > EventFB.MAX_LEVELS) {
+            throw new IllegalArgumentException("MLFQ levels must be between 1 and " + EventFB.MAX_LEVELS + ": " + quanta.length);
+        }
+        for(int i = 0; i < quanta.length; i++) {
+            if(quanta[i] < 1) {
+                throw new IllegalArgumentException("MLFQ quanta must be at least 1: " + quanta[i]);
+            }
+        }
+        if(boostPeriod < 0) {
+            throw new IllegalArgumentException("MLFQ boost period must not be negative: " + boostPeriod);
+        }
+        this.jobs = jobs;
+        this.quanta = quanta.clone();
+        this.boostPeriod = boostPeriod;
+        nextBoost = boostPeriod > 0 ? boostPeriod : Long.MAX_VALUE;
+        heads = new Block[quanta.length];
+        tails = new Block[quanta.length];
+        nonEmpty = 0L;
+        size = 0;
+        spare = null;
+    }
+
+    public void arrive(int row) {
+        setTime(jobs.getArrivalTime(row));//a boost due before the job arrived comes first
+        jobs.setLevel(row, 0);
+        add(0, row);
+    }
+
+    /*
+     * The job has just left the processor, at its finish time in the JobTable, after running for the whole quantum of its level.
+     */
+    public void requeue(int row) {
+        int finish = jobs.getFinishTime(row);
+        setTime(finish);
+        int level = jobs.getLevel(row);
+        int start = finish - quanta[level];//time the slice started
+        boolean boosted = boostPeriod > 0 && finish / boostPeriod > start / boostPeriod;//a boost came while it ran
+        if(boosted) {
+            level = 0;
+        }
+        else if(level < quanta.length - 1) {//the lowest level is round-robin
+            level++;
+            demotions++;
+        }
+        jobs.setLevel(row, level);
+        add(level, row);
+    }
+
+    public int next() {
+        int level = Long.numberOfTrailingZeros(nonEmpty);//highest priority level with a job in it
+        Block head = heads[level];
+        int row = head.rows[head.head++];
+        if(head.head == head.tail) {//the block is used up
+            heads[level] = head.next;
+            if(head.next == null) {
+                tails[level] = null;
+                nonEmpty &= ~(1L << level);
+            }
+            head.head = 0;
+            head.tail = 0;
+            head.next = spare;
+            spare = head;
+        }
+        size--;
+        jobs.setLevel(row, level);
+        return row;
+    }
+
+    public int peek() {
+        Block head = heads[Long.numberOfTrailingZeros(nonEmpty)];
+        return head.rows[head.head];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int timeSlice(int row) {
+        return Math.min(quanta[jobs.getLevel(row)], jobs.getRemaining(row));
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+
+    public long getDemotions() {
+        return demotions;
+    }
+
+    /*
+     * Boosts every waiting job to level 0 if a boost is due by the given time. However many boosts were due, one is enough.
+     */
+    public void setTime(int time) {
+        if(time >= nextBoost) {
+            boost();
+            nextBoost = ((long) time / boostPeriod + 1) * boostPeriod;
+        }
+    }
+
+    /*
+     * Join the chain of each lower level onto the end of level 0, highest level first.
+     */
+    private void boost() {
+        for(int level = 1; level < quanta.length; level++) {
+            if(heads[level] == null) {
+                continue;
+            }
+            if(heads[0] == null) {
+                heads[0] = heads[level];
+            }
+            else {
+                tails[0].next = heads[level];
+            }
+            tails[0] = tails[level];
+            heads[level] = null;
+            tails[level] = null;
+        }
+        if(nonEmpty != 0) {
+            nonEmpty = 1L;
+        }
+    }
+
+    /*
+     * Write the settings, then for each level the number of rows waiting in it followed by the rows in order.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for(int level = 0; level < quanta.length; level++) {
+            int count = 0;
+            for(Block block = heads[level]; block != null; block = block.next) {
+                count += block.tail - block.head;
+            }
+            out.writeInt(count);
+            for(Block block = heads[level]; block != null; block = block.next) {
+                for(int i = block.head; i < block.tail; i++) {
+                    out.writeInt(block.rows[i]);
+                }
+            }
+        }
+    }
+
+    /*
+     * Read what writeObject() wrote, adding the rows of each level to a new chain.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        heads = new Block[quanta.length];
+        tails = new Block[quanta.length];
+        for(int level = 0; level < quanta.length; level++) {
+            for(int count = in.readInt(); count > 0; count--) {
+                add(level, in.readInt());
+            }
+        }
+    }
+
+    /*
+     * Add a row to the back of a level's chain and mark the level as not empty.
+     */
+    private void add(int level, int row) {
+        Block tail = tails[level];
+        if(tail == null || tail.tail == BLOCK_SIZE) {
+            Block block = spare;
+            if(block == null) {
+                block = new Block();
+            }
+            else {
+                spare = block.next;
+                block.next = null;
+            }
+            if(tail == null) {
+                heads[level] = block;
+            }
+            else {
+                tail.next = block;
+            }
+            tails[level] = block;
+            tail = block;
+        }
+        tail.rows[tail.tail++] = row;
+        nonEmpty |= 1L << level;
+        size++;
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * JDK Flight Recorder event of one phase of a run of the simulator: reading the processes, scheduling them with every algorithm,
+ * or outputting the results. Only a few are committed in a run, so it costs nothing whether or not a recording is on.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("simulator.Phase")
+@Label("Phase")
+@Category("Scheduling Simulator")
+@Description("Reading the processes, scheduling them or outputting the results")
+public class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;//Read, Schedule or Output
+}
@@ -0,0 +1,61 @@
+/**
+ * Times the phases of a run, one after another, for --stats, and reports each as a PhaseEvent. Only a few are timed in a run,
+ * so they are always timed.
+ */
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+public class Phases {
+    private ArrayList<String> names = new ArrayList<String>();//phases that have ended, in order
+    private ArrayList<Long> times = new ArrayList<Long>();//nanoseconds each phase took
+    private String phase;//phase that is being timed, null for none
+    private long start;//System.nanoTime() the phase started at
+    private PhaseEvent event;//event of the phase that is being timed
+
+    /*
+     * Ends the phase that is being timed, if there is one, and starts timing another.
+     * Input: name of the phase (String)
+     */
+    public void start(String phase) {
+        end();
+        this.phase = phase;
+        event = new PhaseEvent();
+        event.begin();
+        start = System.nanoTime();
+    }
+
+    /*
+     * Ends the phase that is being timed, if there is one.
+     */
+    public void end() {
+        if(phase == null) {
+            return;
+        }
+        names.add(phase);
+        times.add(System.nanoTime() - start);
+        event.end();
+        if(event.shouldCommit()) {
+            event.phase = phase;
+            event.commit();
+        }
+        phase = null;
+    }
+
+    /*
+     * Outputs how long each phase took, then how long each schedule algorithm took and what its scheduler did.
+     * Input: where to output them (PrintStream) and the SchedulerTasks of the run
+     */
+    public void print(PrintStream out, SchedulerTask[] tasks) {
+        out.print("\n\nSimulator statistics");
+        out.format("\n%-15s%-12s", "Phase", "Time (ms)");
+        for(int i = 0; i < names.size(); i++) {
+            out.format("\n%-15s%-12.2f", names.get(i), times.get(i) / 1e6);
+        }
+        out.format("\n\n%-15s%-12s%-12s%-12s%-12s%-12s%-12s%-12s%-12s", "Algorithm", "Time (ms)", "Events", "Events/s", "Decisions",
+            "Queue avg", "Queue max", "Preemptions", "Demotions");
+        for(int i = 0; i < tasks.length; i++) {
+            tasks[i].printCounters(out);
+        }
+        out.println();
+    }
+}
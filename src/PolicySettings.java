@@ -0,0 +1,120 @@
+/**
+ * Settings of the scheduling policies that have any: the FB priority levels, the time quantum of RR, FB, Lottery and Stride,
+ * the seed Lottery draws its tickets with, and the quantum of each MLFQ level with the MLFQ priority boost period.
+ * RunQueue.create() and MultiCore take one of these instead of each setting on its own. A PolicySettings is never changed once made.
+ */
+import java.util.Arrays;
+
+public class PolicySettings {
+    public static final int DEFAULT_FB_LEVELS = 6;//number of FB priority levels
+    public static final int DEFAULT_MLFQ_LEVELS = 6;//number of MLFQ priority levels
+    public static final int DEFAULT_MLFQ_BOOST = 100;//time between MLFQ priority boosts
+
+    private int fbLevels;//number of priority levels used by FB
+    private int timeQuantum;//time quantum used by RR, FB, Lottery and Stride
+    private long lotterySeed;//seed Lottery draws its tickets with
+    private int[] mlfqQuanta;//time quantum of each MLFQ level, the length is the number of levels
+    private int mlfqBoost;//time between MLFQ priority boosts, 0 for none
+
+    /*
+     * Makes the default settings.
+     */
+    public PolicySettings() {
+        this(DEFAULT_FB_LEVELS, Processor.DEFAULT_TIME_QUANTUM, LotteryRunQueue.DEFAULT_SEED, geometricQuanta(DEFAULT_MLFQ_LEVELS), DEFAULT_MLFQ_BOOST);
+    }
+
+    /*
+     * Input: number of FB priority levels (int), time quantum (int), lottery seed (long), quantum of each MLFQ level (int[])
+     *        and time between MLFQ priority boosts (int), 0 for none
+     */
+    public PolicySettings(int fbLevels, int timeQuantum, long lotterySeed, int[] mlfqQuanta, int mlfqBoost) {
+        this.fbLevels = fbLevels;
+        this.timeQuantum = timeQuantum;
+        this.lotterySeed = lotterySeed;
+        this.mlfqQuanta = mlfqQuanta.clone();
+        this.mlfqBoost = mlfqBoost;
+    }
+
+    /*
+     * Return: the quanta 1, 2, 4, ... of the given number of levels (int[]), each level's quantum twice the one above it
+     */
+    public static int[] geometricQuanta(int levels) {
+        int[] quanta = new int[levels];
+        for(int i = 0; i < levels; i++) {
+            quanta[i] = i < 31 ? 1 << i : Integer.MAX_VALUE;
+        }
+        return quanta;
+    }
+
+    /*
+     * Return: the same settings with a different lottery seed (PolicySettings)
+     */
+    public PolicySettings withLotterySeed(long seed) {
+        return new PolicySettings(fbLevels, timeQuantum, seed, mlfqQuanta, mlfqBoost);
+    }
+
+    /*
+     * Return: the number of FB priority levels (int)
+     */
+    public int getFBLevels() {
+        return fbLevels;
+    }
+
+    /*
+     * Return: the time quantum of RR, FB, Lottery and Stride (int)
+     */
+    public int getTimeQuantum() {
+        return timeQuantum;
+    }
+
+    /*
+     * Return: the seed Lottery draws its tickets with (long)
+     */
+    public long getLotterySeed() {
+        return lotterySeed;
+    }
+
+    /*
+     * Return: a copy of the quantum of each MLFQ level (int[])
+     */
+    public int[] getMLFQQuanta() {
+        return mlfqQuanta.clone();
+    }
+
+    /*
+     * Return: the time between MLFQ priority boosts (int), 0 for none
+     */
+    public int getMLFQBoost() {
+        return mlfqBoost;
+    }
+
+    /*
+     * Return: the settings that change the results of a policy, as the command line options that give them (String),
+     *         empty for a policy that has no settings
+     */
+    public String toString(String policy) {
+        if(policy.equals("RR") || policy.equals("Stride")) {
+            return "--quantum=" + timeQuantum;
+        }
+        else if(policy.equals("FB")) {
+            return "--fb-levels=" + fbLevels + " --quantum=" + timeQuantum;
+        }
+        else if(policy.equals("Lottery")) {
+            return "--quantum=" + timeQuantum + " --lottery-seed=" + lotterySeed;
+        }
+        else if(policy.equals("MLFQ")) {
+            String quanta = Arrays.toString(mlfqQuanta).replace(" ", "");
+            return "--mlfq-quanta=" + quanta.substring(1, quanta.length() - 1) + " --mlfq-boost=" + mlfqBoost;
+        }
+        return "";
+    }
+
+    /*
+     * Return: every setting as the command line options that give it (String)
+     */
+    public String toString() {
+        String quanta = Arrays.toString(mlfqQuanta).replace(" ", "");
+        return "--fb-levels=" + fbLevels + " --quantum=" + timeQuantum + " --lottery-seed=" + lotterySeed
+            + " --mlfq-quanta=" + quanta.substring(1, quanta.length() - 1) + " --mlfq-boost=" + mlfqBoost;
+    }
+}
@@ -9,6 +9,7 @@
 
 import java.util.Comparator;
 public class Process {
+    public static final int DEFAULT_TICKETS = 1;//share of the processor a process has when its datafile record has no Tickets line
     private String processId;//id of a process
     private int arrivalTime;//arrival time that a process enters the system for processing
     private int execTime;//amount of time a process needs to execute for
@@ -16,11 +17,21 @@ public class Process {
     private int waitTime;//total time a process is not executing and is idle, waiting for its turn to process
     private int processStartTime;//used to store the last arrival time for a process if it is executed mutliple times before it finishes processing
     private int processFinishTime;//used to store the last finish time for a process if it is executed mutliple times before it finishes processing
+    private int firstStartTime;//time a process is first given the processor, -1 until then, used for the response time
+    private long idNumber;//number made of the digits in processId, worked out once so that sorting by ID never reads the ID again
+    private int tickets;//share of the processor given by proportional share schedulers such as lottery and stride, at least 1
 
     /*
      * Takes as input a processID (String), arrivalTime (int) and execTime (int) and sets all other process attributes to default.
      */
     public Process(String processId, int arrivalTime, int execTime) {
+        this(processId, arrivalTime, execTime, DEFAULT_TICKETS);
+    }
+
+    /*
+     * Takes as input a processID (String), arrivalTime (int), execTime (int) and number of tickets (int) and sets all other process attributes to default.
+     */
+    public Process(String processId, int arrivalTime, int execTime, int tickets) {
         this.processId = processId;
         this.arrivalTime = arrivalTime;
         this.execTime = execTime;
@@ -29,6 +40,9 @@ public class Process {
         int turnAroundTime = 0;
         processStartTime = 0;
         processFinishTime = 0;
+        firstStartTime = -1;
+        idNumber = idNumber(processId);
+        this.tickets = tickets;
     }
 
     /*
@@ -38,6 +52,20 @@ public class Process {
         return processId;
     }
 
+    /*
+     * Return: the number made of the digits in a processes ID (long), see idNumber()
+     */
+    public long getIdNumber() {
+        return idNumber;
+    }
+
+    /*
+     * Return: a processes number of tickets (int), its share of the processor under lottery and stride scheduling
+     */
+    public int getTickets() {
+        return tickets;
+    }
+
     /*
      * Return: a processes arrival time (int)
      */
@@ -109,6 +137,25 @@ public class Process {
         this.processStartTime = processStartTime;
     }
 
+    /*
+     * Return: the time a process was first given the processor (int), -1 if it has not been
+     */
+    public int getFirstStartTime() {
+        return firstStartTime;
+    }
+
+    /*
+     * Sets a processes start time, and its first start time if it has not been given the processor before
+     * Input: process start time (int)
+     * Return: none
+     */
+    public void start(int processStartTime) {
+        this.processStartTime = processStartTime;
+        if(firstStartTime < 0) {
+            firstStartTime = processStartTime;
+        }
+    }
+
     /*
      * Return: a processes finish time (int)
      */
@@ -125,6 +172,34 @@ public class Process {
         this.processFinishTime = processFinishTime;
     }
 
+    /*
+     * Return: the number made of every digit in a process ID (long), e.g. 12 for p12.
+     * An ID with no digits is 0 and an ID with too many digits is Long.MAX_VALUE.
+     */
+    public static long idNumber(String processId) {
+        long value = 0;
+        for(int i = 0; i < processId.length(); i++) {
+            char c = processId.charAt(i);
+            if(c >= '0' && c <= '9') {
+                value = value > (Long.MAX_VALUE - 9) / 10 ? Long.MAX_VALUE : value * 10 + (c - '0');
+            }
+        }
+        return value;
+    }
+
+    /*
+     * Compares two process IDs in ID order: by the number made of their digits, then as strings if the numbers are the same,
+     * so that p2 comes before p10 and any string can be an ID.
+     * Input: ID number (long) and ID (String) of the first process, then of the second
+     * Return: less than 0 if the first ID comes first, 0 if they are the same ID, more than 0 if the second comes first
+     */
+    public static int compareIds(long numberA, String idA, long numberB, String idB) {
+        if(numberA != numberB) {
+            return numberA < numberB ? -1 : 1;
+        }
+        return idA.compareTo(idB);
+    }
+
     /*
      * Used to sort a list of processes by arrival time.
      */
@@ -167,33 +242,14 @@ public class Process {
 
     /*
      * Sorts a list of processes by process ID in ascending order.
-     * Compare method takes 2 processes as input and tests their processId member data.
+     * Compare method takes 2 processes as input and tests their processId member data, see compareIds().
      * Returns an int depending on which processes id is lower or are equal
      */
     private static class ProcessIDComparator implements Comparator<Process>
     {
         public int compare(Process p1, Process p2)
         {
-            String string1 = p1.getProcessId();//store process1's id into a temp String 
-            string1 = string1.replaceAll("\\D+","");//Replace all non digits with an empty character in a string
-            int s1 = Integer.parseInt(string1);//convert string into a int which is used for testing which process should be ordered first in a list of processes
-
-            String string2 = p2.getProcessId();//store process2's id into a temp string
-            string2 = string2.replaceAll("\\D+","");//Replace all non digits with an empty character in a string
-            int s2 = Integer.parseInt(string2);//convert string into a int which is used for testing which process should be ordered first in a list of processes
-
-            if (s1 < s2)
-            {
-                return -1;//p1 has a lower processId
-            }
-            else if (s1 > s2)
-            {
-                return 1;//p2 has a lower processId
-            }
-            else
-            {
-                return 0;//both processes have the same processId
-            }
+            return compareIds(p1.idNumber, p1.getProcessId(), p2.idNumber, p2.getProcessId());
         }
 
     }
@@ -298,26 +354,7 @@ public class Process {
             }
             else
             {//both processes have the same execTime so a check on their id must then be performed
-                String string1 = p1.getProcessId();//store process1's id into a temp String 
-                string1 = string1.replaceAll("\\D+","");//Replace all non digits with an empty character in a string
-                int s1 = Integer.parseInt(string1);//convert string into a int which is used for testing which process should be ordered first in a list of processes
-
-                String string2 = p2.getProcessId();//store process2's id into a temp string
-                string2 = string2.replaceAll("\\D+","");//Replace all non digits with an empty character in a string
-                int s2 = Integer.parseInt(string2);//convert string into a int which is used for testing which process should be ordered first in a list of processes
-
-                if (s1 < s2)
-                {
-                    return -1;//p1 has a lower processId
-                }
-                else if (s1 > s2)
-                {
-                    return 1;//p2 has a higher processId
-                }
-                else
-                {
-                    return 0;//both processes have the same processId
-                }
+                return compareIds(p1.idNumber, p1.getProcessId(), p2.idNumber, p2.getProcessId());
             }
         }
     }
@@ -0,0 +1,161 @@
+/**
+ * The orders the time stepped schedulers take a list of processes in, worked out once for the whole list without comparator sorts:
+ *   byArrival()      arrival time, then list order, used by FCFS and RR
+ *   byArrivalExec()  arrival time, then exec time, then list order, used by SRT
+ *   byArrivalId()    arrival time, then process ID, then the SRT order, used by FB
+ * These are the orders the chain of Collections.sort calls with Process comparators gives.
+ * Each process ID is interned into a dense integer key, its rank among the distinct IDs, with one RadixSort by ID number,
+ * The arrival order is a RadixSort of the arrival times, and the SRT and FB orders are that order with each group of processes that arrive
+ * at the same time sorted by exec size or by ID key, each an int read once from every process.
+ * IDs can be any string, see Process.compareIds().
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class ProcessOrder {
+    private static final int SHORT_RUN = 32;//runs of processes with the same arrival time up to this long are insertion sorted
+
+    private ArrayList<Process> list;//the processes in the order they were read
+    private int[] arrivalOrder;//indexes into list in FCFS and RR order
+    private int[] execOrder;//indexes into list in SRT order
+    private int[] idOrder;//indexes into list in FB order
+
+    /*
+     * Input: ArrayList of processes in the order they were read
+     */
+    public ProcessOrder(ArrayList<Process> list) {
+        this.list = list;
+        int size = list.size();
+        int[] arrivalTimes = new int[size];
+        int[] execSizes = new int[size];
+        long[] idNumbers = new long[size];
+        String[] ids = new String[size];
+        for(int i = 0; i < size; i++) {
+            Process process = list.get(i);
+            arrivalTimes[i] = process.getArrivalTime();
+            execSizes[i] = process.getExecTime();
+            idNumbers[i] = process.getIdNumber();
+            ids[i] = process.getProcessId();
+        }
+
+        //intern the IDs: put the processes in ID order once, then number each distinct ID, so processes with the same ID share a key
+        int[] byId = idOrder(idNumbers, ids, size);
+        int[] idKeys = new int[size];//rank of each process ID in ID order
+        int key = 0;
+        for(int i = 1; i < size; i++) {
+            int previous = byId[i - 1];
+            if(Process.compareIds(idNumbers[previous], ids[previous], idNumbers[byId[i]], ids[byId[i]]) != 0) {
+                key++;
+            }
+            idKeys[byId[i]] = key;
+        }
+
+        //the arrival order is shared, the other orders only reorder each group of processes with the same arrival time
+        arrivalOrder = RadixSort.sort(RadixSort.identity(size), arrivalTimes);
+        execOrder = sortGroups(arrivalOrder, arrivalTimes, execSizes);
+        idOrder = sortGroups(execOrder, arrivalTimes, idKeys);
+    }
+
+    /*
+     * Return: a new list of the processes in arrival time order, processes that arrive at the same time keep list order
+     */
+    public ArrayList<Process> byArrival() {
+        return select(arrivalOrder);
+    }
+
+    /*
+     * Return: a new list of the processes in arrival time then exec time order
+     */
+    public ArrayList<Process> byArrivalExec() {
+        return select(execOrder);
+    }
+
+    /*
+     * Return: a new list of the processes in arrival time then process ID order
+     */
+    public ArrayList<Process> byArrivalId() {
+        return select(idOrder);
+    }
+
+    /*
+     * Orders indexes by process ID: a RadixSort by ID number, then IDs with the same number but different strings, which only
+     * happens when IDs are not all a prefix and a number, are put in string order. Indexes with the same ID keep index order.
+     * Input: ID number of each index (long[]), ID of each index (String[]) and the number of indexes (int)
+     * Return: the indexes 0 to count - 1 in ID order (int[])
+     */
+    public static int[] idOrder(long[] numbers, String[] ids, int count) {
+        int[] order = RadixSort.sort(RadixSort.identity(count), numbers);
+        int start = 0;//first index of a run with the same ID number
+        for(int i = 1; i <= count; i++) {
+            if(i == count || numbers[order[i]] != numbers[order[start]]) {
+                if(i - start > 1) {
+                    sortRun(order, start, i, ids);
+                }
+                start = i;
+            }
+        }
+        return order;
+    }
+
+    /*
+     * Stable sort of each run of indexes with the same arrival time by another key. Short runs use an insertion sort, long runs a RadixSort.
+     * Input: indexes in arrival time order (int[]), which is not changed, arrival time of each index (int[]) and the key of each index (int[])
+     * Return: the indexes in arrival time then key order (int[])
+     */
+    private static int[] sortGroups(int[] order, int[] arrivalTimes, int[] keys) {
+        int[] sorted = order.clone();
+        int start = 0;//first index of a run with the same arrival time
+        for(int i = 1; i <= sorted.length; i++) {
+            if(i < sorted.length && arrivalTimes[sorted[i]] == arrivalTimes[sorted[start]]) {
+                continue;
+            }
+            if(i - start > SHORT_RUN) {
+                int[] run = RadixSort.sort(Arrays.copyOfRange(sorted, start, i), keys);
+                System.arraycopy(run, 0, sorted, start, run.length);
+            }
+            else {
+                for(int j = start + 1; j < i; j++) {
+                    int index = sorted[j];
+                    int k = j - 1;
+                    while(k >= start && keys[sorted[k]] > keys[index]) {
+                        sorted[k + 1] = sorted[k];
+                        k--;
+                    }
+                    sorted[k + 1] = index;
+                }
+            }
+            start = i;
+        }
+        return sorted;
+    }
+
+    /*
+     * Stable sort of order[start] to order[end - 1] by ID string.
+     */
+    private static void sortRun(int[] order, int start, int end, final String[] ids) {
+        Integer[] run = new Integer[end - start];
+        for(int i = start; i < end; i++) {
+            run[i - start] = order[i];
+        }
+        Arrays.sort(run, new Comparator<Integer>() {//stable
+            public int compare(Integer a, Integer b) {
+                return ids[a].compareTo(ids[b]);
+            }
+        });
+        for(int i = start; i < end; i++) {
+            order[i] = run[i - start];
+        }
+    }
+
+    /*
+     * Return: a new list of the processes at the given indexes
+     */
+    private ArrayList<Process> select(int[] order) {
+        ArrayList<Process> selected = new ArrayList<Process>(order.length);
+        for(int i = 0; i < order.length; i++) {
+            selected.add(list.get(order[i]));
+        }
+        return selected;
+    }
+}
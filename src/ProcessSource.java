@@ -0,0 +1,10 @@
+/**
+ * A supply of processes in arrival time order that a scheduler takes processes from as it needs them.
+ * This lets a scheduler start running before every process has been read, for example straight from a datafile.
+ */
+public interface ProcessSource {
+    /*
+     * Return: the next process (Process) in arrival time order, or null when there are no more processes
+     */
+    Process next();
+}
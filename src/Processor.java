@@ -4,15 +4,35 @@
  *
  * Processor class used to provide execution time for a process.
  * Process wait and turnaround time are recorded here.
- * The schedule algorithms of FF, RR, SRT and FB (constant) all have their own methods, which are custom to that particular algorthim.
+ * The schedule algorithms of FF, RR, SRT and FB (constant) all have their own methods, which only differ in how long the process runs for.
+ * The current time is passed in by the schedule algorithm, which keeps its own timer, so any number of schedulers can run at the same time.
  */
 public class Processor {
-    private final int timeQuantum = 4;//interval timer to allow a process to run for a specific time interval
+    public static final int DEFAULT_TIME_QUANTUM = 4;//time quantum used unless another is given
+    private final int timeQuantum;//interval timer to allow a process to run for a specific time interval
 
     /*
-     * No member data required
+     * Uses the default time quantum of 4
      */
-    public Processor() { //do nothing
+    public Processor() {
+        this(DEFAULT_TIME_QUANTUM);
+    }
+
+    /*
+     * Input: time quantum (int) a process is allowed to run for by the RR and FB algorithms, at least 1
+     */
+    public Processor(int timeQuantum) {
+        if(timeQuantum < 1) {
+            throw new IllegalArgumentException("Time quantum must be at least 1: " + timeQuantum);
+        }
+        this.timeQuantum = timeQuantum;
+    }
+
+    /*
+     * Return: the time quantum (int) a process is allowed to run for by the RR and FB algorithms
+     */
+    public int getTimeQuantum() {
+        return timeQuantum;
     }
 
     /*
@@ -23,7 +43,7 @@ public class Processor {
      * Return: process that has been provided with execution time
      */
     public Process provideCPUTimeFCFS(Process process, int currentTime) {
-        process.setProcessStartTime(currentTime);//when the process starts execution
+        process.start(currentTime);//when the process starts execution
         process.setWaitTime(currentTime - process.getArrivalTime());//how long the process has had to wait to execute since it first entered the system
         process.setTurnAroundTime(process.getWaitTime() + process.getExecTime());//the total time a process takes to completely execute since it first entered the system
         return process;
@@ -31,93 +51,56 @@ public class Processor {
 
     /*
      * Used for RR schedule algorithm.
-     * Pass in a process (Process) as parameter and then calculate the wait and turn around time of the process.
-     * The timeQuantum var is used as RR simiply executes a process for only the max amount of the time Quantum or less.
-     * Input: process (Process)
+     * The process runs for the time quantum, or less if it has less exec time left.
+     * Input: process (Process) and current time (int)
      * Return: process that has been provided with execution time
      */
-    public Process provideCPUTimeRR(Process process) {
-        process.setProcessStartTime(RR.timer);//when the process starts execution
-
-        if(process.getExecTime() - timeQuantum <= 0) {//if a process has less than 4 exec time, stops the exec time from being a negative number
-            RR.timer += process.getExecTime();//increment the processor timer
-            process.setExecTime(0);//set the processes exec time to 0 as it has no more exec time left
-        }
-        else { //process has more than 4 exec time
-            RR.timer += timeQuantum;//increment the processor timer by the processor quantum time
-            process.setExecTime(process.getExecTime() - timeQuantum);//set the process exec time to the previous exec time minus the time quantum
-        }
-
-        int lastProcessFinishTime = 0;//reset the last process finish time to 0 which is used to calculate the wait time if the process needs to enter the processor a number of times
-        if(process.getProcessFinishTime() != 0) { //for processes that have already been processed once before
-            lastProcessFinishTime = process.getProcessFinishTime();//store than the process has last finished execution
-            process.setProcessFinishTime(RR.timer);//set the new process finish time for the current process being executed
-            process.setWaitTime(process.getWaitTime() + (process.getProcessStartTime() - lastProcessFinishTime));//set the process wait time which adds the previous waittime plus the current start and finish time
-        }
-        else{//for processes that have not been run before in the processor
-            process.setProcessFinishTime(RR.timer);//set the process finish time to the processor timer
-            process.setWaitTime(process.getProcessStartTime() - process.getArrivalTime());//set the process wait time which takes the process start time minus the process arrival time into the system
-        }
-        process.setTurnAroundTime(process.getProcessFinishTime() - process.getArrivalTime());//set the turn around time for the process, which is the process finish time minus the process arrival time
-
-        return process;
+    public Process provideCPUTimeRR(Process process, int currentTime) {
+        return provideCPUTime(process, currentTime, Math.min(timeQuantum, process.getExecTime()));
     }
 
     /*
      * Used for SRT schedule algorithm.
-     * Pass in a process (Process) as parameter and then calculate the wait and turn around time of the process.
      * The timeQuantum var is not used as SRT will simiply executes a process for only 1 execution at a time as it needs to check after every execution that another process in its list has a smaller
      * execution time or not.
-     * Input: process (Process)
+     * Input: process (Process) and current time (int)
      * Return: process that has been provided with execution time
      */
-    public Process provideCPUTimeSRT(Process process) {
-        process.setProcessStartTime(SRT.timer);//when the process starts execution
-        SRT.timer += 1;//increment the processor timer by 1 execution time
-        process.setExecTime(process.getExecTime() - 1);//set the process exec time to the previous exec time minus the 1 execution time provided
-
-        int lastProcessFinishTime = 0;//reset the last process finish time to 0 which is used to calculate the wait time if the process needs to enter the processor a number of times
-        if(process.getProcessFinishTime() != 0) { //for processes that have already been processed once before
-            lastProcessFinishTime = process.getProcessFinishTime();//store than the process has last finished execution
-            process.setProcessFinishTime(SRT.timer);//set the new process finish time for the current process being executed
-            process.setWaitTime(process.getWaitTime() + (process.getProcessStartTime() - lastProcessFinishTime));//set the process wait time which adds the previous waittime plus the current start and finish time
-        }
-        else{//for processes that have not been run before in the processor
-            process.setProcessFinishTime(SRT.timer);//set the process finish time to the processor timer 
-            process.setWaitTime(process.getProcessStartTime() - process.getArrivalTime());//set the process wait time which takes the process start time minus the process arrival time into the system
-        }
-        process.setTurnAroundTime(process.getProcessFinishTime() - process.getArrivalTime());//set the turn around time for the process, which is the process finish time minus the process arrival time
-
-        return process;
+    public Process provideCPUTimeSRT(Process process, int currentTime) {
+        return provideCPUTime(process, currentTime, 1);
     }
 
     /*
      * Used for FB (constant) schedule algorithm.
-     * Pass in a process (Process) as parameter and then calculate the wait and turn around time of the process.
-     * The timeQuantum var is used as FB simiply executes a process for only the max amount of the time Quantum or less.
-     * Input: process (Process)
+     * The process runs for the time quantum, or less if it has less exec time left.
+     * Input: process (Process) and current time (int)
      * Return: process that has been provided with execution time
      */
-    public Process provideCPUTimeFB(Process process) {
-        process.setProcessStartTime(FB.timer);//when the process starts execution
+    public Process provideCPUTimeFB(Process process, int currentTime) {
+        return provideCPUTime(process, currentTime, Math.min(timeQuantum, process.getExecTime()));
+    }
 
-        if(process.getExecTime() - timeQuantum <= 0) {//if a process has less than 4 exec time, stops the exec time from being a negative number
-            FB.timer += process.getExecTime();//increment the processor timer
-            process.setExecTime(0);//set the processes exec time to 0 as it has no more exec time left
-        }
-        else { 
-            FB.timer += timeQuantum;//increment the processor timer by the processor quantum time
-            process.setExecTime(process.getExecTime() - timeQuantum);//set the process exec time to the previous exec time minus the time quantum
-        }
+    /*
+     * Shared by RR, SRT and FB.
+     * Pass in a process (Process), the current time (int) and how long it runs for (int), then calculate the wait and turn around time of the process.
+     * The process finish time is the time at which the processor stops.
+     * Input: process (Process), current time (int) and run time (int)
+     * Return: process that has been provided with execution time
+     */
+    private Process provideCPUTime(Process process, int currentTime, int runTime) {
+        int timer = currentTime;//the processor timer
+        process.start(timer);//when the process starts execution
+        timer += runTime;//increment the processor timer
+        process.setExecTime(process.getExecTime() - runTime);//set the process exec time to the previous exec time minus the time it ran for
 
         int lastProcessFinishTime = 0;//reset the last process finish time to 0 which is used to calculate the wait time if the process needs to enter the processor a number of times
         if(process.getProcessFinishTime() != 0) { //for processes that have already been processed once before
             lastProcessFinishTime = process.getProcessFinishTime();//store than the process has last finished execution
-            process.setProcessFinishTime(FB.timer);//set the new process finish time for the current process being executed
+            process.setProcessFinishTime(timer);//set the new process finish time for the current process being executed
             process.setWaitTime(process.getWaitTime() + (process.getProcessStartTime() - lastProcessFinishTime));//set the process wait time which adds the previous waittime plus the current start and finish time
         }
         else{//for processes that have not been run before in the processor
-            process.setProcessFinishTime(FB.timer);//set the process finish time to the processor timer
+            process.setProcessFinishTime(timer);//set the process finish time to the processor timer
             process.setWaitTime(process.getProcessStartTime() - process.getArrivalTime());//set the process wait time which takes the process start time minus the process arrival time into the system
         }
         process.setTurnAroundTime(process.getProcessFinishTime() - process.getArrivalTime());//set the turn around time for the process, which is the process finish time minus the process arrival time
@@ -125,4 +108,3 @@ public class Processor {
         return process;
     }
 }
-
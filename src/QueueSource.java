@@ -0,0 +1,55 @@
+/**
+ * ProcessSource that a scheduler on one thread takes processes from while another thread reads them, for example from stdin.
+ * Processes are handed over in batches through a bounded queue, so the reading thread waits when the scheduler falls behind
+ * and the number of processes waiting in between never grows past the queue capacity.
+ * An empty batch marks the end of the processes.
+ */
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class QueueSource implements ProcessSource {
+    private ArrayBlockingQueue<ArrayList<Process>> queue;//batches read but not taken by the scheduler yet
+    private ArrayList<Process> batch;//the batch the scheduler is taking processes from
+    private int next;//index of the next process in batch
+    private boolean ended;//true once the empty batch has been taken
+
+    /*
+     * Input: the most batches that can wait in the queue (int)
+     */
+    public QueueSource(int capacity) {
+        queue = new ArrayBlockingQueue<ArrayList<Process>>(capacity);
+        batch = new ArrayList<Process>();
+        next = 0;
+        ended = false;
+    }
+
+    /*
+     * Called by the reading thread to hand over a batch, which must not be changed afterwards. An empty batch ends the processes.
+     * Input: batch of processes in arrival order (ArrayList) and the longest time to wait for room in the queue (long, milliseconds)
+     * Return: true if the batch was added, false if the queue stayed full for the whole time
+     */
+    public boolean offer(ArrayList<Process> processes, long timeout) throws InterruptedException {
+        return queue.offer(processes, timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Waits for the next batch if every process handed over so far has been taken.
+     * Return: the next process (Process), or null once the empty batch has been taken
+     * Throws: IllegalStateException if the thread is interrupted while waiting
+     */
+    public Process next() {
+        while(!ended && next == batch.size()) {
+            try {
+                batch = queue.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for processes");
+            }
+            next = 0;
+            ended = batch.size() == 0;
+        }
+        return ended ? null : batch.get(next++);
+    }
+}
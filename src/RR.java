@@ -15,28 +15,45 @@ public class RR {
     private ArrayList<Process> readyQueue;//the list of processes that are waiting to execute
     private ArrayList<Process> processes;//the list of process that are to be executed from have not arrived into the system yet
     private ArrayList<Process> completed;//the list of processes that have completely finished processing and have no further execution time
-    public static int timer;//the current time at any point within the execution of all processes
+    private int timer;//the current time at any point within the execution of all processes
+    private DispatchSink sink;//where the time each process is sent to the processor is reported
     private int processQueueSize;//used to store the size of the list that is passed in at the constructor.
     private Process previousProcess;//used to store the last process that was sent to the processor. Used so if the same process is sent to processor twice in a row the output will not be affected.
     /*
-     * Takes an ArrayList of processes as parameter and performs a deep copy of this list, which will be worked on rather than the input list.
-     * Input: ArryayList of processes
+     * Same as the constructor below, with the time each process is sent to the processor written to System.out as text.
      */
     public RR(ArrayList<Process> list) {
+        this(list, new TextSink(System.out));
+    }
+
+    /*
+     * Same as the constructor below, with the default time quantum.
+     */
+    public RR(ArrayList<Process> list, DispatchSink sink) {
+        this(list, sink, Processor.DEFAULT_TIME_QUANTUM);
+    }
+
+    /*
+     * Takes an ArrayList of processes as parameter and performs a deep copy of this list, which will be worked on rather than the input list.
+     * The time each process is sent to the processor is reported to the given DispatchSink.
+     * Input: ArryayList of processes, the DispatchSink to report to and the time quantum (int), at least 1
+     */
+    public RR(ArrayList<Process> list, DispatchSink sink, int timeQuantum) {
         readyQueue = new ArrayList<Process>();//the list of processes that are waiting to execute
         processes = new ArrayList<Process>();//the list of process that are to be executed from have not arrived into the system yet
         completed =  new ArrayList<Process>();//the list of process that are to be executed from have not arrived into the system yet
-        newProcessor = new Processor();//used to pass a process to the processor which provides execution time to the process
+        newProcessor = new Processor(timeQuantum);//used to pass a process to the processor which provides execution time to the process
         for(int i = 0; i < list.size();i++) { //create a deep copy of list
             processes.add(new Process(list.get(i).getProcessId(),list.get(i).getArrivalTime(),list.get(i).getExecTime()));
         }
+        this.sink = sink;
         timer = 0;//set timer to 0 as this is the start of the algorithm
         processQueueSize = list.size();//store the size of the list that is passed in at the constructor.
     }
 
     /*
      * Send every process to the processor until all execution time reaches 0
-     * Output the time where each process is sent to the processor. If the same processor is sent twice in a row (or more) only the first time will be output.
+     * Report the time where each process is sent to the processor to the sink. If the same processor is sent twice in a row (or more) only the first time will be reported.
      * Returns a list of processes that have sall been executed.
      * Input: none
      * Output: completed arraylist of processes
@@ -54,9 +71,10 @@ public class RR {
             }
 
             if(previousProcess != process) { //ensures if the same process is processed directly after it self the output does not duplicate
-                System.out.println("T" + timer + ": " + process.getProcessId());
+                sink.dispatch(timer, process.getProcessId());
             }   
-            process = newProcessor.provideCPUTimeRR(process);//send current process to processor and then store back into process var
+            process = newProcessor.provideCPUTimeRR(process, timer);//send current process to processor and then store back into process var
+            timer = process.getProcessFinishTime();//move the timer on to when the processor stopped
             storeNextProcess();//store the next process to be executed into the ready queue
             readyQueue.remove(0);//remove first process in readyQueue as has already been executed
             if(process.getExecTime() > 0) {//check if process still has more processing time
@@ -68,6 +86,7 @@ public class RR {
             previousProcess = process;//store current process into previousProcess to handle if the process is processed next and will cause a duplicate output
         } 
         while(completed.size() != processQueueSize);//continue until the readyQueue is empty or the completed queue reaches the size of the original process list
+        sink.flush();
         return completed;//return the processes that have all been processed
     }
 
@@ -0,0 +1,122 @@
+/**
+ * Stable least significant digit radix sorts of an order of indexes by int or long keys, 8 bits at a time.
+ * Sorting n indexes takes at most 4 (int) or 8 (long) passes over them whatever n is, and a pass is skipped when every key has the same
+ * 8 bits there, so small keys such as arrival times or dense ID keys usually need only 1 to 3 passes, and keys that are already in order
+ * need none. No comparator is called.
+ * Indexes with equal keys keep the order they were given in, so sorting by one key and then another gives the order of the second key
+ * then the first, as Collections.sort does.
+ */
+import java.util.Arrays;
+
+public class RadixSort {
+    private static final int BITS = 8;//bits of the key sorted in each pass
+    private static final int RADIX = 1 << BITS;
+
+    /*
+     * Sorts indexes by keys[index], negative keys first.
+     * Input: indexes to sort (int[]), which is not changed, and the key of each index (int[])
+     * Return: the indexes in key order (int[])
+     */
+    public static int[] sort(int[] order, int[] keys) {
+        int[] from = order.clone();
+        if(isSorted(from, keys)) {
+            return from;
+        }
+        int[] to = new int[from.length];
+        int[] counts = new int[RADIX + 1];
+        for(int shift = 0; shift < 32; shift += BITS) {
+            Arrays.fill(counts, 0);
+            for(int i = 0; i < from.length; i++) {
+                counts[(((keys[from[i]] ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if(!distribute(from, to, counts)) {
+                continue;
+            }
+            for(int i = 0; i < from.length; i++) {
+                int index = from[i];
+                to[counts[((keys[index] ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1)]++] = index;
+            }
+            int[] sorted = to;
+            to = from;
+            from = sorted;
+        }
+        return from;
+    }
+
+    /*
+     * Sorts indexes by keys[index], negative keys first.
+     * Input: indexes to sort (int[]), which is not changed, and the key of each index (long[])
+     * Return: the indexes in key order (int[])
+     */
+    public static int[] sort(int[] order, long[] keys) {
+        int[] from = order.clone();
+        if(isSorted(from, keys)) {
+            return from;
+        }
+        int[] to = new int[from.length];
+        int[] counts = new int[RADIX + 1];
+        for(int shift = 0; shift < 64; shift += BITS) {
+            Arrays.fill(counts, 0);
+            for(int i = 0; i < from.length; i++) {
+                counts[(int) (((keys[from[i]] ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if(!distribute(from, to, counts)) {
+                continue;
+            }
+            for(int i = 0; i < from.length; i++) {
+                int index = from[i];
+                to[counts[(int) (((keys[index] ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1))]++] = index;
+            }
+            int[] sorted = to;
+            to = from;
+            from = sorted;
+        }
+        return from;
+    }
+
+    /*
+     * Return: the indexes 0 to count - 1 in order (int[]), the order to start sorting from
+     */
+    public static int[] identity(int count) {
+        int[] order = new int[count];
+        for(int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /*
+     * Return: true if the indexes are already in key order, as a workload read in arrival time order is
+     */
+    private static boolean isSorted(int[] order, int[] keys) {
+        for(int i = 1; i < order.length; i++) {
+            if(keys[order[i]] < keys[order[i - 1]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSorted(int[] order, long[] keys) {
+        for(int i = 1; i < order.length; i++) {
+            if(keys[order[i]] < keys[order[i - 1]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Turns the count of each digit, held one place along, into the position the first index with that digit goes to.
+     * Return: false if every index has the same digit, so the pass would not change the order
+     */
+    private static boolean distribute(int[] from, int[] to, int[] counts) {
+        for(int digit = 1; digit <= RADIX; digit++) {
+            if(counts[digit] == from.length) {
+                return false;
+            }
+            counts[digit] += counts[digit - 1];
+        }
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Outputs the results of every schedule algorithm once a run has finished: under the name of each algorithm, its trace, the waiting and
+ * turnaround time of every job, or only the number of jobs for an online run, and its cores, then a summary of the average times and
+ * their percentiles. The algorithms are output in SchedulerTask.POLICIES order.
+ */
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+public class Report {
+    public static final String[] NAMES = {"FCFS", "RR", "SRT", "FB (constant)", "SPN", "HRRN", "Lottery", "Stride", "MLFQ"};//name output for each algorithm
+    private static final int OUTPUT_CHUNK = 1 << 16;//characters of the results table output at once
+
+    /*
+     * Outputs the results of every schedule algorithm once they have all finished: the trace, the waiting and turnaround time of every job
+     * and the cores for each algorithm, then the summary.
+     * Input: where to output them (PrintStream), the SchedulerTasks and the JobTable each returned
+     * Return: none
+     */
+    public static void printRun(PrintStream out, SchedulerTask[] tasks, JobTable[] outputs) {
+        double[][] averages = new double[SchedulerTask.POLICIES.length][];
+        JobStats[] stats = new JobStats[SchedulerTask.POLICIES.length];
+        for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+            out.println((i == 0 ? "" : "\n\n") + NAMES[i] + (tasks[i].isEventFallback() ? " (event engine)" : "") + ":");
+            tasks[i].printTrace(out);
+            averages[i] = printResults(out, outputs[i]);
+            tasks[i].printCores(out);
+            stats[i] = outputs[i].getStats();
+        }
+
+        /*---------------Summary output---------------*/
+        out.println("\n\nSummary");
+        out.format("%-15s%-25s%-10s"," ","Average Waiting Time", "Average Turnaround Time");
+        for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+            printAverages(out, NAMES[i], outputs[i].size(), averages[i][0], averages[i][1]);
+        }
+        printPercentiles(out, NAMES, stats);
+    }
+
+    /*
+     * Outputs the results of algorithms run on online tables once each has finished: the trace option's output, the number of jobs,
+     * the most jobs in the system at once and the cores for each algorithm, then the summary.
+     * The Output phase starts once every algorithm has finished, and has ended when this returns.
+     * Input: the SchedulerTasks, the Futures of their online tables and the Phases of the run
+     * Return: none
+     */
+    public static void printOnline(SchedulerTask[] tasks, ArrayList<Future<JobTable>> results, Phases phases) {
+        JobTable[] outputs = new JobTable[SchedulerTask.POLICIES.length];
+        try
+        {
+            for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+                outputs[i] = results.get(i).get();
+            }
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            System.out.println("Error occured. A schedule algorithm failed: " + e.getCause());
+            System.exit(0);
+        }
+        phases.start("Output");
+
+        JobStats[] stats = new JobStats[SchedulerTask.POLICIES.length];
+        for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+            stats[i] = outputs[i].getStats();
+            System.out.println((i == 0 ? "" : "\n\n") + NAMES[i] + ":");
+            tasks[i].printTrace(System.out);
+            System.out.format("%-25s%-10s", "Jobs", stats[i].getCount());
+            System.out.format("\n%-25s%-10s", "Most jobs held at once", outputs[i].size());
+            tasks[i].printCores(System.out);
+        }
+
+        System.out.println("\n\nSummary");
+        System.out.format("%-15s%-25s%-10s"," ","Average Waiting Time", "Average Turnaround Time");
+        for(int i = 0; i < SchedulerTask.POLICIES.length; i++) {
+            printAverages(System.out, NAMES[i], stats[i].getCount(), stats[i].getAverageWait(), stats[i].getAverageTurnaround());
+        }
+        printPercentiles(System.out, NAMES, stats);
+        phases.end();
+    }
+
+    /*
+     * Outputs the line of the summary of one schedule algorithm, with - for the averages of an algorithm that had no jobs, as a batch
+     * summary does, instead of NaN.
+     * Input: where to output it (PrintStream), name of the algorithm (String), number of jobs (long), average waiting time (double)
+     *        and average turnaround time (double)
+     * Return: none
+     */
+    private static void printAverages(PrintStream out, String name, long jobs, double averageWait, double averageTurnaround) {
+        if(jobs == 0) {
+            out.format("\n%-15s%-25s%-10s", name, "-", "-");
+        }
+        else {
+            out.format("\n%-15s%-25.2f%-10.2f", name, averageWait, averageTurnaround);
+        }
+    }
+
+    /*
+     * Outputs the 50th, 90th, 99th and 99.9th percentile of the waiting, turnaround and response times of each schedule algorithm.
+     * Input: where to output them (PrintStream), name of each algorithm (String[]) and its results (JobStats[])
+     * Return: none
+     */
+    private static void printPercentiles(PrintStream out, String[] names, JobStats[] stats) {
+        out.format("\n\n%-15s%-15s%-10s%-10s%-10s%-10s", "Percentiles", " ", "p50", "p90", "p99", "p99.9");
+        for(int i = 0; i < names.length; i++) {
+            printPercentiles(out, names[i], "Waiting", stats[i].getWaitTimes());
+            printPercentiles(out, " ", "Turnaround", stats[i].getTurnAroundTimes());
+            printPercentiles(out, " ", "Response", stats[i].getResponseTimes());
+        }
+    }
+
+    private static void printPercentiles(PrintStream out, String name, String time, LatencyHistogram histogram) {
+        out.format("\n%-15s%-15s%-10s%-10s%-10s%-10s", name, time, histogram.percentile(0.5), histogram.percentile(0.9),
+            histogram.percentile(0.99), histogram.percentile(0.999));
+    }
+
+    /*
+     * Outputs the waiting time and turnaround time of every job in processID order.
+     * The rows are built in a StringBuilder and output OUTPUT_CHUNK characters at a time, the same as formatting each row with
+     * "\n%-10s%-15s%-20s" but without a format() and a write to the stream for every job.
+     * Input: where to output them (PrintStream) and JobTable of processed jobs
+     * Return: the average waiting time and average turnaround time (double[2])
+     */
+    private static double[] printResults(PrintStream out, JobTable jobs) {
+        long totalWait = 0;//used to calculate the average wait time
+        long totalTurnaround = 0;//used to calculate the average turnaround time
+        int[] order = jobs.idOrder();//rows sorted by processID
+        out.format("\n%-10s%-15s%-20s", "Process", "Waiting Time", "Turnaround Time");
+        StringBuilder rows = new StringBuilder(OUTPUT_CHUNK + 64);//rows that have not been output yet
+        for(int i = 0; i < order.length; i++) {
+            int row = order[i];
+            rows.append('\n');
+            appendPadded(rows, jobs.getProcessId(row), 10);
+            appendPadded(rows, Integer.toString(jobs.getWaitTime(row)), 15);
+            appendPadded(rows, Integer.toString(jobs.getTurnAroundTime(row)), 20);
+            if(rows.length() >= OUTPUT_CHUNK) {
+                out.print(rows);
+                rows.setLength(0);
+            }
+            totalWait += jobs.getWaitTime(row);
+            totalTurnaround += jobs.getTurnAroundTime(row);
+        }
+        out.print(rows);
+        return new double[] {(double) totalWait / jobs.size(), (double) totalTurnaround / jobs.size()};
+    }
+
+    /*
+     * Adds a value followed by spaces up to the width, in the same way as format() with %-<width>s.
+     * Input: where to add it (StringBuilder), the value (String) and the width (int)
+     * Return: none
+     */
+    private static void appendPadded(StringBuilder line, String value, int width) {
+        line.append(value);
+        for(int i = value.length(); i < width; i++) {
+            line.append(' ');
+        }
+    }
+}
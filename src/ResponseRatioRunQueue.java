@@ -0,0 +1,229 @@
+/**
+ * Highest Response Ratio Next (HRRN) run queue. The job with the highest (time waiting + remaining time) / remaining time runs next,
+ * and runs to completion. Jobs with the same ratio run in the order they arrived.
+ *
+ * Every waiting job's ratio grows as time passes, and shorter jobs' ratios grow faster, so the order changes without any job arriving.
+ * Rather than working out every ratio at each decision, the jobs are kept in a kinetic tournament: a binary tree whose leaves hold
+ * the waiting jobs and whose nodes each hold the winner of their two children, together with the first time one of the winners below
+ * them will change. As each ratio is a straight line in time, that time can be worked out exactly when the node is decided.
+ * Moving the clock forward only decides again the nodes whose time has come, and adding or removing a job decides only the nodes above it,
+ * so each decision takes about log(waiting jobs) steps instead of a step for every waiting job.
+ * Ratios are compared by cross multiplying in long arithmetic, so no rounding changes the order.
+ */
+import java.util.Arrays;
+
+public class ResponseRatioRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private static final long NEVER = Long.MAX_VALUE;//time of a node whose winner can not change
+
+    private JobTable jobs;//the jobs the rows belong to
+    private int capacity;//number of leaves, a power of 2
+    private int[] winners;//slot that wins each node at the current time, -1 if no job is below it, node 1 is the root
+    private long[] changes;//first time the winner of a node or of a node below it changes
+    private int[] rows;//row in each slot
+    private int[] bases;//time each slot's job would have arrived if it had never run, its ratio at time t is (t - base + service) / service
+    private int[] services;//remaining time of each slot's job when it was queued
+    private long[] arrivalNumbers;//arrival order of each slot's job, for ties
+    private int[] freeSlots;//stack of slots with no job in them
+    private int freeCount;//number of slots in freeSlots
+    private int count;//number of waiting jobs
+    private int time;//the current time
+
+    /*
+     * Input: JobTable of the jobs
+     */
+    public ResponseRatioRunQueue(JobTable jobs) {
+        this.jobs = jobs;
+        capacity = 0;
+        count = 0;
+        time = 0;
+        grow(16);
+    }
+
+    public void arrive(int row) {
+        add(row);
+    }
+
+    public void requeue(int row) {
+        add(row);
+    }
+
+    public int next() {
+        int slot = winners[1];
+        freeSlots[freeCount++] = slot;
+        count--;
+        int node = capacity + slot;
+        winners[node] = -1;
+        update(node >>> 1);
+        return rows[slot];
+    }
+
+    public int peek() {
+        return rows[winners[1]];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int timeSlice(int row) {
+        return jobs.getRemaining(row);
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+
+    /*
+     * Moves the clock forward, deciding again every node whose winner has changed by then.
+     */
+    public void setTime(int time) {
+        if(time > this.time) {
+            this.time = time;
+            if(changes[1] <= time) {
+                decideChanged(1);
+            }
+        }
+    }
+
+    /*
+     * Put a job in a free slot and decide the nodes above it.
+     */
+    private void add(int row) {
+        if(freeCount == 0) {
+            grow(capacity * 2);
+        }
+        int slot = freeSlots[--freeCount];
+        rows[slot] = row;
+        bases[slot] = jobs.getFinishTime(row) - jobs.getWaitTime(row);//the time it has already waited is counted as if it arrived earlier
+        services[slot] = jobs.getRemaining(row);
+        arrivalNumbers[slot] = jobs.getArrivalNumber(row);
+        count++;
+        int node = capacity + slot;
+        winners[node] = slot;
+        update(node >>> 1);
+    }
+
+    /*
+     * Decide a node and every node above it.
+     */
+    private void update(int node) {
+        while(node > 0) {
+            decide(node);
+            node >>>= 1;
+        }
+    }
+
+    /*
+     * Decide again every node below and including node whose winner has changed by the current time, children first.
+     */
+    private void decideChanged(int node) {
+        if(node >= capacity) {
+            return;
+        }
+        int left = 2 * node;
+        if(changes[left] <= time) {
+            decideChanged(left);
+        }
+        if(changes[left + 1] <= time) {
+            decideChanged(left + 1);
+        }
+        decide(node);
+    }
+
+    /*
+     * Set the winner of a node from its two children at the current time, and the first time that it or a winner below it changes.
+     */
+    private void decide(int node) {
+        int left = 2 * node;
+        int a = winners[left];
+        int b = winners[left + 1];
+        long change = Math.min(changes[left], changes[left + 1]);
+        if(a < 0 || b < 0) {
+            winners[node] = a < 0 ? b : a;
+        }
+        else if(beats(a, b)) {
+            winners[node] = a;
+            change = Math.min(change, overtakes(b, a));
+        }
+        else {
+            winners[node] = b;
+            change = Math.min(change, overtakes(a, b));
+        }
+        changes[node] = change;
+    }
+
+    /*
+     * Return: true if slot a has a higher ratio than slot b at the current time, or the same ratio and arrived first.
+     * A job with no time left has the highest ratio of all.
+     */
+    private boolean beats(int a, int b) {
+        long difference = ratioDifference(a, b, time);
+        if(difference != 0) {
+            return difference > 0;
+        }
+        return arrivalNumbers[a] < arrivalNumbers[b];
+    }
+
+    /*
+     * Return: a number with the same sign as slot a's ratio minus slot b's ratio at time t (long)
+     */
+    private long ratioDifference(int a, int b, long t) {
+        if(services[a] == 0 || services[b] == 0) {
+            return services[b] - services[a] == 0 ? 0 : (services[a] == 0 ? 1 : -1);
+        }
+        //(t - baseA + serviceA) / serviceA - (t - baseB + serviceB) / serviceB, multiplied by both services, each part is below 2^63
+        return (t - bases[a] + services[a]) * services[b] - (t - bases[b] + services[b]) * services[a];
+    }
+
+    /*
+     * Return: the first time after the current time that slot loser beats slot winner (long), NEVER if it does not happen while time fits in an int
+     */
+    private long overtakes(int loser, int winner) {
+        if(services[loser] == 0 || services[loser] >= services[winner]) {//the loser's ratio does not grow faster than the winner's
+            return NEVER;
+        }
+        long lead = ratioDifference(winner, loser, time);//not negative, and falls by gain at each time unit
+        long gain = services[winner] - services[loser];
+        long wait = lead / gain + 1;//first time the lead is below 0
+        if(lead % gain == 0 && arrivalNumbers[loser] < arrivalNumbers[winner]) {
+            wait--;//the loser also wins once the ratios are equal
+        }
+        if(wait > Integer.MAX_VALUE - (long) time) {
+            return NEVER;
+        }
+        return time + wait;
+    }
+
+    /*
+     * Make room for newCapacity jobs, putting the waiting jobs back in the leaves and deciding every node again.
+     */
+    private void grow(int newCapacity) {
+        int oldCapacity = capacity;
+        int[] oldWinners = winners;
+        capacity = newCapacity;
+        rows = oldCapacity == 0 ? new int[newCapacity] : Arrays.copyOf(rows, newCapacity);
+        bases = oldCapacity == 0 ? new int[newCapacity] : Arrays.copyOf(bases, newCapacity);
+        services = oldCapacity == 0 ? new int[newCapacity] : Arrays.copyOf(services, newCapacity);
+        arrivalNumbers = oldCapacity == 0 ? new long[newCapacity] : Arrays.copyOf(arrivalNumbers, newCapacity);
+        winners = new int[2 * newCapacity];
+        changes = new long[2 * newCapacity];
+        Arrays.fill(winners, -1);
+        Arrays.fill(changes, NEVER);
+        for(int slot = 0; slot < oldCapacity; slot++) {
+            winners[newCapacity + slot] = oldWinners[oldCapacity + slot];
+        }
+        freeSlots = new int[newCapacity];
+        freeCount = 0;
+        for(int slot = newCapacity - 1; slot >= oldCapacity; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+        for(int node = newCapacity - 1; node > 0; node--) {
+            decide(node);
+        }
+    }
+}
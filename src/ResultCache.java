@@ -0,0 +1,311 @@
+/**
+ * On disk cache of the results of scheduling runs, so that running the same policy on the same workload again reads the results
+ * instead of running the scheduler.
+ *
+ * The cache is content addressed: each entry is a file named by the SHA-256 of its key, which is made from the VERSION of the key,
+ * a SHA-256 digest of the simulator's class files, a SHA-256 digest of the parsed workload, the policy and the settings and options that
+ * change its results. The digest of the class files means a build with any change to a scheduler never reads the results of another build,
+ * without anyone having to remember to change VERSION. The key is also stored in the entry and checked when it is read. An entry holds the Entry of the run: the JobTable's result columns and JobStats, without the
+ * input columns, which are taken from the workload read again, the trace and the MultiCore scheduler if there was one.
+ *
+ * The cache is kept under a size limit by deleting the least recently used entries once a new entry is added. Reading an entry sets its
+ * last modified time, which is what recently used means. Each entry is written to a temporary file and moved into place, so several runs
+ * can share a cache, and an entry that cannot be read, such as one written by a different version of a class, is deleted and counts as a miss.
+ */
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class ResultCache {
+    public static final String VERSION = "2";//version of the key, changed whenever what goes into the key changes, a change to a scheduler changes BUILD instead
+    private static final String BUILD = buildDigest();//digest of the class files the simulator was loaded from
+    public static final int MAGIC = 0x52484353;//"SCHR" in little endian
+    public static final int FORMAT = 1;//format version written after the magic number
+    public static final long DEFAULT_SIZE = 512L << 20;//bytes the entries can take up
+    private static final String SUFFIX = ".result";//end of the name of each entry
+
+    private File directory;//where the entries are kept
+    private long maxSize;//bytes the entries can take up before the least recently used are deleted
+
+    /*
+     * Run results kept in an entry.
+     */
+    public static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;//change it and FORMAT when the serialized fields change
+        private JobTable jobs;//results of every job, with the JobStats
+        private byte[] text;//text trace, null if the trace was not text
+        private FlightRecorder recorder;//recorder trace, null if the trace was not a recorder
+        private MultiCore multiCore;//the multi core scheduler once it has run, null for one processor
+
+        /*
+         * Input: JobTable with the results, the text trace (byte[]) or null, the FlightRecorder or null and the MultiCore or null
+         */
+        public Entry(JobTable jobs, byte[] text, FlightRecorder recorder, MultiCore multiCore) {
+            this.jobs = jobs;
+            this.text = text;
+            this.recorder = recorder;
+            this.multiCore = multiCore;
+        }
+
+        /*
+         * Return: the JobTable with the results and JobStats
+         */
+        public JobTable getJobs() {
+            return jobs;
+        }
+
+        /*
+         * Return: the text trace (byte[]), null if the trace was not text
+         */
+        public byte[] getText() {
+            return text;
+        }
+
+        /*
+         * Return: the FlightRecorder of the recorder trace, null if the trace was not a recorder
+         */
+        public FlightRecorder getRecorder() {
+            return recorder;
+        }
+
+        /*
+         * Return: the MultiCore that ran the jobs, null for one processor
+         */
+        public MultiCore getMultiCore() {
+            return multiCore;
+        }
+    }
+
+    /*
+     * Input: directory the entries are kept in (File), made if it does not exist, and the bytes the entries can take up (long)
+     * Throws: IOException if the directory cannot be made
+     */
+    public ResultCache(File directory, long maxSize) throws IOException {
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot make cache directory " + directory);
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /*
+     * Return: the SHA-256 digest of every job's process ID, arrival time, exec size and tickets in table order, as hex (String)
+     */
+    public static String digest(JobTable jobs) {
+        MessageDigest digest = sha256();
+        byte[] numbers = new byte[16];
+        for(int row = 0; row < jobs.size(); row++) {
+            byte[] id = jobs.getProcessId(row).getBytes(StandardCharsets.UTF_8);
+            putInt(numbers, 0, id.length);
+            putInt(numbers, 4, jobs.getArrivalTime(row));
+            putInt(numbers, 8, jobs.getExecSize(row));
+            putInt(numbers, 12, jobs.getTickets(row));
+            digest.update(numbers);
+            digest.update(id);
+        }
+        return hex(digest.digest());
+    }
+
+    /*
+     * Return: the key of the results of a run (String)
+     * Input: digest of the workload (String), the policy (String) and the settings and options that change its results (String)
+     */
+    public static String key(String workload, String policy, String options) {
+        return "version=" + VERSION + " build=" + BUILD + " workload=" + workload + " policy=" + policy + " " + options;
+    }
+
+    /*
+     * Reads the entry of a key, giving its JobTable the input columns of the workload and marking it as recently used.
+     * Input: key (String) and JobTable of the workload in datafile order
+     * Return: the Entry, null if there is none or it cannot be read
+     */
+    public Entry get(String key, JobTable input) {
+        File file = fileOf(key);
+        if(!file.isFile()) {
+            return null;
+        }
+        try {
+            InputStream stream = new BufferedInputStream(new FileInputStream(file), TextSink.BUFFER_SIZE);
+            try {
+                DataInputStream header = new DataInputStream(stream);
+                if(Integer.reverseBytes(header.readInt()) != MAGIC || Integer.reverseBytes(header.readInt()) != FORMAT) {
+                    throw new IOException("Not a cache entry: " + file);
+                }
+                ObjectInputStream in = new ObjectInputStream(stream);
+                if(!in.readUTF().equals(key)) {
+                    return null;//a different key with the same SHA-256, which is left in place
+                }
+                Entry entry = (Entry) in.readObject();
+                entry.jobs.setInput(input);
+                file.setLastModified(System.currentTimeMillis());
+                return entry;
+            }
+            finally {
+                stream.close();
+            }
+        }
+        catch (IOException | ClassNotFoundException | RuntimeException e) {//an entry that cannot be used is a miss, and is made again
+            file.delete();
+            return null;
+        }
+    }
+
+    /*
+     * Adds the entry of a key, then deletes the least recently used entries until the cache is within its size.
+     * Input: key (String) and Entry
+     * Return: none
+     * Throws: IOException if the entry cannot be written
+     */
+    public void put(String key, Entry entry) throws IOException {
+        File file = fileOf(key);
+        File temporary = File.createTempFile("entry", ".tmp", directory);
+        try {
+            FileOutputStream stream = new FileOutputStream(temporary);
+            try {
+                byte[] header = new byte[8];
+                putInt(header, 0, Integer.reverseBytes(MAGIC));
+                putInt(header, 4, Integer.reverseBytes(FORMAT));
+                stream.write(header);
+                ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(stream, TextSink.BUFFER_SIZE));
+                out.writeUTF(key);
+                out.writeObject(entry);
+                out.flush();
+            }
+            finally {
+                stream.close();
+            }
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            temporary.delete();
+        }
+        evict();
+    }
+
+    /*
+     * Delete the least recently used entries until the entries take up no more than maxSize bytes. Entries are never deleted by more
+     * than one thread at once, though another run sharing the cache may be deleting them too.
+     */
+    private synchronized void evict() {
+        File[] files = directory.listFiles(new FileFilter() {
+            public boolean accept(File file) {
+                return file.getName().endsWith(SUFFIX);
+            }
+        });
+        if(files == null) {
+            return;
+        }
+        long[] times = new long[files.length];//read once each, as another run can change them while sorting
+        long size = 0;
+        Integer[] order = new Integer[files.length];
+        for(int i = 0; i < files.length; i++) {
+            times[i] = files[i].lastModified();
+            size += files[i].length();
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                return Long.compare(times[a], times[b]);
+            }
+        });
+        for(int i = 0; i < order.length && size > maxSize; i++) {
+            File oldest = files[order[i]];
+            long length = oldest.length();
+            if(oldest.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    /*
+     * Return: SHA-256 digest (String) of the classes the simulator was loaded from: the jar file, or every class file under the class
+     *         directory in name order with its name, "unknown" if they cannot be read, which leaves VERSION to tell builds apart
+     */
+    private static String buildDigest() {
+        try {
+            CodeSource source = ResultCache.class.getProtectionDomain().getCodeSource();
+            if(source == null) {
+                return "unknown";
+            }
+            Path location = Paths.get(source.getLocation().toURI());
+            MessageDigest digest = sha256();
+            if(Files.isRegularFile(location)) {
+                digest.update(Files.readAllBytes(location));
+                return hex(digest.digest());
+            }
+            ArrayList<Path> classes = new ArrayList<Path>();
+            Stream<Path> files = Files.walk(location);
+            try {
+                Iterator<Path> iterator = files.iterator();
+                while(iterator.hasNext()) {
+                    Path file = iterator.next();
+                    if(file.toString().endsWith(".class")) {
+                        classes.add(file);
+                    }
+                }
+            }
+            finally {
+                files.close();
+            }
+            Collections.sort(classes);
+            for(Path file : classes) {
+                digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(file));
+            }
+            return hex(digest.digest());
+        }
+        catch (IOException | URISyntaxException | RuntimeException e) {
+            return "unknown";
+        }
+    }
+
+    /*
+     * Return: the file of the entry of a key (File), named by the SHA-256 of the key
+     */
+    private File fileOf(String key) {
+        return new File(directory, hex(sha256().digest(key.getBytes(StandardCharsets.UTF_8))) + SUFFIX);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);//every Java platform has SHA-256
+        }
+    }
+
+    /*
+     * Puts an int into 4 bytes of an array, most significant byte first.
+     */
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /*
+     * Return: bytes as lower case hex digits (String)
+     */
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for(int i = 0; i < bytes.length; i++) {
+            hex.append(Character.forDigit((bytes[i] >>> 4) & 0xF, 16)).append(Character.forDigit(bytes[i] & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * First-in-first-out queue of process indexes stored in a circular array.
+ * Adding to the back and removing from the front never shifts the other elements, unlike ArrayList.remove(0).
+ * The array doubles in size when it is full so the queue can hold any number of processes.
+ */
+import java.io.Serializable;
+
+public class RingQueue implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private int[] elements;//circular array of process indexes, the length is always a power of 2
+    private int head;//position of the front of the queue
+    private int size;//number of process indexes in the queue
+
+    /*
+     * Creates an empty queue with room for at least the given number of process indexes before it needs to grow.
+     * Input: initial capacity (int)
+     */
+    public RingQueue(int capacity) {
+        int length = 8;
+        while(length < capacity) {
+            length <<= 1;
+        }
+        elements = new int[length];
+        head = 0;
+        size = 0;
+    }
+
+    /*
+     * Add a process index to the back of the queue.
+     * Input: process index (int)
+     * Return: none
+     */
+    public void add(int index) {
+        if(size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = index;
+        size++;
+    }
+
+    /*
+     * Remove the process index at the front of the queue. The queue must not be empty.
+     * Return: process index (int)
+     */
+    public int remove() {
+        int index = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return index;
+    }
+
+    /*
+     * Return: the process index at the front of the queue without removing it. The queue must not be empty.
+     */
+    public int peek() {
+        return elements[head];
+    }
+
+    /*
+     * Return: the number of process indexes in the queue (int)
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Return: true if the queue has no process indexes in it
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /*
+     * Double the length of the circular array, copying the queue so that its front is at position 0.
+     */
+    private void grow() {
+        int[] larger = new int[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, larger, 0, firstPart);
+        System.arraycopy(elements, 0, larger, firstPart, head);
+        elements = larger;
+        head = 0;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * A scheduling policy, as a ready queue of JobTable rows. Kernel runs any policy on one processor and MultiCore on any number of cores;
+ * they own the clock, arrivals, accounting and the trace, and call these hooks:
+ *   arrive and requeue  enqueue a job that has just arrived or that has left the processor with time still to do
+ *   next and peek       pick the job that runs next
+ *   timeSlice           how long it may run before the queue is asked again
+ *   preempts            preempt check, whether a waiting job should take the processor from the running job when new jobs arrive
+ *   setTime             the current time, given before each next and peek, for policies whose order changes as time passes
+ * Implementations: FifoRunQueue (FCFS and RR), ShortestRemainingRunQueue (SRT), FeedbackRunQueue (FB), ShortestProcessRunQueue (SPN),
+ * ResponseRatioRunQueue (HRRN), LotteryRunQueue (Lottery), StrideRunQueue (Stride) and MultilevelFeedbackRunQueue (MLFQ).
+ * A run queue is Serializable, so a Checkpoint can save the jobs waiting in it, in order, with the rest of the scheduler.
+ */
+import java.io.Serializable;
+
+public interface RunQueue extends Serializable {
+    /*
+     * Add a job that has just arrived.
+     * Input: row (int)
+     */
+    void arrive(int row);
+
+    /*
+     * Add a job that has left the processor with execution time still to do, at the end of its time slice or because it was preempted.
+     * Input: row (int)
+     */
+    void requeue(int row);
+
+    /*
+     * Remove the job that should run next. The queue must not be empty.
+     * Return: row (int)
+     */
+    int next();
+
+    /*
+     * Return: the job that next() would remove, without removing it (int). The queue must not be empty.
+     */
+    int peek();
+
+    /*
+     * Return: the number of jobs waiting in the queue (int)
+     */
+    int size();
+
+    /*
+     * Return: how long a job may run for when it is sent to the processor (int), at most its remaining time
+     */
+    int timeSlice(int row);
+
+    /*
+     * Return: true if a waiting job should take the processor from the running job straight away
+     */
+    boolean preempts(int row, int running);
+
+    /*
+     * Return: true if preempts() can return true, so that the running job has to be stopped at each arrival to check
+     */
+    boolean isPreemptive();
+
+    /*
+     * Tells the queue the current time, which never goes back. Called before each next() and peek().
+     * Only a queue whose order depends on how long jobs have waited needs it, so by default it does nothing.
+     * Input: time (int)
+     */
+    default void setTime(int time) {
+    }
+
+    /*
+     * Return: the number of times the queue has moved a job down a priority level (long), 0 for a policy without priority levels
+     */
+    default long getDemotions() {
+        return 0;
+    }
+
+    /*
+     * Same as the method below, with lottery tickets drawn from the default seed.
+     */
+    static RunQueue create(String policy, JobTable jobs, int fbLevels, int timeQuantum) {
+        return create(policy, jobs, fbLevels, timeQuantum, LotteryRunQueue.DEFAULT_SEED);
+    }
+
+    /*
+     * Same as the method below, with the default MLFQ settings.
+     */
+    static RunQueue create(String policy, JobTable jobs, int fbLevels, int timeQuantum, long seed) {
+        int[] quanta = PolicySettings.geometricQuanta(PolicySettings.DEFAULT_MLFQ_LEVELS);
+        return create(policy, jobs, new PolicySettings(fbLevels, timeQuantum, seed, quanta, PolicySettings.DEFAULT_MLFQ_BOOST));
+    }
+
+    /*
+     * Makes the run queue of a policy by name.
+     * Input: policy (String) FCFS, RR, SRT, FB, SPN, HRRN, Lottery, Stride or MLFQ, JobTable of the jobs,
+     *        and the PolicySettings of the policies that have any
+     * Return: RunQueue
+     * Throws: IllegalArgumentException if the policy is not known or a number is out of range
+     */
+    static RunQueue create(String policy, JobTable jobs, PolicySettings settings) {
+        int timeQuantum = new Processor(settings.getTimeQuantum()).getTimeQuantum();
+        if(policy.equals("FCFS")) {
+            return new FifoRunQueue(jobs, Integer.MAX_VALUE);
+        }
+        else if(policy.equals("RR")) {
+            return new FifoRunQueue(jobs, timeQuantum);
+        }
+        else if(policy.equals("SRT")) {
+            return new ShortestRemainingRunQueue(jobs);
+        }
+        else if(policy.equals("FB")) {
+            return new FeedbackRunQueue(jobs, settings.getFBLevels(), timeQuantum);
+        }
+        else if(policy.equals("SPN")) {
+            return new ShortestProcessRunQueue(jobs);
+        }
+        else if(policy.equals("HRRN")) {
+            return new ResponseRatioRunQueue(jobs);
+        }
+        else if(policy.equals("Lottery")) {
+            return new LotteryRunQueue(jobs, timeQuantum, settings.getLotterySeed());
+        }
+        else if(policy.equals("Stride")) {
+            return new StrideRunQueue(jobs, timeQuantum);
+        }
+        else if(policy.equals("MLFQ")) {
+            return new MultilevelFeedbackRunQueue(jobs, settings.getMLFQQuanta(), settings.getMLFQBoost());
+        }
+        throw new IllegalArgumentException("Unknown policy " + policy + ", use FCFS, RR, SRT, FB, SPN, HRRN, Lottery, Stride or MLFQ");
+    }
+}
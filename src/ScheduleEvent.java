@@ -0,0 +1,43 @@
+/**
+ * JDK Flight Recorder event of one run of a schedule algorithm, from when it starts to when it has run every job, with its SchedulerCounters.
+ * One is committed for each algorithm a run schedules, never for each job, so it costs nothing whether or not a recording is on.
+ * e.g. java -XX:StartFlightRecording=filename=run.jfr Main datafile.txt, then jfr print --events simulator.Schedule run.jfr
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("simulator.Schedule")
+@Label("Schedule")
+@Category("Scheduling Simulator")
+@Description("One schedule algorithm running every job")
+public class ScheduleEvent extends Event {
+    @Label("Algorithm")
+    String policy;//schedule algorithm
+
+    @Label("Cores")
+    int cores;//number of processor cores, 0 for the single processor schedulers
+
+    @Label("Jobs")
+    long jobs;//jobs that finished
+
+    @Label("Events")
+    long events;//times round the scheduler's loop, the counters are all 0 when the time stepped schedulers or the result cache gave the results
+
+    @Label("Decisions")
+    long decisions;//jobs taken from a run queue to run
+
+    @Label("Average Queue Depth")
+    double averageDepth;//average length of the queue each decision was taken from
+
+    @Label("Max Queue Depth")
+    int maxDepth;//longest queue a decision was taken from
+
+    @Label("Preemptions")
+    long preemptions;//running jobs stopped before the end of their time slice for a waiting job
+
+    @Label("Demotions")
+    long demotions;//times a job was moved down a priority level
+}
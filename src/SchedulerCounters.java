@@ -0,0 +1,100 @@
+/**
+ * Counts what an event driven scheduler does as it runs, for --stats and the ScheduleEvent of JDK Flight Recorder: the events it handles
+ * (each time round its loop, which is an arrival time or the end of a time slice), the decisions its run queues make, the length of the queue
+ * each decision is taken from, the preemptions and the times a job is moved down a priority level.
+ * A scheduler only counts once setCounting() is called, for --stats or while a recording of ScheduleEvent is on. Otherwise it holds no counters,
+ * and each count is a test of a null field.
+ * The counters are saved in a Checkpoint with the scheduler, so a resumed run that counts carries on from the counts of the run that was stopped.
+ */
+import java.io.Serializable;
+
+public class SchedulerCounters implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private long events;//times round the scheduler's loop
+    private long decisions;//jobs taken from a run queue to run
+    private long totalDepth;//total length of the queue each decision was taken from, including the job taken
+    private int maxDepth;//longest queue a decision was taken from
+    private long preemptions;//running jobs stopped before the end of their time slice for a waiting job
+    private long demotions;//times a job was moved down a priority level, set once the run has finished
+
+    /*
+     * Counts an event.
+     * Input: none
+     * Return: none
+     */
+    public void event() {
+        events++;
+    }
+
+    /*
+     * Counts a decision.
+     * Input: length of the queue the job is taken from (int), before it is taken
+     * Return: none
+     */
+    public void decision(int depth) {
+        decisions++;
+        totalDepth += depth;
+        if(depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /*
+     * Counts a preemption.
+     * Input: none
+     * Return: none
+     */
+    public void preemption() {
+        preemptions++;
+    }
+
+    /*
+     * Input: the number of times the run queues moved a job down a priority level (long)
+     * Return: none
+     */
+    public void setDemotions(long demotions) {
+        this.demotions = demotions;
+    }
+
+    /*
+     * Return: the number of events (long)
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /*
+     * Return: the number of decisions (long)
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /*
+     * Return: the average length of the queue each decision was taken from (double), 0 if there were none
+     */
+    public double getAverageDepth() {
+        return decisions == 0 ? 0 : (double) totalDepth / decisions;
+    }
+
+    /*
+     * Return: the longest queue a decision was taken from (int)
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /*
+     * Return: the number of preemptions (long)
+     */
+    public long getPreemptions() {
+        return preemptions;
+    }
+
+    /*
+     * Return: the number of times a job was moved down a priority level (long)
+     */
+    public long getDemotions() {
+        return demotions;
+    }
+}
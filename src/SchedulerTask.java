@@ -0,0 +1,442 @@
+/**
+ * Runs one schedule algorithm so that the algorithms can run at the same time on a thread pool.
+ * The event driven schedulers run on their own JobTable, the time stepped schedulers make their own copy of the process list.
+ * With more than 0 cpus the algorithm runs on MultiCore instead of the single processor schedulers.
+ * The time each process is sent to the processor is reported to a DispatchSink chosen by the trace option:
+ *   text        TextSink into memory, so that it can be output in order once every algorithm has finished,
+ *               or to the file <checkpoint>.<policy>.trace when the algorithm is checkpointed, so that a checkpoint only holds its length
+ *   off         DiscardSink
+ *   binary:F    BinarySink writing to the file F.<policy>
+ *   recorder:N  FlightRecorder keeping the last N dispatches, which are output once every algorithm has finished
+ * POLICIES lists every schedule algorithm, and arrivalOrder() and tieOrder() give the order each takes processes arriving at the same time in.
+ */
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+
+public class SchedulerTask implements Callable<JobTable> {
+    public static final String[] POLICIES = {"FCFS", "RR", "SRT", "FB", "SPN", "HRRN", "Lottery", "Stride", "MLFQ"};//schedule algorithms, in output order
+
+    private String policy;//name of the schedule algorithm to run
+    private ArrayList<Process> input;//processes in the order the schedule algorithm expects them
+    private JobTable jobs;//if not null, the event driven schedule algorithm runs on this table instead of input
+    private PolicySettings settings;//settings of the schedule algorithms that have any
+    private int cpus;//number of processor cores, 0 for the single processor schedulers
+    private boolean globalQueue;//with more than 0 cpus, every core shares one run queue
+    private MultiCore multiCore;//the multi core scheduler once it has run, null for the single processor schedulers
+    private String trace;//the trace option
+    private String separator;//written between the time and the process ID of each dispatch, FCFS has always used 2 spaces
+    private ByteArrayOutputStream text;//dispatches of the text trace, null if the trace is not text or is written to textFile
+    private File textFile;//where the dispatches of the text trace are written when the algorithm is checkpointed, otherwise null
+    private FlightRecorder recorder;//dispatches of the recorder trace
+    private String checkpointName;//checkpoints are saved to this name followed by the algorithm, null for no checkpoints
+    private int checkpointInterval;//seconds between checkpoints
+    private boolean resume;//carry on from the last checkpoint, if there is one
+    private ResultCache cache;//where the results are looked for first and kept once the algorithm has run, null for no cache
+    private String workload;//digest of the processes the results are kept under
+    private String appendName;//the state of an append run is kept in this name followed by the algorithm, null if this is not an append run
+    private File dataFile;//data file an append run reads its processes from
+    private Checkpoint saved;//the state of an append run, which commit() keeps, null until it has been made
+    private long nanos;//how long the algorithm took to give its results
+    private boolean counting;//count what the event driven scheduler does, for --stats or a recording of ScheduleEvent
+    private SchedulerCounters counters;//what the event driven scheduler did, null if it did not run, was not event driven or was not counting
+
+    public SchedulerTask(String policy, ArrayList<Process> input, JobTable jobs, PolicySettings settings, int cpus, boolean globalQueue, String trace) {
+        this.policy = policy;
+        this.input = input;
+        this.jobs = jobs;
+        this.settings = settings;
+        this.cpus = cpus;
+        this.globalQueue = globalQueue;
+        this.trace = trace;
+        separator = policy.equals("FCFS") ? ":  " : ": ";
+    }
+
+    /*
+     * Counts what the event driven scheduler does in SchedulerCounters, which printCounters() outputs. It is also counted, whether or not
+     * this is set, when a recording of ScheduleEvent is on as the algorithm starts.
+     * Input: true to count
+     */
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+    }
+
+    /*
+     * Saves the state of the event driven schedule algorithm to <name>.<algorithm> every so often while it runs and once it has finished.
+     * Input: name (String), seconds between checkpoints (int) and true to carry on from the last checkpoint, if there is one
+     */
+    public void setCheckpoint(String name, int interval, boolean resume) {
+        checkpointName = name;
+        checkpointInterval = interval;
+        this.resume = resume;
+    }
+
+    /*
+     * Looks for the results in a ResultCache before running the event driven schedule algorithm, and keeps them there if it runs.
+     * Input: the ResultCache and the digest of the processes (String)
+     */
+    public void setCache(ResultCache cache, String workload) {
+        this.cache = cache;
+        this.workload = workload;
+    }
+
+    /*
+     * Runs the event driven schedule algorithm as part of an append run: on an online table of the processes read from the data file,
+     * carrying on from its state in <name>.<algorithm> if it has one, and saving its state there once every process has been admitted,
+     * which commit() keeps for the next run.
+     * Input: name (String) and the data file (File)
+     */
+    public void setAppend(String name, File dataFile) {
+        appendName = name;
+        this.dataFile = dataFile;
+    }
+
+    /*
+     * Keeps the state saved by an append run, once every algorithm has run.
+     * Throws: IOException if it cannot be kept
+     */
+    public void commit() throws IOException {
+        if(saved != null) {
+            saved.commit();
+        }
+    }
+
+    /*
+     * Gives the results of the schedule algorithm, timing it and reporting it as a ScheduleEvent.
+     */
+    public JobTable call() throws IOException {
+        ScheduleEvent event = new ScheduleEvent();
+        if(event.isEnabled()) {
+            counting = true;
+        }
+        event.begin();
+        long start = System.nanoTime();
+        JobTable output = schedule();
+        nanos = System.nanoTime() - start;
+        event.end();
+        if(event.shouldCommit()) {
+            event.policy = policy;
+            event.cores = cpus;
+            event.jobs = output.getStats().getCount();
+            if(counters != null) {
+                event.events = counters.getEvents();
+                event.decisions = counters.getDecisions();
+                event.averageDepth = counters.getAverageDepth();
+                event.maxDepth = counters.getMaxDepth();
+                event.preemptions = counters.getPreemptions();
+                event.demotions = counters.getDemotions();
+            }
+            event.commit();
+        }
+        return output;
+    }
+
+    /*
+     * Gives the results of the schedule algorithm from the cache, or runs it.
+     */
+    private JobTable schedule() throws IOException {
+        String cacheKey = null;//key of the results in the cache, null if they are not cached
+        if(cache != null && !trace.startsWith("binary:")) {//a binary log is a file of its own, which is not kept in the cache
+            cacheKey = ResultCache.key(workload, policy, getOptions());
+            ResultCache.Entry entry = cache.get(cacheKey, jobs);
+            if(entry != null) {
+                if(entry.getText() != null) {
+                    text = new ByteArrayOutputStream();
+                    text.write(entry.getText());
+                }
+                recorder = entry.getRecorder();
+                multiCore = entry.getMultiCore();
+                return entry.getJobs();
+            }
+        }
+        OutputStream log = null;//binary log file
+        DispatchSink sink;
+        Checkpoint checkpoint = null;
+        Object resumed = null;//scheduler read from the last checkpoint, null to start from the beginning
+        DataFileParser parser = null;//reads the processes of an append run
+        ProcessSource appended = null;//processes added to the data file since the state of an append run was saved, null if it has no state
+        if(trace.equals("text") && checkpointName != null && appendName == null) {
+            textFile = new File(checkpointName + "." + policy + ".trace");
+        }
+        else if(trace.equals("text")) {
+            text = new ByteArrayOutputStream();
+        }
+        if(appendName != null) {//the text trace is not saved, so only the dispatches from the saved state on are output
+            checkpoint = new Checkpoint(new File(appendName + "." + policy), policy + " " + getOptions(), Checkpoint.DEFAULT_INTERVAL);
+            checkpoint.setDeferred(true);
+            checkpoint.setDataFile(dataFile, null);
+            if(trace.startsWith("binary:")) {
+                checkpoint.setLog(new File(getLogName()));
+            }
+            long position = 0;//where in the data file to read from
+            if(checkpoint.exists()) {
+                resumed = checkpoint.load(null);
+                jobs = checkpoint.getJobs();
+                position = checkpoint.getPosition();
+            }
+            parser = new DataFileParser(dataFile, position);
+            checkpoint.setDataFile(dataFile, parser);
+            ProcessSource source = new ArrivalGroupSource(parser, arrivalOrder(policy));
+            if(resumed != null) {
+                appended = source;
+            }
+            else {
+                jobs = new JobTable(source, new JobStats());
+            }
+            saved = checkpoint;
+        }
+        else if(checkpointName != null) {
+            checkpoint = new Checkpoint(new File(checkpointName + "." + policy), policy + " " + getOptions(), checkpointInterval);
+            if(textFile != null) {
+                checkpoint.setLog(textFile);
+            }
+            else if(trace.startsWith("binary:")) {
+                checkpoint.setLog(new File(getLogName()));
+            }
+            if(resume && checkpoint.exists()) {
+                resumed = checkpoint.load(jobs);
+                jobs = checkpoint.getJobs();
+            }
+        }
+        if(resumed != null) {//the sink carries on from the checkpoint, writing to the same trace
+            sink = checkpoint.getSink();
+            if(text != null) {
+                ((TextSink) sink).setOutput(text);
+            }
+            else if(textFile != null) {
+                log = new FileOutputStream(textFile, true);
+                ((TextSink) sink).setOutput(log);
+            }
+            else if(trace.startsWith("recorder:")) {
+                recorder = (FlightRecorder) sink;
+            }
+            else if(trace.startsWith("binary:")) {
+                log = new FileOutputStream(getLogName(), true);
+                ((BinarySink) sink).setOutput(log);
+            }
+        }
+        else if(text != null) {
+            sink = new TextSink(text, separator);
+        }
+        else if(textFile != null) {
+            log = new FileOutputStream(textFile);
+            sink = new TextSink(log, separator);
+        }
+        else if(trace.startsWith("recorder:")) {
+            recorder = new FlightRecorder(Integer.parseInt(trace.substring("recorder:".length())));
+            sink = recorder;
+        }
+        else if(trace.startsWith("binary:")) {
+            log = new FileOutputStream(getLogName());
+            sink = new BinarySink(log);
+        }
+        else {
+            sink = DiscardSink.INSTANCE;
+        }
+
+        JobStats stats = new JobStats();
+        if(jobs != null && jobs.getStats() == null) {
+            jobs.setStats(stats);//the event driven schedulers send each job to stats as it finishes
+        }
+        try {
+            JobTable output = jobs != null ? runEvent(sink, checkpoint, resumed, appended) : run(sink);
+            if(output.getStats() == null) {//the time stepped schedulers only give their results at the end
+                for(int row = 0; row < output.size(); row++) {
+                    stats.record(output.getWaitTime(row), output.getTurnAroundTime(row), output.getStartTime(row) - output.getArrivalTime(row));
+                }
+                output.setStats(stats);
+            }
+            if(cacheKey != null) {
+                byte[] textTrace = text != null ? text.toByteArray() : textFile != null ? Files.readAllBytes(textFile.toPath()) : null;
+                cache.put(cacheKey, new ResultCache.Entry(output, textTrace, recorder, multiCore));
+            }
+            return output;
+        }
+        finally {
+            if(log != null) {
+                log.close();
+            }
+            if(parser != null) {
+                parser.close();
+            }
+        }
+    }
+
+    /*
+     * Return: true if the time stepped schedulers were asked for but this algorithm has none (SPN, HRRN, Lottery, Stride and MLFQ),
+     *         so it runs on the event driven Kernel instead
+     */
+    public boolean isEventFallback() {
+        return jobs == null && !(policy.equals("FCFS") || policy.equals("RR") || policy.equals("SRT") || policy.equals("FB"));
+    }
+
+    /*
+     * Runs the time stepped schedule algorithm on input, reporting dispatches to sink.
+     */
+    private JobTable run(DispatchSink sink) {
+        if(policy.equals("FCFS")) {
+            JobTable output = JobTable.fromResults(new FCFS(input).start());
+            for(int row = 0; row < output.size(); row++) {//FCFS runs the jobs in table order
+                sink.dispatch(output.getStartTime(row), output.getProcessId(row));
+            }
+            sink.flush();
+            return output;
+        }
+        else if(policy.equals("RR")) {
+            return JobTable.fromResults(new RR(input, sink, settings.getTimeQuantum()).start());
+        }
+        else if(policy.equals("SRT")) {
+            return JobTable.fromResults(new SRT(input, sink).start());
+        }
+        else if(isEventFallback()) {//SPN, HRRN, Lottery, Stride and MLFQ only run on the kernel
+            JobTable table = JobTable.fromList(input);
+            return new Kernel(table, RunQueue.create(policy, table, settings), sink).start();
+        }
+        else {
+            return JobTable.fromResults(new FB(input, sink, settings.getFBLevels(), settings.getTimeQuantum()).start());
+        }
+    }
+
+    /*
+     * Runs the event driven version of the schedule algorithm on jobs, on the Kernel with the policy's RunQueue or on MultiCore,
+     * saving it to the checkpoint if there is one, or for an append run, once every process has been admitted.
+     * Input: DispatchSink, Checkpoint or null, the Kernel or MultiCore read from the checkpoint or null to start from the beginning,
+     *        and the processes to append to a scheduler read from the state of an append run, otherwise null
+     */
+    private JobTable runEvent(DispatchSink sink, Checkpoint checkpoint, Object resumed, ProcessSource appended) {
+        if(cpus > 0) {
+            multiCore = resumed != null ? (MultiCore) resumed : new MultiCore(jobs, policy, cpus, globalQueue, settings, sink);
+            multiCore.setCounting(counting);
+            if(appended != null) {
+                multiCore.append(appended);
+            }
+            if(appendName != null) {
+                multiCore.setAppendState(checkpoint);
+            }
+            else {
+                multiCore.setCheckpoint(checkpoint);
+            }
+            JobTable output = multiCore.start();
+            counters = multiCore.getCounters();
+            return output;
+        }
+        Kernel kernel = resumed != null ? (Kernel) resumed : new Kernel(jobs, RunQueue.create(policy, jobs, settings), sink);
+        kernel.setCounting(counting);
+        if(appended != null) {
+            kernel.append(appended);
+        }
+        if(appendName != null) {
+            kernel.setAppendState(checkpoint);
+        }
+        else {
+            kernel.setCheckpoint(checkpoint);
+        }
+        JobTable output = kernel.start();
+        counters = kernel.getCounters();
+        return output;
+    }
+
+    /*
+     * Outputs the trace once the schedule algorithm has finished: the text trace, the dispatches kept by the recorder
+     * or the name of the binary log.
+     * Input: where to output it (PrintStream)
+     * Throws: UncheckedIOException if the text trace file cannot be read
+     */
+    public void printTrace(PrintStream out) {
+        if(text != null) {
+            out.write(text.toByteArray(), 0, text.size());
+        }
+        else if(textFile != null) {
+            try {
+                Files.copy(textFile.toPath(), out);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        else if(recorder != null) {
+            out.println("Last " + Math.min(recorder.getCount(), Long.parseLong(trace.substring("recorder:".length())))
+                + " of " + recorder.getCount() + " dispatches:");
+            recorder.replay(new TextSink(out, separator));
+        }
+        else if(trace.startsWith("binary:")) {
+            out.println("Dispatches written to " + getLogName());
+        }
+    }
+
+    /*
+     * Outputs the number of cores, steals and migrations and the utilization of each core, if the algorithm ran on MultiCore.
+     * Input: where to output them (PrintStream)
+     */
+    public void printCores(PrintStream out) {
+        if(multiCore == null) {
+            return;
+        }
+        out.format("\n\n%-25s%-10s", "Cores", multiCore.getCores() + (multiCore.isGlobal() ? " (global queue)" : " (per-core queues)"));
+        out.format("\n%-25s%-10s", "Steals", multiCore.getSteals());
+        out.format("\n%-25s%-10s", "Migrations", multiCore.getMigrations());
+        out.format("\n%-10s%-15s", "Core", "Utilization");
+        for(int core = 0; core < multiCore.getCores(); core++) {
+            out.format("\n%-10s%-15s", core, String.format("%.2f%%", 100 * multiCore.getUtilization(core)));
+        }
+    }
+
+    /*
+     * Outputs how long the algorithm took, and what the event driven scheduler did if it ran: the events it handled and how many a second,
+     * the decisions, the average and longest queue a decision was taken from, the preemptions and the demotions.
+     * Input: where to output them (PrintStream)
+     */
+    public void printCounters(PrintStream out) {
+        out.format("\n%-15s%-12.2f", policy, nanos / 1e6);
+        if(counters == null) {
+            out.format("%-12s%-12s%-12s%-12s%-12s%-12s%-12s", "-", "-", "-", "-", "-", "-", "-");
+            return;
+        }
+        out.format("%-12s%-12s%-12s%-12.2f%-12s%-12s%-12s", counters.getEvents(), (long) (counters.getEvents() * 1e9 / Math.max(nanos, 1)),
+            counters.getDecisions(), counters.getAverageDepth(), counters.getMaxDepth(), counters.getPreemptions(), counters.getDemotions());
+    }
+
+    /*
+     * Return: the options that change the output of the schedule algorithm (String), which a checkpoint is only resumed with
+     *         and cached results are only used with if they are the same
+     */
+    private String getOptions() {
+        String options = settings.toString(policy);
+        return (options.isEmpty() ? "" : options + " ") + "--cpus=" + cpus + " --queues=" + (globalQueue ? "global" : "per-core") + " --trace=" + trace;
+    }
+
+    /*
+     * Return: the name of the binary log file of this schedule algorithm (String)
+     */
+    private String getLogName() {
+        return trace.substring("binary:".length()) + "." + policy;
+    }
+
+    /*
+     * Return: the order a schedule algorithm takes processes with the same arrival time in (Comparator), null for the order they are read in
+     */
+    public static Comparator<Process> arrivalOrder(String policy) {
+        if(policy.equals("SRT")) {
+            return Process.execTimeComparator();
+        }
+        else if(policy.equals("FB") || policy.equals("MLFQ")) {
+            return Process.processIDComparator();
+        }
+        return null;
+    }
+
+    /*
+     * Return: the order a schedule algorithm admits jobs that arrive at the same time in from a JobTable (int), see JobTable.setTieOrder()
+     */
+    public static int tieOrder(String policy) {
+        if(policy.equals("SRT")) {
+            return JobTable.TIES_EXEC;
+        }
+        else if(policy.equals("FB") || policy.equals("MLFQ")) {
+            return JobTable.TIES_ID;
+        }
+        return JobTable.TIES_TABLE;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Shortest Process Next (SPN) run queue, a binary heap of rows ordered by remaining time, then arrival order.
+ * It never preempts, so a job runs to completion and the remaining time of a waiting job is its exec size.
+ * Jobs with the same exec size run in the order they arrived, as in FCFS.
+ */
+import java.util.Arrays;
+
+public class ShortestProcessRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private JobTable jobs;//the jobs the rows belong to
+    private int[] heap;//waiting rows stored as a binary heap
+    private int[] sizes;//remaining time of the row at the same position in heap, kept alongside so that sifting reads one array
+    private int heapSize;//number of rows in the heap
+
+    /*
+     * Input: JobTable of the jobs
+     */
+    public ShortestProcessRunQueue(JobTable jobs) {
+        this.jobs = jobs;
+        heap = new int[16];
+        sizes = new int[16];
+        heapSize = 0;
+    }
+
+    public void arrive(int row) {
+        push(row);
+    }
+
+    public void requeue(int row) {
+        push(row);
+    }
+
+    public int next() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int lastSize = sizes[heapSize];
+        int parent = 0;
+        int half = heapSize >>> 1;
+        while(parent < half) {
+            int child = 2 * parent + 1;
+            if(child + 1 < heapSize && runsBefore(heap[child + 1], sizes[child + 1], heap[child], sizes[child])) {
+                child++;
+            }
+            if(!runsBefore(heap[child], sizes[child], last, lastSize)) {
+                break;
+            }
+            heap[parent] = heap[child];
+            sizes[parent] = sizes[child];
+            parent = child;
+        }
+        heap[parent] = last;
+        sizes[parent] = lastSize;
+        return top;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public int timeSlice(int row) {
+        return jobs.getRemaining(row);
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+
+    /*
+     * Return: true if row a, with remaining time sizeA, should run before row b, lowest remaining time first then first to arrive
+     */
+    private boolean runsBefore(int a, int sizeA, int b, int sizeB) {
+        if(sizeA != sizeB) {
+            return sizeA < sizeB;
+        }
+        return jobs.getArrivalNumber(a) < jobs.getArrivalNumber(b);
+    }
+
+    /*
+     * Add a row to the heap.
+     */
+    private void push(int row) {
+        if(heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+            sizes = Arrays.copyOf(sizes, heapSize * 2);
+        }
+        int size = jobs.getRemaining(row);
+        int child = heapSize++;
+        while(child > 0) {
+            int parent = (child - 1) >>> 1;
+            if(!runsBefore(row, size, heap[parent], sizes[parent])) {
+                break;
+            }
+            heap[child] = heap[parent];
+            sizes[child] = sizes[parent];
+            child = parent;
+        }
+        heap[child] = row;
+        sizes[child] = size;
+    }
+}
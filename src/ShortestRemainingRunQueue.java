@@ -0,0 +1,118 @@
+/**
+ * Shortest Remaining Time (SRT) run queue, a binary heap of rows ordered by remaining time, then process id, then how long they have waited,
+ * the same order as EventSRT. A job runs until it finishes unless a job with less remaining time arrives.
+ */
+import java.util.Arrays;
+
+public class ShortestRemainingRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private JobTable jobs;//the jobs the rows belong to
+    private int[] heap;//waiting rows stored as a binary heap
+    private int heapSize;//number of rows in the heap
+
+    /*
+     * Input: JobTable of the jobs
+     */
+    public ShortestRemainingRunQueue(JobTable jobs) {
+        this.jobs = jobs;
+        heap = new int[16];
+        heapSize = 0;
+    }
+
+    public void arrive(int row) {
+        push(row);
+    }
+
+    public void requeue(int row) {
+        push(row);
+    }
+
+    public int next() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int parent = 0;
+        int half = heapSize >>> 1;
+        while(parent < half) {
+            int child = 2 * parent + 1;
+            if(child + 1 < heapSize && runsBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if(!runsBefore(heap[child], last)) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = last;
+        return top;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public int timeSlice(int row) {
+        return jobs.getRemaining(row);
+    }
+
+    /*
+     * The running job's remaining time must be up to date, so its time so far must have been recorded with JobTable.run().
+     */
+    public boolean preempts(int row, int running) {
+        return runsBefore(row, running);
+    }
+
+    public boolean isPreemptive() {
+        return true;
+    }
+
+    /*
+     * Return: true if row a should run before row b, lowest remaining time first then lowest process id.
+     * Rows with the same id go in the order SRT's ready queue has them in, where a job goes to the back each time it arrives or leaves
+     * the processor: earliest finish time first (the arrival time of a job that has not run), then a job that has not run before one
+     * that left the processor at that time, then arrival order.
+     */
+    private boolean runsBefore(int a, int b) {
+        int remainingA = jobs.getRemaining(a);
+        int remainingB = jobs.getRemaining(b);
+        if(remainingA != remainingB) {
+            return remainingA < remainingB;
+        }
+        int ids = jobs.compareIds(a, b);
+        if(ids != 0) {
+            return ids < 0;
+        }
+        if(jobs.getFinishTime(a) != jobs.getFinishTime(b)) {
+            return jobs.getFinishTime(a) < jobs.getFinishTime(b);
+        }
+        boolean ranA = remainingA < jobs.getExecSize(a);
+        boolean ranB = remainingB < jobs.getExecSize(b);
+        if(ranA != ranB) {
+            return ranB;
+        }
+        return jobs.getArrivalNumber(a) < jobs.getArrivalNumber(b);
+    }
+
+    /*
+     * Add a row to the heap.
+     */
+    private void push(int row) {
+        if(heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int child = heapSize++;
+        while(child > 0) {
+            int parent = (child - 1) >>> 1;
+            if(!runsBefore(row, heap[parent])) {
+                break;
+            }
+            heap[child] = heap[parent];
+            child = parent;
+        }
+        heap[child] = row;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * The SplitMix64 generator of java.util.SplittableRandom, giving the same numbers as a SplittableRandom made with the same seed,
+ * for the schedulers that draw random numbers. Unlike SplittableRandom it can be written into a Checkpoint, so a resumed run carries on
+ * drawing the same numbers as a run that was never stopped.
+ */
+import java.io.Serializable;
+
+public class SplitMixRandom implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;//added to the seed for each number, the same as SplittableRandom
+
+    private long seed;//state of the generator, moved on by GAMMA for each number
+
+    /*
+     * Input: seed (long)
+     */
+    public SplitMixRandom(long seed) {
+        this.seed = seed;
+    }
+
+    /*
+     * Return: the next number (int) from 0 up to but not including bound, which must be positive
+     */
+    public int nextInt(int bound) {
+        int r = mix32(seed += GAMMA);
+        int m = bound - 1;
+        if((bound & m) == 0) {//a power of 2
+            return r & m;
+        }
+        for(int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(seed += GAMMA) >>> 1) {//draw again for a number in the uneven top part
+        }
+        return r;
+    }
+
+    /*
+     * Return: the next number (long) from 0 up to but not including bound, which must be positive
+     */
+    public long nextLong(long bound) {
+        long r = mix64(seed += GAMMA);
+        long m = bound - 1;
+        if((bound & m) == 0L) {//a power of 2
+            return r & m;
+        }
+        for(long u = r >>> 1; u + m - (r = u % bound) < 0L; u = mix64(seed += GAMMA) >>> 1) {//draw again for a number in the uneven top part
+        }
+        return r;
+    }
+
+    /*
+     * Return: the 64 bit mix of a seed (long), Stafford's variant 13
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Return: the high 32 bits of the 64 bit mix of a seed (int), Stafford's variant 4
+     */
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+}
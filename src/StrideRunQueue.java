@@ -0,0 +1,129 @@
+/**
+ * Stride scheduling run queue, the deterministic form of lottery scheduling. Each job has a stride of STRIDE_ONE / tickets and a pass value
+ * that goes up by its stride for each time unit it runs. The waiting job with the lowest pass runs next for one time quantum,
+ * so each job gets a share of the processor in proportion to its tickets. Jobs with the same pass run in the order they arrived.
+ *
+ * The waiting jobs are a binary heap ordered by pass, so each decision takes about log(waiting jobs) steps.
+ * A new job starts from the pass of the last job chosen, so it neither has to catch up with jobs that have run for a long time nor holds
+ * the processor until it does. The pass a job started from is kept in the JobTable and the rest worked out from the time it has run,
+ * so a job can move between the run queues of different cores.
+ */
+import java.util.Arrays;
+
+public class StrideRunQueue implements RunQueue {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    public static final long STRIDE_ONE = 1L << 30;//stride of a job with 1 ticket, passes stay below 2^61 for any int amount of running time
+
+    private JobTable jobs;//the jobs the rows belong to
+    private int timeQuantum;//longest time a job runs before the queue is asked again
+    private int[] heap;//waiting rows stored as a binary heap
+    private long[] passes;//pass of the row at the same position in heap
+    private int heapSize;//number of rows in the heap
+    private long globalPass;//pass of the last job chosen, which new jobs start from
+
+    /*
+     * Input: JobTable of the jobs and the time quantum (int)
+     */
+    public StrideRunQueue(JobTable jobs, int timeQuantum) {
+        this.jobs = jobs;
+        this.timeQuantum = timeQuantum;
+        heap = new int[16];
+        passes = new long[16];
+        heapSize = 0;
+        globalPass = 0;
+    }
+
+    public void arrive(int row) {
+        jobs.setPass(row, globalPass);
+        push(row);
+    }
+
+    public void requeue(int row) {
+        push(row);
+    }
+
+    public int next() {
+        int top = heap[0];
+        globalPass = Math.max(globalPass, passes[0]);
+        int last = heap[--heapSize];
+        long lastPass = passes[heapSize];
+        int parent = 0;
+        int half = heapSize >>> 1;
+        while(parent < half) {
+            int child = 2 * parent + 1;
+            if(child + 1 < heapSize && runsBefore(heap[child + 1], passes[child + 1], heap[child], passes[child])) {
+                child++;
+            }
+            if(!runsBefore(heap[child], passes[child], last, lastPass)) {
+                break;
+            }
+            heap[parent] = heap[child];
+            passes[parent] = passes[child];
+            parent = child;
+        }
+        heap[parent] = last;
+        passes[parent] = lastPass;
+        return top;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public int timeSlice(int row) {
+        return Math.min(timeQuantum, jobs.getRemaining(row));
+    }
+
+    public boolean preempts(int row, int running) {
+        return false;
+    }
+
+    public boolean isPreemptive() {
+        return false;
+    }
+
+    /*
+     * Return: a job's current pass (long), the pass it started from plus its stride for each time unit it has run
+     */
+    private long pass(int row) {
+        long stride = Math.max(1, STRIDE_ONE / jobs.getTickets(row));
+        return jobs.getPass(row) + stride * (jobs.getExecSize(row) - jobs.getRemaining(row));
+    }
+
+    /*
+     * Return: true if row a, at pass passA, should run before row b, lowest pass first then first to arrive
+     */
+    private boolean runsBefore(int a, long passA, int b, long passB) {
+        if(passA != passB) {
+            return passA < passB;
+        }
+        return jobs.getArrivalNumber(a) < jobs.getArrivalNumber(b);
+    }
+
+    /*
+     * Add a row to the heap.
+     */
+    private void push(int row) {
+        if(heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+            passes = Arrays.copyOf(passes, heapSize * 2);
+        }
+        long pass = pass(row);
+        int child = heapSize++;
+        while(child > 0) {
+            int parent = (child - 1) >>> 1;
+            if(!runsBefore(row, pass, heap[parent], passes[parent])) {
+                break;
+            }
+            heap[child] = heap[parent];
+            passes[child] = passes[parent];
+            child = parent;
+        }
+        heap[child] = row;
+        passes[child] = pass;
+    }
+}
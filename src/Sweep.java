@@ -0,0 +1,114 @@
+/**
+ * Runs RR and FB over every combination of a range of time quanta and FB priority levels and records the average wait and turnaround
+ * time of each run.
+ * Every run is independent, so the runs are split across a fork/join pool and use every core. The workload is parsed once into a
+ * JobTable for each admission order, which can share their input columns, and is shared read only by every run,
+ * which only gets its own result columns and admission state through JobTable.newRun().
+ * Dispatches are reported to a DiscardSink.
+ */
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class Sweep {
+    private JobTable rrJobs;//jobs in the order RR takes them, every row already read
+    private JobTable fbJobs;//jobs in the order FB takes them, every row already read
+    private int[] quanta;//time quanta to run
+    private int[] levels;//FB priority levels to run
+    private double[][] rrAverages;//average wait and turnaround time of RR for each quantum
+    private double[][][] fbAverages;//average wait and turnaround time of FB for each quantum and number of levels
+
+    /*
+     * Input: JobTable in RR order, JobTable in FB order, time quanta (int[]) and numbers of FB priority levels (int[])
+     */
+    public Sweep(JobTable rrJobs, JobTable fbJobs, int[] quanta, int[] levels) {
+        this.rrJobs = rrJobs;
+        this.fbJobs = fbJobs;
+        this.quanta = quanta;
+        this.levels = levels;
+        rrAverages = new double[quanta.length][];
+        fbAverages = new double[quanta.length][levels.length][];
+    }
+
+    /*
+     * Runs every combination on the common fork/join pool and waits for them all to finish.
+     * Input: none
+     * Return: none
+     */
+    public void run() {
+        rrJobs.newRun();//read any rows not read yet here, so the runs only ever read the tables
+        fbJobs.newRun();
+        ForkJoinPool.commonPool().invoke(new Runs(0, quanta.length + quanta.length * levels.length));
+    }
+
+    /*
+     * Return: the number of jobs (int) every combination runs, once run() has read them
+     */
+    public int getJobs() {
+        return rrJobs.size();
+    }
+
+    /*
+     * Return: the average wait and turnaround time (double[2]) of RR with quanta[q]
+     */
+    public double[] getRRAverages(int q) {
+        return rrAverages[q];
+    }
+
+    /*
+     * Return: the average wait and turnaround time (double[2]) of FB with quanta[q] and levels[l]
+     */
+    public double[] getFBAverages(int q, int l) {
+        return fbAverages[q][l];
+    }
+
+    /*
+     * Runs one combination. The first quanta.length runs are RR, one for each quantum, the rest are FB for each quantum and number of levels.
+     */
+    private void runOne(int index) {
+        if(index < quanta.length) {
+            rrAverages[index] = averages(new EventRR(rrJobs.newRun(), quanta[index], DiscardSink.INSTANCE).start());
+        }
+        else {
+            int q = (index - quanta.length) / levels.length;
+            int l = (index - quanta.length) % levels.length;
+            fbAverages[q][l] = averages(new EventFB(fbJobs.newRun(), levels[l], quanta[q], DiscardSink.INSTANCE).start());
+        }
+    }
+
+    /*
+     * Return: the average wait and turnaround time (double[2]) of a processed JobTable
+     */
+    private static double[] averages(JobTable jobs) {
+        long totalWait = 0;
+        long totalTurnaround = 0;
+        for(int row = 0; row < jobs.size(); row++) {
+            totalWait += jobs.getWaitTime(row);
+            totalTurnaround += jobs.getTurnAroundTime(row);
+        }
+        return new double[] {(double) totalWait / jobs.size(), (double) totalTurnaround / jobs.size()};
+    }
+
+    /*
+     * Runs the combinations from index from up to index to, splitting the range in half until there is one run left.
+     */
+    private class Runs extends RecursiveAction {
+        private static final long serialVersionUID = 1L;//RecursiveAction is Serializable, but a Runs is never serialized
+        private int from;//first combination to run
+        private int to;//one past the last combination to run
+
+        Runs(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if(to - from == 1) {
+                runOne(from);
+            }
+            else if(to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Runs(from, middle), new Runs(middle, to));
+            }
+        }
+    }
+}
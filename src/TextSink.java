@@ -0,0 +1,158 @@
+/**
+ * DispatchSink that writes each dispatch as a line of text, such as "T4: p2", through a large buffer.
+ * The line is built straight into a byte array, so there is no string concatenation and no synchronized write for each dispatch.
+ * The output is the same as printing each line with PrintStream.println().
+ * A Checkpoint saves the sink without its output stream, which setOutput() gives back to it when the run is resumed.
+ */
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+public class TextSink implements DispatchSink, Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    public static final int BUFFER_SIZE = 1 << 20;//bytes buffered before each write to the output stream
+
+    private transient OutputStream out;//where the lines are written
+    private byte[] separator;//written between the time and the process ID
+    private byte[] lineSeparator;//written at the end of each line
+    private transient byte[] buffer;//lines that have not been written yet
+    private transient int length;//number of bytes in buffer
+
+    /*
+     * Same as the constructor below, with ": " between the time and the process ID.
+     */
+    public TextSink(OutputStream out) {
+        this(out, ": ");
+    }
+
+    /*
+     * Input: where to write the lines (OutputStream) and what to write between the time and the process ID (String)
+     */
+    public TextSink(OutputStream out, String separator) {
+        this.out = out;
+        this.separator = separator.getBytes(Charset.defaultCharset());
+        lineSeparator = System.lineSeparator().getBytes(Charset.defaultCharset());
+        buffer = new byte[BUFFER_SIZE];
+        length = 0;
+    }
+
+    /*
+     * Adds the line "T<time><separator><process ID>" to the buffer.
+     * Throws: UncheckedIOException if the buffer cannot be written out
+     */
+    public void dispatch(int time, String processId) {
+        if(length + 16 + separator.length + processId.length() + lineSeparator.length > buffer.length) {
+            writeBuffer();
+        }
+        buffer[length++] = 'T';
+        appendNumber(time);
+        appendBytes(separator);
+        appendId(processId);
+        appendBytes(lineSeparator);
+    }
+
+    /*
+     * Writes the buffer to the output stream and flushes it.
+     * Throws: UncheckedIOException if the output stream cannot be written
+     */
+    public void flush() {
+        writeBuffer();
+        try {
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Writes the lines from now on to a different output stream.
+     * Input: where to write the lines (OutputStream)
+     * Return: none
+     */
+    public void setOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    /*
+     * Writes the buffer out first, so that every line so far is in the output stream and none is saved with the sink.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        writeBuffer();
+        stream.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        buffer = new byte[BUFFER_SIZE];
+        length = 0;
+    }
+
+    /*
+     * Adds the decimal digits of a number to the buffer.
+     */
+    private void appendNumber(int value) {
+        if(value < 0) {
+            appendBytes(Integer.toString(value).getBytes(Charset.defaultCharset()));
+            return;
+        }
+        int end = length + digits(value);
+        for(int i = end - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+    }
+
+    /*
+     * Adds a process ID to the buffer. ASCII characters are copied directly, any other ID is encoded the same way PrintStream would.
+     */
+    private void appendId(String processId) {
+        for(int i = 0; i < processId.length(); i++) {
+            if(processId.charAt(i) >= 0x80) {
+                appendBytes(processId.getBytes(Charset.defaultCharset()));
+                return;
+            }
+        }
+        for(int i = 0; i < processId.length(); i++) {
+            buffer[length++] = (byte) processId.charAt(i);
+        }
+    }
+
+    private void appendBytes(byte[] bytes) {
+        if(length + bytes.length > buffer.length) {
+            writeBuffer();
+            if(bytes.length > buffer.length) {
+                buffer = new byte[bytes.length];
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /*
+     * Return: the number of decimal digits in a non negative number (int)
+     */
+    private static int digits(int value) {
+        int digits = 1;
+        while(value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeBuffer() {
+        try {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/**
+ * Hierarchical timing wheel of events, each a dense integer ID (a row or a core) due at an int time. Used as the event index for
+ * arrivals in JobTable and for the ends of time slices (completions and quantum expiries) in MultiCore.
+ *
+ * There are LEVELS wheels of 64 slots. An event goes in the wheel of the highest group of 6 bits where its time differs from the
+ * wheel's current time, in the slot given by that group, so level 0 holds the events due in the current block of 64 time units,
+ * one time to a slot, and each level above covers 64 times the span of the one below. A bit mask of the slots in use at each level
+ * finds the first event without looking at any empty slots. When the current time moves into a slot of a higher level, the events in
+ * that slot are moved down to the levels below, and as an event can only move down LEVELS times, adding and taking out an event take
+ * amortized constant time however many events there are and however far apart they are.
+ *
+ * Events due at the same time come out lowest ID first. Each slot is a doubly linked list through arrays indexed by ID,
+ * so an event can also be cancelled in constant time.
+ */
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class TimingWheel implements Serializable {
+    private static final long serialVersionUID = 1L;//change it and Checkpoint.VERSION when the serialized fields change
+    private static final int BITS = 6;//bits of the time each level covers
+    private static final int SLOTS = 1 << BITS;//slots in each level
+    private static final int LEVELS = (32 + BITS - 1) / BITS;//levels needed to cover every int time
+
+    private long now;//current time of the wheel as a key, no event is due before it
+    private long next;//key of the first event once it has been found, -1 if it has to be found again
+    private int count;//number of events in the wheel
+    private long[] used;//bit s of used[level] is set when slot s of the level has an event in it
+    private int[] heads;//first ID in each slot, level * SLOTS + slot, -1 if the slot is empty
+    private int[] tails;//last ID in each slot, -1 if the slot is empty
+    private int[] times;//time each ID is due at
+    private int[] slots;//slot each ID is in, level * SLOTS + slot, -1 if the ID is not in the wheel
+    private int[] nexts;//ID after each ID in its slot, -1 for the last
+    private int[] previous;//ID before each ID in its slot, -1 for the first
+
+    /*
+     * Input: number of IDs (int) the wheel has room for before it needs to grow and the time (int) it starts at,
+     *        which no event may be due before
+     */
+    public TimingWheel(int capacity, int startTime) {
+        now = key(startTime);
+        next = -1;
+        count = 0;
+        used = new long[LEVELS];
+        heads = new int[LEVELS * SLOTS];
+        tails = new int[LEVELS * SLOTS];
+        Arrays.fill(heads, -1);
+        Arrays.fill(tails, -1);
+        capacity = Math.max(capacity, 16);
+        times = new int[capacity];
+        slots = new int[capacity];
+        nexts = new int[capacity];
+        previous = new int[capacity];
+        Arrays.fill(slots, -1);
+    }
+
+    /*
+     * Add an event. The ID must not be in the wheel already.
+     * Input: ID (int) and the time it is due at (int), not before the time of the last event taken out
+     * Return: none
+     * Throws: IllegalArgumentException if the time is before the wheel's current time
+     */
+    public void schedule(int id, int time) {
+        long key = key(time);
+        if(key < now) {
+            throw new IllegalArgumentException("Event due at " + time + " is before the current time " + time(now));
+        }
+        if(id >= slots.length) {
+            grow(Math.max(id + 1, slots.length * 2));
+        }
+        times[id] = time;
+        insert(id, key);
+        count++;
+        if(next >= 0 && key < next) {
+            next = key;
+        }
+    }
+
+    /*
+     * Take an event out of the wheel before it is due. Does nothing if the ID is not in the wheel.
+     * Input: ID (int)
+     * Return: none
+     */
+    public void cancel(int id) {
+        if(id >= slots.length || slots[id] < 0) {
+            return;
+        }
+        unlink(id);
+        count--;
+        if(key(times[id]) == next) {
+            next = -1;//another event may be due at the same time, but the first has to be found again
+        }
+    }
+
+    /*
+     * Return: true if there are no events in the wheel
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /*
+     * Return: the number of events in the wheel (int)
+     */
+    public int size() {
+        return count;
+    }
+
+    /*
+     * Return: the time the first event is due at (int). The wheel must not be empty.
+     */
+    public int nextTime() {
+        return time(first());
+    }
+
+    /*
+     * Take out the first event, lowest ID first for events due at the same time, and move the current time to the time it was due at.
+     * The wheel must not be empty.
+     * Return: ID (int)
+     */
+    public int poll() {
+        advance(first());
+        int id = heads[slotOf(0, now)];
+        unlink(id);
+        count--;
+        if(used[0] == 0 || heads[slotOf(0, now)] < 0) {
+            next = -1;
+        }
+        return id;
+    }
+
+    /*
+     * Return: the key of the first event (long), found from the lowest slot in use at the lowest level that has an event in it
+     */
+    private long first() {
+        if(next >= 0) {
+            return next;
+        }
+        if(used[0] != 0) {//level 0 has one time in each slot
+            next = (now & -SLOTS) | Long.numberOfTrailingZeros(used[0]);
+            return next;
+        }
+        int level = 1;
+        while(used[level] == 0) {
+            level++;
+        }
+        long least = Long.MAX_VALUE;//the events of a slot above level 0 can be due at different times
+        for(int id = heads[level * SLOTS + Long.numberOfTrailingZeros(used[level])]; id >= 0; id = nexts[id]) {
+            least = Math.min(least, key(times[id]));
+        }
+        next = least;
+        return next;
+    }
+
+    /*
+     * Move the current time forward to a key no later than the first event, moving the events of every slot the current time
+     * has moved into down to the levels below.
+     */
+    private void advance(long key) {
+        if(key <= now) {
+            return;
+        }
+        int top = (63 - Long.numberOfLeadingZeros(key ^ now)) / BITS;//highest level whose slot changed
+        now = key;
+        for(int level = top; level > 0; level--) {
+            int slot = slotOf(level, now);
+            int id = heads[slot];
+            if(id < 0) {
+                continue;
+            }
+            heads[slot] = -1;
+            tails[slot] = -1;
+            used[level] &= ~(1L << (slot - level * SLOTS));
+            while(id >= 0) {//every event in the slot is due after now at a lower level, in the same order
+                int following = nexts[id];
+                insert(id, key(times[id]));
+                id = following;
+            }
+        }
+    }
+
+    /*
+     * Put an ID in the slot for its key, at the back, or in ID order at level 0 where every event in a slot is due at the same time.
+     */
+    private void insert(int id, long key) {
+        int level = key == now ? 0 : (63 - Long.numberOfLeadingZeros(key ^ now)) / BITS;
+        int slot = slotOf(level, key);
+        int after = tails[slot];//ID the new one goes after, -1 for the front
+        if(level == 0) {
+            while(after > id) {
+                after = previous[after];
+            }
+        }
+        int before = after < 0 ? heads[slot] : nexts[after];
+        previous[id] = after;
+        nexts[id] = before;
+        if(after < 0) {
+            heads[slot] = id;
+        }
+        else {
+            nexts[after] = id;
+        }
+        if(before < 0) {
+            tails[slot] = id;
+        }
+        else {
+            previous[before] = id;
+        }
+        slots[id] = slot;
+        used[level] |= 1L << (slot - level * SLOTS);
+    }
+
+    /*
+     * Take an ID out of its slot.
+     */
+    private void unlink(int id) {
+        int slot = slots[id];
+        int after = previous[id];
+        int before = nexts[id];
+        if(after < 0) {
+            heads[slot] = before;
+        }
+        else {
+            nexts[after] = before;
+        }
+        if(before < 0) {
+            tails[slot] = after;
+        }
+        else {
+            previous[before] = after;
+        }
+        if(heads[slot] < 0) {
+            used[slot / SLOTS] &= ~(1L << (slot % SLOTS));
+        }
+        slots[id] = -1;
+    }
+
+    /*
+     * Return: the slot (int), level * SLOTS + slot, that a key falls in at a level
+     */
+    private static int slotOf(int level, long key) {
+        return level * SLOTS + (int) ((key >>> (level * BITS)) & (SLOTS - 1));
+    }
+
+    /*
+     * Return: the key of a time (long), from 0 for Integer.MIN_VALUE up, so that keys of later times are larger
+     */
+    private static long key(int time) {
+        return (long) time - Integer.MIN_VALUE;
+    }
+
+    /*
+     * Return: the time of a key (int)
+     */
+    private static int time(long key) {
+        return (int) (key + Integer.MIN_VALUE);
+    }
+
+    /*
+     * Make room for IDs up to capacity - 1.
+     */
+    private void grow(int capacity) {
+        int oldCapacity = slots.length;
+        times = Arrays.copyOf(times, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+        nexts = Arrays.copyOf(nexts, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        Arrays.fill(slots, oldCapacity, capacity, -1);
+    }
+}
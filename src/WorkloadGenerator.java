@@ -0,0 +1,146 @@
+/**
+ * ProcessSource that makes up a synthetic workload from a seed, so that the schedulers can be tested with far more jobs than the datafiles hold.
+ * Processes are made one at a time as they are asked for and none are kept, so any number of jobs can be generated in a fixed amount of memory.
+ * The same settings always give the same processes, p1, p2, ... in arrival time order.
+ *
+ * Arrival patterns, each with an average of one arrival every meanGap time units:
+ *   poisson   gaps between arrivals are exponentially distributed
+ *   bursty    on/off arrivals, short on periods of fast Poisson arrivals separated by long off periods with no arrivals
+ *   diurnal   Poisson arrivals whose rate rises and falls over a day of DAY_LENGTH time units
+ * Exec size distributions, each with a mean of about meanExec:
+ *   exponential  exponentially distributed
+ *   bimodal      mostly short jobs with a few jobs ten times longer
+ *   pareto       heavy tailed, a few jobs are very much longer than the rest
+ * Exec sizes are rounded to whole time units and are at least 1.
+ */
+import java.util.SplittableRandom;
+
+public class WorkloadGenerator implements ProcessSource {
+    public static final int DAY_LENGTH = 1440;//time units in one diurnal cycle
+    private static final double DIURNAL_SWING = 0.8;//how far the diurnal rate moves above and below the average, as a fraction of it
+    private static final double BURST_ON = 20;//mean length of a bursty on period, in average gaps
+    private static final double BURST_OFF = 80;//mean length of a bursty off period, in average gaps
+    private static final double BIMODAL_LONG = 0.1;//fraction of bimodal jobs that are long
+    private static final double PARETO_SHAPE = 1.5;//tail index of the Pareto exec sizes, lower is heavier
+
+    private long seed;//seed the workload is made from
+    private long jobs;//number of processes to make
+    private String arrivals;//arrival pattern
+    private String exec;//exec size distribution
+    private double meanGap;//average time between arrivals
+    private double meanExec;//average exec size
+
+    private SplittableRandom arrivalRandom;//random numbers for arrival times
+    private SplittableRandom execRandom;//random numbers for exec sizes, kept apart so that changing one distribution does not change the other
+    private long made;//number of processes made so far
+    private double clock;//arrival time of the last process, before rounding down to a whole time unit
+    private double burstEnd;//end of the current bursty on period
+
+    /*
+     * Input: seed (long), number of processes (long), arrival pattern (String), exec size distribution (String),
+     *        average time between arrivals (double) and average exec size (double)
+     * Throws: IllegalArgumentException if a pattern or distribution is not known or a number is out of range
+     */
+    public WorkloadGenerator(long seed, long jobs, String arrivals, String exec, double meanGap, double meanExec) {
+        if(!arrivals.equals("poisson") && !arrivals.equals("bursty") && !arrivals.equals("diurnal")) {
+            throw new IllegalArgumentException("Unknown arrival pattern " + arrivals + ", use poisson, bursty or diurnal");
+        }
+        if(!exec.equals("exponential") && !exec.equals("bimodal") && !exec.equals("pareto")) {
+            throw new IllegalArgumentException("Unknown exec size distribution " + exec + ", use exponential, bimodal or pareto");
+        }
+        if(jobs < 0 || !(meanGap >= 0) || !(meanExec >= 1)) {
+            throw new IllegalArgumentException("Jobs and mean gap must not be negative and mean exec must be at least 1");
+        }
+        this.seed = seed;
+        this.jobs = jobs;
+        this.arrivals = arrivals;
+        this.exec = exec;
+        this.meanGap = meanGap;
+        this.meanExec = meanExec;
+        arrivalRandom = new SplittableRandom(seed);
+        execRandom = arrivalRandom.split();
+        made = 0;
+        clock = 0;
+        burstEnd = exponential(arrivalRandom, BURST_ON * meanGap);
+    }
+
+    /*
+     * Return: a new generator with the same settings, which makes the same processes again from the start
+     */
+    public WorkloadGenerator copy() {
+        return new WorkloadGenerator(seed, jobs, arrivals, exec, meanGap, meanExec);
+    }
+
+    /*
+     * Return: the next process (Process), or null once every process has been made
+     * Throws: IllegalStateException if the arrival time goes past the largest int
+     */
+    public Process next() {
+        if(made == jobs) {
+            return null;
+        }
+        made++;
+        if(made > 1) {//the first process arrives at time 0
+            clock = nextArrival(clock);
+        }
+        if(clock > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Arrival time is too large at process p" + made + ", use fewer jobs or a smaller mean gap");
+        }
+        return new Process("p" + made, (int) clock, nextExecSize());
+    }
+
+    /*
+     * Return: the arrival time after the given one (double)
+     */
+    private double nextArrival(double time) {
+        if(arrivals.equals("poisson")) {
+            return time + exponential(arrivalRandom, meanGap);
+        }
+        else if(arrivals.equals("bursty")) {
+            //arrivals in an on period are BURST_ON + BURST_OFF times faster than average, so the overall average gap stays meanGap
+            double burstGap = meanGap * BURST_ON / (BURST_ON + BURST_OFF);
+            time += exponential(arrivalRandom, burstGap);
+            while(time > burstEnd) {//the on period ended first, skip an off period then start again as the gaps have no memory
+                time = burstEnd + exponential(arrivalRandom, BURST_OFF * meanGap);
+                burstEnd = time + exponential(arrivalRandom, BURST_ON * meanGap);
+                time += exponential(arrivalRandom, burstGap);
+            }
+            return time;
+        }
+        else {
+            //thinning: make arrivals at the highest rate of the day and keep each one with the chance the rate at that time gives
+            double fastestGap = meanGap / (1 + DIURNAL_SWING);
+            do {
+                time += exponential(arrivalRandom, fastestGap);
+            } while(arrivalRandom.nextDouble() * (1 + DIURNAL_SWING) > 1 + DIURNAL_SWING * Math.sin(2 * Math.PI * time / DAY_LENGTH));
+            return time;
+        }
+    }
+
+    /*
+     * Return: the exec size of the next process (int), at least 1
+     */
+    private int nextExecSize() {
+        double size;
+        if(exec.equals("exponential")) {
+            size = exponential(execRandom, meanExec);
+        }
+        else if(exec.equals("bimodal")) {
+            //long jobs are ten times the short jobs, short jobs are chosen so that the mean of both is meanExec
+            double shortMean = meanExec / (1 - BIMODAL_LONG + 10 * BIMODAL_LONG);
+            size = exponential(execRandom, execRandom.nextDouble() < BIMODAL_LONG ? 10 * shortMean : shortMean);
+        }
+        else {
+            double scale = meanExec * (PARETO_SHAPE - 1) / PARETO_SHAPE;//smallest Pareto value, which gives a mean of meanExec
+            size = scale / Math.pow(1 - execRandom.nextDouble(), 1 / PARETO_SHAPE);
+        }
+        return (int) Math.max(1, Math.min(Math.round(size), Integer.MAX_VALUE));
+    }
+
+    /*
+     * Return: an exponentially distributed random number with the given mean (double)
+     */
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+}